@@ -0,0 +1,243 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.InterruptedIOException;
+import java.io.PrintStream;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import org.apache.commons.lang3.StringUtils;
+import org.apache.commons.lang3.exception.ExceptionUtils;
+import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.cli.exception.ConsoleException;
+import org.sejda.cli.util.CommandLineUtils;
+import org.sejda.core.notification.context.ThreadLocalNotificationContext;
+import org.sejda.model.notification.EventListener;
+import org.sejda.model.notification.event.TaskExecutionCompletedEvent;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Sejda command line batch service. Reads a list of commands, one command line per line, from a file or from the standard input and executes them in the same JVM, optionally
+ * using multiple concurrent workers. Empty lines and lines starting with # are ignored. When reading from the standard input, commands are executed as soon as they are read
+ * until the end of the stream, so the console can be kept running and fed with commands. Commands are read only when fewer than twice the number of workers are running or
+ * waiting to be executed, so a long commands list is not read into memory all at once.
+ * <p>
+ * For every executed command a tab separated line is printed with the line number of the command, OK or FAILED and the generated outputs or the failure reason.
+ * </p>
+ * Usage: {@code batch [--workers N] [commands file]}
+ *
+ * @author agent
+ *
+ */
+public class BatchConsole {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchConsole.class);
+
+    public static final String BATCH_COMMAND = "batch";
+    private static final List<String> WORKERS_OPTIONS = Arrays.asList("-w", "--workers");
+
+    private final TaskExecutionAdapter taskExecutionAdapter;
+    private int workers = 1;
+    private File commandsFile;
+
+    public BatchConsole(String[] rawArguments, TaskExecutionAdapter taskExecutionAdapter) {
+        this.taskExecutionAdapter = taskExecutionAdapter;
+        parse(rawArguments.clone());
+    }
+
+    /**
+     * @param arguments
+     * @return true if the given arguments request a batch execution
+     */
+    public static boolean isBatchRequest(String[] arguments) {
+        return arguments.length > 0 && BATCH_COMMAND.equals(arguments[0]);
+    }
+
+    private void parse(String[] arguments) {
+        for (int i = 1; i < arguments.length; i++) {
+            if (WORKERS_OPTIONS.contains(arguments[i])) {
+                if (i + 1 >= arguments.length) {
+                    throw new ArgumentValidationException("Option '" + arguments[i] + "' requires a value");
+                }
+                i++;
+                try {
+                    workers = Integer.parseInt(arguments[i]);
+                } catch (NumberFormatException e) {
+                    throw new ArgumentValidationException("Invalid number of workers: '" + arguments[i] + "'");
+                }
+                if (workers < 1) {
+                    throw new ArgumentValidationException("The number of workers must be a positive number");
+                }
+            } else if (isNull(commandsFile)) {
+                commandsFile = new File(arguments[i]);
+            } else {
+                throw new ArgumentValidationException("Unexpected argument '" + arguments[i] + "'");
+            }
+        }
+    }
+
+    /**
+     * Executes the commands read from the commands file or from the standard input
+     *
+     * @throws ConsoleException
+     *             if any of the commands failed
+     */
+    public void execute() {
+        int failed;
+        try (Reader commands = nonNull(commandsFile)
+                ? Files.newBufferedReader(commandsFile.toPath(), StandardCharsets.UTF_8)
+                : new InputStreamReader(System.in, StandardCharsets.UTF_8)) {
+            failed = execute(commands, System.out);
+        } catch (IOException e) {
+            throw new ConsoleException("Unable to read the commands: " + e.getMessage(), e);
+        }
+        if (failed > 0) {
+            throw new ConsoleException(failed + " command(s) failed");
+        }
+    }
+
+    /**
+     * Executes the commands read from the given reader, printing the result of every command to the given stream
+     *
+     * @param commands
+     * @param out
+     * @return the number of failed commands
+     * @throws IOException
+     *             if an error occurs reading the commands
+     */
+    int execute(Reader commands, PrintStream out) throws IOException {
+        AtomicInteger failed = new AtomicInteger();
+        AtomicInteger executed = new AtomicInteger();
+        ExecutorService executor = Executors.newFixedThreadPool(workers, new WorkerThreadFactory());
+        Semaphore pending = new Semaphore(workers * 2);
+        try {
+            BufferedReader reader = new BufferedReader(commands);
+            String line;
+            int lineNumber = 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                String command = line.trim();
+                if (StringUtils.isNotEmpty(command) && !command.startsWith("#")) {
+                    int currentLine = lineNumber;
+                    acquire(pending);
+                    executor.execute(() -> {
+                        try {
+                            if (!executeCommand(currentLine, command, out)) {
+                                failed.incrementAndGet();
+                            }
+                            executed.incrementAndGet();
+                        } finally {
+                            pending.release();
+                        }
+                    });
+                }
+            }
+        } finally {
+            executor.shutdown();
+            awaitTermination(executor);
+        }
+        LOG.info("Executed {} command(s), {} failed", executed.get(), failed.get());
+        return failed.get();
+    }
+
+    private static void acquire(Semaphore pending) throws InterruptedIOException {
+        try {
+            pending.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the running commands");
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor) {
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                LOG.debug("Waiting for the running commands to complete");
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * @return true if the command completed successfully
+     */
+    private boolean executeCommand(int lineNumber, String command, PrintStream out) {
+        OutputsCollector outputs = new OutputsCollector();
+        ThreadLocalNotificationContext.getContext().addListener(TaskExecutionCompletedEvent.class, outputs);
+        try {
+            new SejdaConsole(CommandLineUtils.translateCommandline(command), taskExecutionAdapter).execute();
+            report(out, lineNumber, "OK", outputs.outputs);
+            return true;
+        } catch (RuntimeException e) {
+            report(out, lineNumber, "FAILED", ExceptionUtils.getMessage(e));
+            return false;
+        } finally {
+            ThreadLocalNotificationContext.getContext().removeListener(outputs);
+        }
+    }
+
+    private static void report(PrintStream out, int lineNumber, String status, String details) {
+        synchronized (out) {
+            out.println(lineNumber + "\t" + status + "\t" + StringUtils.defaultString(details));
+            out.flush();
+        }
+    }
+
+    /**
+     * Collects the outputs of the tasks completed by the current thread
+     */
+    private static class OutputsCollector implements EventListener<TaskExecutionCompletedEvent> {
+        private String outputs;
+
+        @Override
+        public void onEvent(TaskExecutionCompletedEvent event) {
+            outputs = event.getNotifiableTaskMetadata().taskOutput().stream().map(File::getAbsolutePath)
+                    .collect(Collectors.joining(File.pathSeparator));
+        }
+    }
+
+    private static class WorkerThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            return new Thread(r, "sejda-batch-" + counter.incrementAndGet());
+        }
+    }
+}
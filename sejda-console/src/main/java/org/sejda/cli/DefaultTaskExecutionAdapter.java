@@ -89,6 +89,7 @@ public class DefaultTaskExecutionAdapter implements TaskExecutionAdapter {
      */
     @Override
     public void execute(TaskParameters taskParameters) {
+        warningsListener.clear();
         getTaskExecutionService().execute(taskParameters);
         printWarningsIfAny();
     }
@@ -50,6 +50,9 @@ public final class GeneralHelpFormatter {
 
         helpMessage.append("Use \"sejda-console <command> -h\" for help regarding a specific command").append(
                 DOUBLE_LINE_BREAK);
+        helpMessage.append(
+                "Use \"sejda-console batch [--workers N] [commands file]\" to execute multiple commands, one per line, read from the given file or from the standard input")
+                .append(DOUBLE_LINE_BREAK);
 
         return helpMessage.toString();
     }
@@ -41,7 +41,11 @@ public final class Main {
         // bridging between jul and slf4j
         SLF4JBridgeHandler.removeHandlersForRootLogger();
         SLF4JBridgeHandler.install();
-        new SejdaConsole(args, getTaskExecutionAdapter()).execute();
+        if (BatchConsole.isBatchRequest(args)) {
+            new BatchConsole(args, getTaskExecutionAdapter()).execute();
+        } else {
+            new SejdaConsole(args, getTaskExecutionAdapter()).execute();
+        }
     }
 
     private static TaskExecutionAdapter getTaskExecutionAdapter() {
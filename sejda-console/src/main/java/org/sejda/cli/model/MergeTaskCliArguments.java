@@ -75,4 +75,7 @@ public interface MergeTaskCliArguments
 
     @Option(description = "add a footer to every page with the name of the original PDF document the page belonged to (optional)")
     boolean getFooter();
+
+    @Option(description = "write only once the byte identical streams and the identical fonts coming from the merged documents. Useful when merging documents generated from the same template (optional)")
+    boolean isDiscardDuplicatedStreams();
 }
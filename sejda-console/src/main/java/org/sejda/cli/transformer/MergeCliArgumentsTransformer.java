@@ -53,6 +53,7 @@ public class MergeCliArgumentsTransformer extends BaseCliArgumentsTransformer
         parameters.setOutlinePolicy(taskCliArguments.getBookmarks().getEnumValue());
         parameters.setTableOfContentsPolicy(taskCliArguments.getToc().getEnumValue());
         parameters.setFilenameFooter(taskCliArguments.getFooter());
+        parameters.setDiscardDuplicatedStreams(taskCliArguments.isDiscardDuplicatedStreams());
         populateAbstractParameters(parameters, taskCliArguments);
         populateOutputTaskParameters(parameters, taskCliArguments);
 
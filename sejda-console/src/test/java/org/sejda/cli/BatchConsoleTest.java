@@ -0,0 +1,137 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.cli;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.cli.exception.ArgumentValidationException;
+import org.sejda.core.service.TaskExecutionService;
+import org.sejda.model.exception.SejdaRuntimeException;
+import org.sejda.model.parameter.base.TaskParameters;
+
+/**
+ * @author agent
+ *
+ */
+public class BatchConsoleTest extends AbstractTaskTest {
+
+    private TaskExecutionService service;
+    private ByteArrayOutputStream out;
+
+    public BatchConsoleTest() {
+        super(TestableTask.COMPRESS);
+    }
+
+    @Before
+    public void setUpService() {
+        service = mock(TaskExecutionService.class);
+        out = new ByteArrayOutputStream();
+    }
+
+    @Test
+    public void batchRequest() {
+        assertTrue(BatchConsole.isBatchRequest(new String[] { "batch", "commands.txt" }));
+        assertFalse(BatchConsole.isBatchRequest(new String[] { "compress", "batch" }));
+        assertFalse(BatchConsole.isBatchRequest(new String[] {}));
+    }
+
+    @Test
+    public void executesAllCommands() throws IOException {
+        String command = defaultCommandLine().toCommandLineString();
+        String commands = String.join("\n", command, "", "# a comment", command, "  " + command + "  ");
+        assertEquals(0, victim("batch").execute(new StringReader(commands), new PrintStream(out)));
+        verify(service, times(3)).execute(any(TaskParameters.class));
+        List<String> results = results();
+        assertEquals(3, results.size());
+        assertTrue(results.contains("1\tOK\t"));
+        assertTrue(results.contains("4\tOK\t"));
+        assertTrue(results.contains("5\tOK\t"));
+    }
+
+    @Test
+    public void failures() throws IOException {
+        String command = defaultCommandLine().toCommandLineString();
+        String commands = String.join("\n", command, "compress --chuck norris", "compress -f \"unbalanced");
+        assertEquals(2, victim("batch").execute(new StringReader(commands), new PrintStream(out)));
+        List<String> results = results();
+        assertEquals(3, results.size());
+        assertTrue(results.contains("1\tOK\t"));
+        assertTrue(results.stream().anyMatch(r -> r.startsWith("2\tFAILED\t")));
+        assertTrue(results.stream().anyMatch(r -> r.startsWith("3\tFAILED\t")));
+    }
+
+    @Test
+    public void taskFailure() throws IOException {
+        doThrow(new SejdaRuntimeException("Task failed")).when(service).execute(any(TaskParameters.class));
+        assertEquals(1, victim("batch").execute(new StringReader(defaultCommandLine().toCommandLineString()),
+                new PrintStream(out)));
+        assertEquals(Arrays.asList("1\tFAILED\tSejdaRuntimeException: Task failed"), results());
+    }
+
+    @Test
+    public void concurrentWorkers() throws IOException {
+        StringBuilder commands = new StringBuilder();
+        for (int i = 0; i < 20; i++) {
+            commands.append(defaultCommandLine().toCommandLineString()).append('\n');
+        }
+        assertEquals(0, victim("batch", "--workers", "4").execute(new StringReader(commands.toString()),
+                new PrintStream(out)));
+        verify(service, times(20)).execute(any(TaskParameters.class));
+        assertEquals(20, results().size());
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void invalidWorkers() {
+        victim("batch", "-w", "0");
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void missingWorkers() {
+        victim("batch", "--workers");
+    }
+
+    @Test(expected = ArgumentValidationException.class)
+    public void unexpectedArgument() {
+        victim("batch", "commands.txt", "other.txt");
+    }
+
+    private BatchConsole victim(String... args) {
+        return new BatchConsole(args, new DefaultTaskExecutionAdapter(service));
+    }
+
+    private List<String> results() {
+        return Arrays.asList(out.toString().split(System.lineSeparator()));
+    }
+}
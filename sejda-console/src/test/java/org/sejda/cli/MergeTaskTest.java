@@ -124,6 +124,12 @@ public class MergeTaskTest extends AbstractTaskTest {
         assertTrue(parameters.isFilenameFooter());
     }
 
+    @Test
+    public void discardDuplicatedStreams() {
+        MergeParameters parameters = defaultCommandLine().withFlag("--discardDuplicatedStreams").invokeSejdaConsole();
+        assertTrue(parameters.isDiscardDuplicatedStreams());
+    }
+
     @Test
     public void onDefault() {
         MergeParameters parameters = defaultCommandLine().invokeSejdaConsole();
@@ -131,6 +137,7 @@ public class MergeTaskTest extends AbstractTaskTest {
         assertEquals(AcroFormPolicy.DISCARD, parameters.getAcroFormPolicy());
         assertEquals(ToCPolicy.NONE, parameters.getTableOfContentsPolicy());
         assertFalse(parameters.isFilenameFooter());
+        assertFalse(parameters.isDiscardDuplicatedStreams());
     }
 
     @Test
@@ -0,0 +1,219 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Objects.requireNonNull;
+import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sejda.core.notification.context.ThreadLocalNotificationContext;
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.notification.EventListener;
+import org.sejda.model.notification.event.AbstractNotificationEvent;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.CancellationOption;
+import org.sejda.model.task.NotifiableTaskMetadata;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link TaskExecutionService} that, in addition to the synchronous execution, can execute tasks asynchronously on a bounded pool of workers. Before being executed, every task
+ * has to fit in the configured heap and temporary disk {@link ResourceBudget}s, so that a burst of big documents doesn't exhaust the resources of the JVM.
+ * <p>
+ * Listeners registered on the {@link org.sejda.core.notification.context.GlobalNotificationContext} are notified as usual, listeners interested only in a specific task can be
+ * given when submitting it and they are registered on the {@link ThreadLocalNotificationContext} of the worker for the duration of the execution.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class ConcurrentTaskExecutionService implements TaskExecutionService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ConcurrentTaskExecutionService.class);
+
+    private final TaskExecutionService delegate = new DefaultTaskExecutionService();
+    private final ExecutorService executor;
+    private final ResourceBudget heapBudget;
+    private final ResourceBudget tempDiskBudget;
+
+    /**
+     * A service executing at most the given number of tasks concurrently, with no resource budget
+     *
+     * @param workers
+     */
+    public ConcurrentTaskExecutionService(int workers) {
+        this(workers, ResourceBudget.unbounded(), ResourceBudget.unbounded());
+    }
+
+    /**
+     * A service executing at most the given number of tasks concurrently, admitted based on the given budgets
+     *
+     * @param workers
+     * @param heapBudget
+     * @param tempDiskBudget
+     */
+    public ConcurrentTaskExecutionService(int workers, ResourceBudget heapBudget, ResourceBudget tempDiskBudget) {
+        this(Executors.newFixedThreadPool(workers, new WorkersThreadFactory()), heapBudget, tempDiskBudget);
+    }
+
+    /**
+     * A service executing tasks on the given executor, admitted based on the given budgets. This allows to use a different executor implementation (Ex. virtual threads, when
+     * available).
+     *
+     * @param executor
+     * @param heapBudget
+     * @param tempDiskBudget
+     */
+    public ConcurrentTaskExecutionService(ExecutorService executor, ResourceBudget heapBudget,
+            ResourceBudget tempDiskBudget) {
+        this.executor = requireNonNull(executor);
+        this.heapBudget = requireNonNull(heapBudget);
+        this.tempDiskBudget = requireNonNull(tempDiskBudget);
+    }
+
+    @Override
+    public void execute(TaskParameters parameters) {
+        delegate.execute(parameters);
+    }
+
+    @Override
+    public void execute(TaskParameters parameters, CancellationOption cancellationOption) {
+        delegate.execute(parameters, cancellationOption);
+    }
+
+    /**
+     * Submits the given parameters for asynchronous execution
+     *
+     * @param parameters
+     * @param listeners
+     *            listeners notified about the events of this execution only
+     * @return the handle of the execution
+     */
+    @SafeVarargs
+    public final TaskExecutionHandle submit(TaskParameters parameters,
+            EventListener<? extends AbstractNotificationEvent>... listeners) {
+        return submit(parameters, new CancellationOption(), listeners);
+    }
+
+    /**
+     * Submits the given parameters for asynchronous execution
+     *
+     * @param parameters
+     * @param cancellationOption
+     *            option that can be used to cancel the execution once started
+     * @param listeners
+     *            listeners notified about the events of this execution only
+     * @return the handle of the execution
+     */
+    @SafeVarargs
+    public final TaskExecutionHandle submit(TaskParameters parameters, CancellationOption cancellationOption,
+            EventListener<? extends AbstractNotificationEvent>... listeners) {
+        requireNonNull(parameters);
+        requireNonNull(cancellationOption);
+        LOG.trace("Submitting execution for {}", parameters);
+        TaskExecutionHandle handle = new TaskExecutionHandle(cancellationOption, this::wakeUpWaiters);
+        handle.submitted(executor.submit(() -> {
+            if (!handle.start()) {
+                LOG.debug("Execution cancelled before starting");
+                return;
+            }
+            for (EventListener<? extends AbstractNotificationEvent> listener : listeners) {
+                ThreadLocalNotificationContext.getContext().addListener(listener);
+            }
+            Throwable failure = null;
+            try {
+                admitAndExecute(parameters, handle);
+            } catch (RuntimeException | Error e) {
+                failure = e;
+                throw e;
+            } finally {
+                for (EventListener<? extends AbstractNotificationEvent> listener : listeners) {
+                    ThreadLocalNotificationContext.getContext().removeListener(listener);
+                }
+                handle.ended(failure);
+            }
+        }));
+        return handle;
+    }
+
+    private void admitAndExecute(TaskParameters parameters, TaskExecutionHandle handle) {
+        long heap = 0;
+        long tempDisk = 0;
+        try {
+            heap = heapBudget.acquire(parameters, handle::isCancelRequested);
+            tempDisk = tempDiskBudget.acquire(parameters, handle::isCancelRequested);
+            if (handle.isCancelRequested()) {
+                throw new CancellationException();
+            }
+            LOG.debug("Admitted execution with heap budget {} and temporary disk budget {}", heap, tempDisk);
+            delegate.execute(parameters, handle.cancellationOption());
+        } catch (CancellationException e) {
+            LOG.debug("Execution of {} cancelled while waiting for resources", parameters);
+            notifyEvent(NotifiableTaskMetadata.NULL).taskFailed(new TaskCancelledException());
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for the resources to execute {}", parameters);
+            notifyEvent(NotifiableTaskMetadata.NULL).taskFailed(new TaskCancelledException());
+            Thread.currentThread().interrupt();
+        } finally {
+            tempDiskBudget.release(tempDisk);
+            heapBudget.release(heap);
+        }
+    }
+
+    private void wakeUpWaiters() {
+        heapBudget.wakeUp();
+        tempDiskBudget.wakeUp();
+    }
+
+    /**
+     * Stops accepting new executions and waits at most the given time for the submitted ones to complete
+     *
+     * @param timeout
+     * @param unit
+     * @return true if all the submitted executions completed
+     * @throws InterruptedException
+     */
+    public boolean shutdown(long timeout, TimeUnit unit) throws InterruptedException {
+        executor.shutdown();
+        return executor.awaitTermination(timeout, unit);
+    }
+
+    /**
+     * Thread factory creating daemon, named worker threads
+     *
+     * @author agent
+     *
+     */
+    private static class WorkersThreadFactory implements ThreadFactory {
+        private final AtomicInteger counter = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "sejda-task-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
@@ -0,0 +1,173 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.File;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.function.BooleanSupplier;
+import java.util.function.ToLongFunction;
+
+import org.sejda.model.input.PdfSource;
+import org.sejda.model.parameter.base.MultiplePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.MultipleSourceTaskParameter;
+import org.sejda.model.parameter.base.SinglePdfSourceTaskParameters;
+import org.sejda.model.parameter.base.TaskParameters;
+
+/**
+ * A budget of some resource (heap, temporary disk space...) shared by concurrently executing tasks. Before a task is executed the amount of resource it needs is estimated from
+ * its parameters and the execution waits until that amount is available. A task estimated to need more than the whole budget is admitted once the budget is entirely available,
+ * so it runs alone instead of waiting forever.
+ *
+ * @author agent
+ *
+ */
+public final class ResourceBudget {
+
+    private final long capacity;
+    private final ToLongFunction<TaskParameters> estimator;
+    private long available;
+
+    private ResourceBudget(long capacity, ToLongFunction<TaskParameters> estimator) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Budget capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.available = capacity;
+        this.estimator = requireNonNull(estimator);
+    }
+
+    /**
+     * Blocks until the estimated amount of resource needed by the task executing the given parameters is available and reserves it
+     *
+     * @param parameters
+     * @return the amount reserved, to be given back using {@link #release(long)}
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     */
+    public long acquire(TaskParameters parameters) throws InterruptedException {
+        return acquire(parameters, () -> false);
+    }
+
+    /**
+     * Blocks until the estimated amount of resource needed by the task executing the given parameters is available and reserves it, unless the wait is cancelled. Waiters are
+     * woken up to check the cancellation when {@link #wakeUp()} is called.
+     *
+     * @param parameters
+     * @param cancelled
+     *            tells if the wait has been cancelled
+     * @return the amount reserved, to be given back using {@link #release(long)}
+     * @throws InterruptedException
+     *             if the thread is interrupted while waiting
+     * @throws CancellationException
+     *             if the wait is cancelled before the amount is available, in which case nothing is reserved
+     */
+    public synchronized long acquire(TaskParameters parameters, BooleanSupplier cancelled)
+            throws InterruptedException {
+        long requested = Math.min(Math.max(0, estimator.applyAsLong(parameters)), capacity);
+        while (available < requested) {
+            if (cancelled.getAsBoolean()) {
+                throw new CancellationException("Cancelled while waiting for the resources");
+            }
+            wait();
+        }
+        available -= requested;
+        return requested;
+    }
+
+    /**
+     * Gives back the given amount of resource, previously reserved with {@link #acquire(TaskParameters)}
+     *
+     * @param amount
+     */
+    public synchronized void release(long amount) {
+        available = Math.min(capacity, available + amount);
+        notifyAll();
+    }
+
+    /**
+     * Wakes up the threads waiting in {@link #acquire(TaskParameters, BooleanSupplier)} so that they check if their wait has been cancelled
+     */
+    public synchronized void wakeUp() {
+        notifyAll();
+    }
+
+    /**
+     * @return the currently available amount of resource
+     */
+    public synchronized long available() {
+        return available;
+    }
+
+    /**
+     * @param capacity
+     *            the total amount of resource
+     * @param estimator
+     *            function estimating the amount of resource needed to execute the given parameters
+     * @return a budget with the given capacity
+     */
+    public static ResourceBudget of(long capacity, ToLongFunction<TaskParameters> estimator) {
+        return new ResourceBudget(capacity, estimator);
+    }
+
+    /**
+     * @param capacity
+     * @return a budget with the given capacity where the estimated amount needed by a task is the size of its input files
+     */
+    public static ResourceBudget ofInputSize(long capacity) {
+        return new ResourceBudget(capacity, ResourceBudget::inputSize);
+    }
+
+    /**
+     * @return a budget that never blocks
+     */
+    public static ResourceBudget unbounded() {
+        return new ResourceBudget(Long.MAX_VALUE, p -> 0);
+    }
+
+    /**
+     * @param parameters
+     * @return the sum of the sizes of the input files of the given parameters. Stream and URL sources don't have a known size and are not considered.
+     */
+    public static long inputSize(TaskParameters parameters) {
+        if (parameters instanceof SinglePdfSourceTaskParameters) {
+            return sizeOf(ofNullable(((SinglePdfSourceTaskParameters) parameters).getSource())
+                    .map(PdfSource::getSource).orElse(null));
+        }
+        if (parameters instanceof MultiplePdfSourceTaskParameters) {
+            return ((MultiplePdfSourceTaskParameters) parameters).getSourceList().stream().filter(Objects::nonNull)
+                    .mapToLong(s -> sizeOf(s.getSource())).sum();
+        }
+        if (parameters instanceof MultipleSourceTaskParameter) {
+            return ((MultipleSourceTaskParameter) parameters).getSourceList().stream().filter(Objects::nonNull)
+                    .mapToLong(s -> sizeOf(s.getSource())).sum();
+        }
+        return 0;
+    }
+
+    private static long sizeOf(Object source) {
+        if (source instanceof File) {
+            return ((File) source).length();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.sejda.model.task.CancellationOption;
+import org.sejda.model.task.TaskExecutionContext;
+
+/**
+ * Handle to a task submitted to a {@link ConcurrentTaskExecutionService}. The outcome of the execution is notified to the listeners as for any other execution, the handle only
+ * allows to wait for the execution to end and to cancel it.
+ *
+ * @author agent
+ *
+ */
+public class TaskExecutionHandle {
+
+    private final HandleCancellationOption cancellationOption;
+    private final AtomicBoolean started = new AtomicBoolean(false);
+    private final CompletableFuture<Void> completion = new CompletableFuture<>();
+    private volatile boolean cancelRequested = false;
+    private volatile Future<?> future;
+    private final Runnable onCancel;
+
+    /**
+     * @param cancellationOption
+     * @param onCancel
+     *            executed when cancel is requested, to wake up the execution if waiting for its resources
+     */
+    TaskExecutionHandle(CancellationOption cancellationOption, Runnable onCancel) {
+        this.cancellationOption = new HandleCancellationOption(cancellationOption);
+        this.onCancel = requireNonNull(onCancel);
+    }
+
+    void submitted(Future<?> future) {
+        this.future = future;
+    }
+
+    /**
+     * @return true if the execution can start, false if it has been cancelled before starting
+     */
+    boolean start() {
+        return started.compareAndSet(false, true);
+    }
+
+    /**
+     * Marks the execution as ended
+     * 
+     * @param failure
+     *            the unexpected error that ended the execution or null
+     */
+    void ended(Throwable failure) {
+        if (failure == null) {
+            completion.complete(null);
+        } else {
+            completion.completeExceptionally(failure);
+        }
+    }
+
+    boolean isCancelRequested() {
+        return cancelRequested;
+    }
+
+    /**
+     * @return the cancellation option to use for the execution, it also cancels the execution if cancel was requested before the execution context was created
+     */
+    CancellationOption cancellationOption() {
+        return cancellationOption;
+    }
+
+    /**
+     * Cancels the execution. A task still waiting to be executed is discarded, a running task, also when waiting for its resources, is requested to stop and the handle is done once
+     * the task actually stopped.
+     */
+    public void cancel() {
+        cancelRequested = true;
+        onCancel.run();
+        if (cancellationOption.isCancellable()) {
+            cancellationOption.requestCancel();
+        }
+        if (start()) {
+            completion.cancel(false);
+        }
+        if (future != null) {
+            future.cancel(false);
+        }
+    }
+
+    /**
+     * @return true if the execution ended or has been discarded
+     */
+    public boolean isDone() {
+        return completion.isDone();
+    }
+
+    /**
+     * Waits for the execution to end
+     *
+     * @throws InterruptedException
+     * @throws ExecutionException
+     *             if an unexpected error occurred during the execution
+     */
+    public void await() throws InterruptedException, ExecutionException {
+        completion.get();
+    }
+
+    /**
+     * Waits at most the given time for the execution to end
+     *
+     * @throws InterruptedException
+     * @throws ExecutionException
+     *             if an unexpected error occurred during the execution
+     * @throws TimeoutException
+     *             if the wait timed out
+     */
+    public void await(long timeout, TimeUnit unit) throws InterruptedException, ExecutionException, TimeoutException {
+        completion.get(timeout, unit);
+    }
+
+    /**
+     * Option given to the execution, it forwards the execution context to the option given by the caller and cancels the context if cancel was requested before it was set.
+     *
+     * @author agent
+     *
+     */
+    private class HandleCancellationOption extends CancellationOption {
+        private final CancellationOption wrapped;
+
+        HandleCancellationOption(CancellationOption wrapped) {
+            this.wrapped = wrapped;
+        }
+
+        @Override
+        public void setExecutionContext(TaskExecutionContext executionContext) {
+            super.setExecutionContext(executionContext);
+            wrapped.setExecutionContext(executionContext);
+            if (cancelRequested) {
+                executionContext.cancelTask();
+            }
+        }
+    }
+}
@@ -23,6 +23,11 @@ import java.io.File;
 import java.io.IOException;
 
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.output.DirectoryTaskOutput;
+import org.sejda.model.output.FileTaskOutput;
+import org.sejda.model.output.TaskOutput;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Provides IO utility methods.
@@ -32,6 +37,14 @@ import org.sejda.model.exception.TaskIOException;
  */
 public final class IOUtils {
 
+    /**
+     * When set to true, temporary buffers for file and directory outputs are created in the destination directory, so that moving them to the final destination is a rename
+     * instead of a copy.
+     */
+    public static final String WRITE_THROUGH_PROPERTY = "sejda.io.writethrough";
+
+    private static final Logger LOG = LoggerFactory.getLogger(IOUtils.class);
+
     private IOUtils() {
         // hide
     }
@@ -64,6 +77,69 @@ public final class IOUtils {
         }
     }
 
+    /**
+     * @param output
+     *            the output the buffer is going to be written to
+     * @return a temporary pdf file, created in the destination directory of the given output if write through is enabled
+     * @throws TaskIOException
+     * @see #WRITE_THROUGH_PROPERTY
+     */
+    public static File createTemporaryPdfBuffer(TaskOutput<?> output) throws TaskIOException {
+        return createTemporaryBuffer(".pdf", output);
+    }
+
+    /**
+     * @param extension
+     * @param output
+     *            the output the buffer is going to be written to
+     * @return a temporary file, created in the destination directory of the given output if write through is enabled and the directory is writable, in the default temporary
+     *         directory otherwise
+     * @throws TaskIOException
+     * @see #WRITE_THROUGH_PROPERTY
+     */
+    public static File createTemporaryBuffer(String extension, TaskOutput<?> output) throws TaskIOException {
+        File directory = writeThroughDirectory(output);
+        if (directory != null) {
+            try {
+                // not marked as delete on exit, tasks delete it in their cleanup phase if not moved to its destination
+                File buffer = File.createTempFile("." + BUFFER_NAME, extension, directory);
+                LOG.trace("Created write through buffer {}", buffer);
+                return buffer;
+            } catch (IOException e) {
+                LOG.debug("Unable to create a write through buffer in {}, falling back to default", directory);
+            }
+        }
+        return createTemporaryBuffer(extension);
+    }
+
+    /**
+     * Deletes the given buffer if it still exists, meaning it has not been moved to its destination. Tasks call this in their cleanup phase so that the buffers of a failed or
+     * cancelled execution, write through buffers created in the destination directory in particular, are not left behind.
+     * 
+     * @param buffer
+     *            the buffer, can be null
+     */
+    public static void deleteBuffer(File buffer) {
+        if (buffer != null && buffer.exists() && !buffer.delete()) {
+            LOG.warn("Unable to delete temporary buffer {}", buffer);
+        }
+    }
+
+    private static File writeThroughDirectory(TaskOutput<?> output) {
+        if (Boolean.getBoolean(WRITE_THROUGH_PROPERTY)) {
+            File directory = null;
+            if (output instanceof FileTaskOutput) {
+                directory = ((FileTaskOutput) output).getDestination().getAbsoluteFile().getParentFile();
+            } else if (output instanceof DirectoryTaskOutput) {
+                directory = ((DirectoryTaskOutput) output).getDestination();
+            }
+            if (directory != null && directory.isDirectory() && directory.canWrite()) {
+                return directory;
+            }
+        }
+        return null;
+    }
+
     private static final int TEMP_DIR_ATTEMPTS = 1000;
 
     public static File createTemporaryFolder() {
@@ -140,6 +140,7 @@ final class OutputWriterHelper {
                 break;
             case SKIP:
                 LOG.info("Skipping already existing output file {}", output);
+                delete(input);
                 break;
             default:
                 throw new IOException(
@@ -23,9 +23,8 @@ package org.sejda.core.support.prefix;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
 import org.apache.commons.io.FilenameUtils;
-import org.apache.commons.lang3.StringUtils;
 import org.sejda.core.support.prefix.model.NameGenerationRequest;
-import org.sejda.core.support.prefix.processor.PrefixTypesChain;
+import org.sejda.core.support.prefix.processor.PrefixTemplate;
 import org.sejda.core.support.prefix.processor.PrefixUtils;
 
 /**
@@ -35,12 +34,10 @@ import org.sejda.core.support.prefix.processor.PrefixUtils;
  */
 public final class NameGenerator {
 
-    private String prefix;
-    private PrefixTypesChain prefixTypesChain;
+    private PrefixTemplate template;
 
     private NameGenerator(String prefix) {
-        this.prefix = StringUtils.defaultString(prefix);
-        this.prefixTypesChain = new PrefixTypesChain(prefix);
+        this.template = new PrefixTemplate(prefix);
     }
 
     /**
@@ -60,7 +57,7 @@ public final class NameGenerator {
         if (request == null) {
             throw new IllegalArgumentException("Unable to generate a name for a null request.");
         }
-        String result = prefixTypesChain.process(prefix, preProcessRequest(request));
+        String result = template.process(preProcessRequest(request));
 
         if(result.length() > 255) {
             String baseName = FilenameUtils.getBaseName(result);
@@ -0,0 +1,295 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.prefix.processor;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.text.DecimalFormat;
+import java.text.SimpleDateFormat;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import org.apache.commons.lang3.StringUtils;
+import org.sejda.core.support.prefix.model.NameGenerationRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A prefix parsed once into a sequence of literal and {@link PrefixType} segments that can be rendered for multiple {@link NameGenerationRequest}s without scanning the prefix
+ * again. Rendering produces the same result as the {@link PrefixTypesChain}: first level prefix types are replaced, if any of them is replaced the [BASENAME] is replaced too,
+ * otherwise the original name is prepended and, in both cases, the extension is appended.
+ * <p>
+ * Prefixes with square brackets that are not part of a prefix type and requests with a bookmark containing square brackets, whose result could depend on the order of the
+ * processors, are processed by the {@link PrefixTypesChain}.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public final class PrefixTemplate {
+    private static final Logger LOG = LoggerFactory.getLogger(PrefixTemplate.class);
+
+    private static final String DATE_PATTERN = "yyyyMMdd_HHmmssSS";
+    private static final String INVALID_BOOKMARK_CHARS = "\\/:*?\"<>|";
+
+    private final String prefix;
+    private final List<Segment> segments;
+    private final PrefixTypesChain chain;
+    private final boolean hasBookmarks;
+
+    public PrefixTemplate(String prefix) {
+        this.prefix = StringUtils.defaultString(prefix);
+        this.segments = parse(this.prefix);
+        if (isNull(segments)) {
+            LOG.trace("Prefix '{}' will be processed by the prefix types chain", prefix);
+            this.chain = new PrefixTypesChain(prefix);
+            this.hasBookmarks = false;
+        } else {
+            this.chain = null;
+            this.hasBookmarks = segments.stream()
+                    .anyMatch(s -> s.type == PrefixType.BOOKMARK || s.type == PrefixType.BOOKMARK_STRICT);
+        }
+    }
+
+    /**
+     * @param prefix
+     * @return the segments of the given prefix or null if the prefix contains square brackets that are not part of a prefix type
+     */
+    private static List<Segment> parse(String prefix) {
+        List<Segment> segments = new ArrayList<>();
+        if (StringUtils.isBlank(prefix)) {
+            return segments;
+        }
+        StringBuilder literal = new StringBuilder();
+        int i = 0;
+        while (i < prefix.length()) {
+            char current = prefix.charAt(i);
+            if (current == ']') {
+                return null;
+            }
+            if (current == '[') {
+                int end = prefix.indexOf(']', i + 1);
+                if (end < 0) {
+                    return null;
+                }
+                Segment segment = Segment.placeholder(prefix.substring(i, end + 1));
+                if (isNull(segment)) {
+                    return null;
+                }
+                if (literal.length() > 0) {
+                    segments.add(Segment.literal(literal.toString()));
+                    literal.setLength(0);
+                }
+                segments.add(segment);
+                i = end + 1;
+            } else {
+                literal.append(current);
+                i++;
+            }
+        }
+        if (literal.length() > 0) {
+            segments.add(Segment.literal(literal.toString()));
+        }
+        return segments;
+    }
+
+    /**
+     * @param request
+     *            a not null request
+     * @return the prefix processed for the given request
+     */
+    public String process(NameGenerationRequest request) {
+        if (isNull(segments)) {
+            return chain.process(prefix, request);
+        }
+        String bookmark = null;
+        String strictBookmark = null;
+        if (hasBookmarks && StringUtils.isNotBlank(request.getBookmark())) {
+            bookmark = StringUtils.defaultIfBlank(
+                    PrefixUtils.strip(request.getBookmark(), c -> INVALID_BOOKMARK_CHARS.indexOf(c) < 0), null);
+            if (nonNull(bookmark) && (bookmark.indexOf('[') >= 0 || bookmark.indexOf(']') >= 0)) {
+                return new PrefixTypesChain(prefix).process(prefix, request);
+            }
+            strictBookmark = StringUtils.defaultIfBlank(PrefixUtils.strip(request.getBookmark(),
+                    c -> (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || c == '_'
+                            || c == ' '),
+                    null);
+        }
+        String timestamp = null;
+        String[] values = new String[segments.size()];
+        boolean replaced = false;
+        for (int i = 0; i < values.length; i++) {
+            Segment segment = segments.get(i);
+            if (nonNull(segment.type) && segment.type.isEnsureUniqueNames()) {
+                switch (segment.type) {
+                case CURRENTPAGE:
+                    values[i] = segment.format(request.getPage());
+                    break;
+                case FILENUMBER:
+                    values[i] = segment.format(request.getFileNumber());
+                    break;
+                case TIMESTAMP:
+                    if (isNull(timestamp)) {
+                        timestamp = new SimpleDateFormat(DATE_PATTERN).format(new Date());
+                    }
+                    values[i] = timestamp;
+                    break;
+                case BOOKMARK:
+                    values[i] = bookmark;
+                    break;
+                case BOOKMARK_STRICT:
+                    values[i] = strictBookmark;
+                    break;
+                case TEXT:
+                    values[i] = PrefixUtils.toStrictFilename(request.getText());
+                    break;
+                default:
+                    break;
+                }
+                replaced |= nonNull(values[i]);
+            }
+        }
+        StringBuilder result = new StringBuilder(prefix.length() + 32);
+        if (replaced) {
+            for (int i = 0; i < values.length; i++) {
+                Segment segment = segments.get(i);
+                if (segment.type == PrefixType.BASENAME && StringUtils.isNotBlank(request.getOriginalName())) {
+                    result.append(request.getOriginalName());
+                } else {
+                    result.append(nonNull(values[i]) ? values[i] : segment.text);
+                }
+            }
+        } else {
+            if (nonNull(request.getPage()) && StringUtils.isNotBlank(request.getOriginalName())) {
+                result.append(String.format("%d_", request.getPage()));
+            }
+            result.append(prefix);
+            if (StringUtils.isNotBlank(request.getOriginalName())) {
+                result.append(request.getOriginalName());
+            }
+        }
+        if (StringUtils.isNotBlank(request.getExtension())) {
+            result.append('.').append(request.getExtension());
+        }
+        return result.toString();
+    }
+
+    /**
+     * A literal or a prefix type of the template
+     */
+    private static final class Segment {
+        private final PrefixType type;
+        private final String text;
+        private final Integer startingNumber;
+        private final DecimalFormat formatter;
+
+        private Segment(PrefixType type, String text, Integer startingNumber, DecimalFormat formatter) {
+            this.type = type;
+            this.text = text;
+            this.startingNumber = startingNumber;
+            this.formatter = formatter;
+        }
+
+        static Segment literal(String text) {
+            return new Segment(null, text, null, null);
+        }
+
+        /**
+         * @param text
+         *            the square brackets enclosed text
+         * @return the segment for the prefix type or null if the text is not a valid prefix type
+         */
+        static Segment placeholder(String text) {
+            String name = text.substring(1, text.length() - 1);
+            switch (name) {
+            case "BASENAME":
+                return new Segment(PrefixType.BASENAME, text, null, null);
+            case "TIMESTAMP":
+                return new Segment(PrefixType.TIMESTAMP, text, null, null);
+            case "BOOKMARK_NAME":
+                return new Segment(PrefixType.BOOKMARK, text, null, null);
+            case "BOOKMARK_NAME_STRICT":
+                return new Segment(PrefixType.BOOKMARK_STRICT, text, null, null);
+            case "TEXT":
+                return new Segment(PrefixType.TEXT, text, null, null);
+            default:
+                if (name.startsWith("CURRENTPAGE")) {
+                    return number(PrefixType.CURRENTPAGE, text, name.substring("CURRENTPAGE".length()));
+                }
+                if (name.startsWith("FILENUMBER")) {
+                    return number(PrefixType.FILENUMBER, text, name.substring("FILENUMBER".length()));
+                }
+                return null;
+            }
+        }
+
+        /**
+         * @param pattern
+         *            the number pattern in the form of ##-11
+         * @return the segment or null if the pattern is not valid
+         */
+        private static Segment number(PrefixType type, String text, String pattern) {
+            int digits = 0;
+            while (digits < pattern.length() && pattern.charAt(digits) == '#') {
+                digits++;
+            }
+            String starting = pattern.substring(digits);
+            for (int i = 0; i < starting.length(); i++) {
+                char current = starting.charAt(i);
+                if (!((current >= '0' && current <= '9') || (i == 0 && current == '-'))) {
+                    return null;
+                }
+            }
+            Integer startingNumber = null;
+            if (StringUtils.isNotBlank(starting)) {
+                try {
+                    startingNumber = Integer.valueOf(starting);
+                } catch (NumberFormatException e) {
+                    // the prefix types chain fails for the same reason, we let it fail
+                    return null;
+                }
+            }
+            DecimalFormat formatter = null;
+            if (digits > 0) {
+                formatter = new DecimalFormat();
+                formatter.applyPattern(StringUtils.repeat('0', digits));
+            }
+            return new Segment(type, text, startingNumber, formatter);
+        }
+
+        /**
+         * @param number
+         * @return the formatted number or null if the given number is null
+         */
+        String format(Integer number) {
+            if (isNull(number)) {
+                return null;
+            }
+            int value = nonNull(startingNumber) ? number + startingNumber : number;
+            if (nonNull(formatter)) {
+                synchronized (formatter) {
+                    return formatter.format(value);
+                }
+            }
+            return Integer.toString(value);
+        }
+    }
+}
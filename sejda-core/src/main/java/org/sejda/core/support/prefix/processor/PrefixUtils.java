@@ -18,9 +18,13 @@
  */
 package org.sejda.core.support.prefix.processor;
 
+import java.util.function.IntPredicate;
+
 import org.apache.commons.lang3.StringUtils;
 
 public final class PrefixUtils {
+    private static final String UNSAFE_FILENAME_CHARS = "`\0\f\t\n\r\\/:*?\"<>|";
+
     private PrefixUtils() {
         // hide
     }
@@ -29,17 +33,32 @@ public final class PrefixUtils {
      * Strips characters deemed usafe for a filename
      */
     public static String toSafeFilename(String input) {
-        return StringUtils.defaultIfBlank(input, "").replaceAll("[`\0\f\t\n\r\\\\/:*?\\\"<>|]", "");
+        return strip(StringUtils.defaultIfBlank(input, ""), c -> UNSAFE_FILENAME_CHARS.indexOf(c) < 0);
     }
 
     /**
      * Strips all but characters that are known to be safe: alphanumerics for now.
      */
     public static String toStrictFilename(String input) {
-        String safe = StringUtils.defaultIfBlank(input, "").replaceAll("[^A-Za-z0-9_ .-]", "");
+        String safe = strip(StringUtils.defaultIfBlank(input, ""), c -> (c >= 'A' && c <= 'Z')
+                || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9') || "_ .-".indexOf(c) >= 0);
         if (safe.length() > 255) {
             safe = safe.substring(0, 255);
         }
         return safe;
     }
+
+    /**
+     * @return the input string without the characters not matching the given predicate
+     */
+    static String strip(String input, IntPredicate keep) {
+        StringBuilder retVal = new StringBuilder(input.length());
+        for (int i = 0; i < input.length(); i++) {
+            char current = input.charAt(i);
+            if (keep.test(current)) {
+                retVal.append(current);
+            }
+        }
+        return retVal.toString();
+    }
 }
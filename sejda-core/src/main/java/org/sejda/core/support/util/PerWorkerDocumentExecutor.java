@@ -0,0 +1,205 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.task.TaskExecutionContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Executes jobs on a fixed pool of workers where each worker lazily opens, and then reuses, its own instance of a document (or any other not thread safe resource). Documents
+ * are closed once all the workers have terminated.
+ * <p>
+ * Jobs are executed for a sequence of items, at most twice the number of workers ahead of the item whose result is being consumed, and results are consumed in the items order by
+ * the calling thread. Workers check for the task cancellation before executing every job.
+ * </p>
+ *
+ * @param <D>
+ *            the type of the document opened by each worker
+ * @author agent
+ *
+ */
+public class PerWorkerDocumentExecutor<D> implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(PerWorkerDocumentExecutor.class);
+
+    private final TaskExecutionContext executionContext;
+    private final int parallelism;
+    private final DocumentOpener<D> opener;
+    private final Consumer<D> closer;
+    private final ConcurrentLinkedQueue<D> opened = new ConcurrentLinkedQueue<>();
+    private final ThreadLocal<D> documents = new ThreadLocal<>();
+    private final ExecutorService executor;
+
+    /**
+     * @param executionContext
+     *            context of the task, used to check for cancellation
+     * @param parallelism
+     *            number of workers
+     * @param opener
+     *            opens a new instance of the document for a worker
+     * @param closer
+     *            closes an instance of the document opened by a worker
+     */
+    public PerWorkerDocumentExecutor(TaskExecutionContext executionContext, int parallelism, DocumentOpener<D> opener,
+            Consumer<D> closer) {
+        this.executionContext = requireNonNull(executionContext);
+        this.parallelism = Math.max(1, parallelism);
+        this.opener = requireNonNull(opener);
+        this.closer = requireNonNull(closer);
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread thread = new Thread(r, "sejda-document-worker-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Executes the given job for every item on the workers and gives the results to the consumer in the items order. Execution stops at the first failure.
+     * 
+     * @param items
+     * @param job
+     *            executed by a worker with its own instance of the document
+     * @param consumer
+     *            consumes the results on the calling thread
+     * @throws TaskException
+     *             the exception thrown by a job or by the consumer
+     */
+    public <I, T> void execute(Iterable<I> items, DocumentJob<D, I, T> job, ResultConsumer<I, T> consumer)
+            throws TaskException {
+        Iterator<I> iterator = items.iterator();
+        Deque<Map.Entry<I, Future<T>>> pending = new ArrayDeque<>();
+        while (iterator.hasNext() || !pending.isEmpty()) {
+            while (iterator.hasNext() && pending.size() < parallelism * 2) {
+                I item = iterator.next();
+                pending.add(new SimpleImmutableEntry<>(item, executor.submit(() -> {
+                    executionContext.assertTaskNotCancelled();
+                    return job.execute(document(), item);
+                })));
+            }
+            Map.Entry<I, Future<T>> current = pending.poll();
+            executionContext.assertTaskNotCancelled();
+            consumer.accept(current.getKey(), waitFor(current.getValue()));
+        }
+    }
+
+    private D document() throws TaskException {
+        D document = documents.get();
+        if (document == null) {
+            document = opener.open();
+            opened.add(document);
+            documents.set(document);
+        }
+        return document;
+    }
+
+    private static <T> T waitFor(Future<T> result) throws TaskException {
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskExecutionException("Interrupted while waiting for the workers", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskException) {
+                throw (TaskException) e.getCause();
+            }
+            throw new TaskExecutionException("An error occurred executing the job", e.getCause());
+        }
+    }
+
+    /**
+     * Stops the workers and closes the documents they opened. If the workers don't terminate in a reasonable time the documents are not closed, since they might still be in
+     * use.
+     */
+    @Override
+    public void close() {
+        executor.shutdownNow();
+        try {
+            if (executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                opened.forEach(closer);
+            } else {
+                LOG.warn("Workers didn't terminate in time, {} opened documents are not closed", opened.size());
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while waiting for the workers to terminate, {} opened documents are not closed",
+                    opened.size());
+            Thread.currentThread().interrupt();
+        }
+        opened.clear();
+    }
+
+    /**
+     * Opens a new instance of the document for a worker
+     *
+     * @param <D>
+     *            the type of the document
+     */
+    @FunctionalInterface
+    public interface DocumentOpener<D> {
+        D open() throws TaskException;
+    }
+
+    /**
+     * A job executed by a worker for an item
+     *
+     * @param <D>
+     *            the type of the document
+     * @param <I>
+     *            the type of the item
+     * @param <T>
+     *            the type of the result
+     */
+    @FunctionalInterface
+    public interface DocumentJob<D, I, T> {
+        T execute(D document, I item) throws TaskException;
+    }
+
+    /**
+     * Consumes the result of the job executed for an item
+     *
+     * @param <I>
+     *            the type of the item
+     * @param <T>
+     *            the type of the result
+     */
+    @FunctionalInterface
+    public interface ResultConsumer<I, T> {
+        void accept(I item, T result) throws TaskException;
+    }
+}
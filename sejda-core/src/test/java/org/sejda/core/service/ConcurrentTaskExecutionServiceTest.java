@@ -0,0 +1,185 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.service;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.io.OutputStream;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.TestUtils;
+import org.sejda.core.TestListenerFactory;
+import org.sejda.core.TestListenerFactory.TestListenerFailed;
+import org.sejda.core.TestListenerFactory.TestListenerStart;
+import org.sejda.core.context.DefaultSejdaContext;
+import org.sejda.core.context.SejdaContext;
+import org.sejda.core.notification.context.ThreadLocalNotificationContext;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.output.StreamTaskOutput;
+import org.sejda.model.parameter.base.TaskParameters;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.model.task.TestTaskParameter;
+
+/**
+ * @author agent
+ *
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class ConcurrentTaskExecutionServiceTest {
+
+    private ConcurrentTaskExecutionService victim;
+    private TestTaskParameter parameters = new TestTaskParameter();
+    private SejdaContext context = mock(DefaultSejdaContext.class);
+    private Task task = mock(Task.class);
+
+    @Before
+    public void setUp() throws TaskException {
+        parameters.setOutput(new StreamTaskOutput(mock(OutputStream.class)));
+        when(context.getTask(any(TaskParameters.class))).thenReturn(task);
+        when(context.isValidation()).thenReturn(Boolean.FALSE);
+        DefaultTaskExecutionService delegate = new DefaultTaskExecutionService();
+        TestUtils.setProperty(delegate, "context", context);
+        victim = new ConcurrentTaskExecutionService(1);
+        TestUtils.setProperty(victim, "delegate", delegate);
+    }
+
+    @After
+    public void tearDown() throws InterruptedException {
+        victim.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void submit() throws Exception {
+        TestListenerStart listener = TestListenerFactory.newStartListener();
+        TaskExecutionHandle handle = victim.submit(parameters, listener);
+        handle.await(5, TimeUnit.SECONDS);
+        assertTrue(handle.isDone());
+        assertTrue(listener.isStarted());
+        verify(task).execute(parameters);
+        assertEquals(0, ThreadLocalNotificationContext.getContext().size());
+    }
+
+    @Test(expected = CancellationException.class)
+    public void cancelQueued() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Task blocking = mock(Task.class);
+        doAnswer(i -> {
+            running.countDown();
+            release.await();
+            return null;
+        }).when(blocking).execute(any());
+        when(context.getTask(any(TaskParameters.class))).thenReturn(blocking, task);
+        TaskExecutionHandle first = victim.submit(parameters);
+        running.await(5, TimeUnit.SECONDS);
+        TaskExecutionHandle second = victim.submit(parameters);
+        second.cancel();
+        release.countDown();
+        first.await(5, TimeUnit.SECONDS);
+        verify(task, never()).execute(any());
+        second.await();
+    }
+
+    @Test
+    public void cancelRunning() throws Exception {
+        CountDownLatch running = new CountDownLatch(1);
+        AtomicReference<TaskExecutionContext> executionContext = new AtomicReference<>();
+        doAnswer(i -> {
+            executionContext.set(i.getArgumentAt(1, TaskExecutionContext.class));
+            return null;
+        }).when(task).before(any(), any());
+        doAnswer(i -> {
+            running.countDown();
+            long end = System.currentTimeMillis() + 5000;
+            while (System.currentTimeMillis() < end) {
+                executionContext.get().assertTaskNotCancelled();
+                Thread.sleep(10);
+            }
+            return null;
+        }).when(task).execute(any());
+        TestListenerFailed failed = TestListenerFactory.newFailedListener();
+        TaskExecutionHandle handle = victim.submit(parameters, failed);
+        assertTrue(running.await(5, TimeUnit.SECONDS));
+        handle.cancel();
+        handle.await(2, TimeUnit.SECONDS);
+        assertTrue(handle.isDone());
+        assertTrue(failed.isFailed());
+    }
+
+    @Test
+    public void cancelWaitingForResources() throws Exception {
+        ResourceBudget budget = ResourceBudget.of(10, p -> 10);
+        TestUtils.setProperty(victim, "heapBudget", budget);
+        budget.acquire(parameters);
+        TestListenerFailed failed = TestListenerFactory.newFailedListener();
+        TaskExecutionHandle handle = victim.submit(parameters, failed);
+        Thread.sleep(100);
+        handle.cancel();
+        handle.await(5, TimeUnit.SECONDS);
+        assertTrue(failed.isFailed());
+        verify(task, never()).execute(any());
+        assertEquals(0, budget.available());
+        budget.release(10);
+        assertEquals(10, budget.available());
+    }
+
+    @Test
+    public void budgetBlocksUntilReleased() throws Exception {
+        ResourceBudget budget = ResourceBudget.of(10, p -> 6);
+        assertEquals(6, budget.acquire(parameters));
+        CountDownLatch acquired = new CountDownLatch(1);
+        Thread other = new Thread(() -> {
+            try {
+                budget.acquire(parameters);
+                acquired.countDown();
+            } catch (InterruptedException e) {
+                // nothing
+            }
+        });
+        other.start();
+        assertFalse(acquired.await(200, TimeUnit.MILLISECONDS));
+        budget.release(6);
+        assertTrue(acquired.await(5, TimeUnit.SECONDS));
+        assertEquals(4, budget.available());
+    }
+
+    @Test
+    public void oversizedTaskTakesTheWholeBudget() throws InterruptedException {
+        ResourceBudget budget = ResourceBudget.of(10, p -> 100);
+        assertEquals(10, budget.acquire(parameters));
+        assertEquals(0, budget.available());
+        budget.release(10);
+        assertEquals(10, budget.available());
+    }
+}
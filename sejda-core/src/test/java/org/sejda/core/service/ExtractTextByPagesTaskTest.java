@@ -123,4 +123,26 @@ public abstract class ExtractTextByPagesTaskTest extends BaseTaskTest<ExtractTex
                     }
                 });
     }
+
+    @Test
+    public void testExecuteInParallel() throws IOException {
+        setUpParameters();
+        parameters.setSource(customFileInput("pdf/test_file.pdf"));
+        parameters.setParallelism(3);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(4).assertOutputContainsFilenames("1_test_file.txt", "2_test_file.txt",
+                "3_test_file.txt", "4_test_file.txt").forEachRawOutput(p -> {
+                    try {
+                        if (p.getFileName().toString().equals("1_test_file.txt")) {
+                            assertEquals("GNU LIBRARY GENERAL PUBLIC LICENSE", Files.lines(p).findFirst().get().trim());
+                        }
+                        if (p.getFileName().toString().equals("3_test_file.txt")) {
+                            assertEquals("and installation of the library.", Files.lines(p).findFirst().get().trim());
+                        }
+                    } catch (IOException e) {
+                        fail(e.getMessage());
+                    }
+                });
+    }
 }
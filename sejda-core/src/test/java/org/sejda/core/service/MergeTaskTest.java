@@ -197,6 +197,29 @@ public abstract class MergeTaskTest extends BaseTaskTest<MergeParameters> {
         doExecuteMergeAll(true, 310, parameters);
     }
 
+    @Test
+    public void executeMergeAllWithOutlinePrefetching() throws IOException {
+        MergeParameters parameters = setUpParameters(getInputWithOutline());
+        getInput().forEach(parameters::addInput);
+        parameters.setPrefetchSize(2);
+        doExecuteMergeAll(true, 325, parameters);
+    }
+
+    @Test
+    public void executeMergeAllWithEncryptedPrefetching() throws IOException {
+        MergeParameters parameters = setUpParameters(getInputWithEncrypted());
+        parameters.setPrefetchSize(1);
+        doExecuteMergeAll(true, 310, parameters);
+    }
+
+    @Test
+    public void executeMergeAllDiscardingDuplicatedStreams() throws IOException {
+        MergeParameters parameters = setUpParameters(getInput());
+        getInput().forEach(parameters::addInput);
+        parameters.setDiscardDuplicatedStreams(true);
+        doExecuteMergeAll(false, 28, parameters);
+    }
+
     @Test
     public void executeMergeAllStreamOutput() throws IOException {
         MergeParameters parameters = setUpParameters(getInput());
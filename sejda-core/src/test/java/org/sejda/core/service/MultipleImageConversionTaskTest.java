@@ -72,6 +72,19 @@ public abstract class MultipleImageConversionTaskTest<T extends AbstractPdfToMul
         doExecute(parameters, 2);
     }
 
+    @Test
+    public void testExecuteInParallel() throws IOException {
+        AbstractPdfToMultipleImageParameters parameters = getMultipleImageParametersWithoutSource();
+        parameters.addSource(customFileInput("pdf/test-pdf.pdf"));
+        parameters.addPageRange(new PageRange(1, 4));
+        parameters.setParallelism(3);
+        parameters.setOutputPrefix("[BASENAME]-[PAGENUMBER]");
+        doExecute(parameters, 4);
+        String extension = parameters.getOutputImageType().getExtension();
+        testContext.assertOutputContainsFilenames("test-pdf-1." + extension, "test-pdf-2." + extension,
+                "test-pdf-3." + extension, "test-pdf-4." + extension);
+    }
+
     @Test
     public void testMultipleInputs() throws IOException {
         AbstractPdfToMultipleImageParameters parameters = getMultipleImageParametersWithoutSource();
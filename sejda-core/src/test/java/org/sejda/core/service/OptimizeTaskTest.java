@@ -90,6 +90,16 @@ public abstract class OptimizeTaskTest extends BaseTaskTest<OptimizeParameters>
         testContext.forEachRawOutput(p -> assertThat(sizeOfResult(p), is(lessThan(468L))));
     }
 
+    @Test
+    public void testRepeatedImagesInParallel() throws IOException {
+        setUpParameters();
+        parameters.setParallelism(4);
+        parameters.addSource(customInput("pdf/test_optimize_repeated_images.pdf"));
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachRawOutput(p -> assertThat(sizeOfResult(p), is(lessThan(468L))));
+    }
+
     @Test
     public void testAlreadyCompressed() throws IOException {
         setUpParameters();
@@ -99,6 +99,34 @@ public abstract class PdfToExcelTaskTest extends BaseTaskTest<PdfToExcelParamete
         });
     }
 
+    @Test
+    public void testMergedTablesInParallel() throws IOException {
+        PdfToExcelParameters params = getParams();
+        params.removeAllSources();
+        params.addSource(customFileInput("pdf/tabular-data.pdf"));
+        params.setMergeTablesSpanningMultiplePages(true);
+        params.setParallelism(2);
+        execute(params);
+
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(1).assertOutputContainsFilenames("tabular-data.xlsx").forEachRawOutput(p -> {
+            try {
+                InputStream in = new FileInputStream(p.toFile());
+                Workbook wb = WorkbookFactory.create(in);
+
+                assertThat(wb.getNumberOfSheets(), is(1));
+
+                Sheet sheet = wb.getSheetAt(0);
+                assertThat(sheet.getPhysicalNumberOfRows(), is(44));
+                assertThat(sheet.getSheetName(), is("Table 1 (Pages 1, 2)"));
+                assertThat(getDataRow(sheet, 37), is(Arrays.asList("9/10/16", "Central", "Gill", "Pencil", "7", "1.29", "9.03")));
+
+            } catch (Exception e) {
+                throw new RuntimeException(e);
+            }
+        });
+    }
+
     private List<Object> getDataRow(Sheet sheet, int i) {
         Row row = sheet.getRow(i);
         List<Object> dataRow = new ArrayList<>();
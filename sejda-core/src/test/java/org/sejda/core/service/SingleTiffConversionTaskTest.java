@@ -64,6 +64,20 @@ public abstract class SingleTiffConversionTaskTest extends BaseTaskTest<PdfToSin
         AbstractPdfToSingleImageParameters parameters = getSingleTiffParams();
         testContext.fileOutputTo(parameters, ".tiff");
         execute(parameters);
+        assertTiffOutput();
+    }
+
+    @Test
+    public void testExecuteInParallelToSingleTiff() throws IOException {
+        AbstractPdfToSingleImageParameters parameters = getSingleTiffParams();
+        parameters.setSource(customFileInput("pdf/test-pdf.pdf"));
+        parameters.setParallelism(3);
+        testContext.fileOutputTo(parameters, ".tiff");
+        execute(parameters);
+        assertTiffOutput();
+    }
+
+    private void assertTiffOutput() throws IOException {
         testContext.assertTaskCompleted();
         testContext.forRawOutput(p -> {
             try {
@@ -68,6 +68,18 @@ public abstract class SplitByOutlineLevelTaskTest extends BaseTaskTest<SplitByOu
         });
     }
 
+    @Test
+    public void testExecuteLevel2Concurrent() throws IOException {
+        SplitByOutlineLevelParameters parameters = setUpParameters(2, null);
+        parameters.setSource(customFileInput("pdf/bigger_outline_test.pdf"));
+        parameters.setParallelism(2);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(3).forEachPdfOutput(d -> {
+            assertTrue(nonNull(d.getDocumentCatalog().getDocumentOutline()));
+        });
+    }
+
     @Test
     public void testExecuteLevel2DiscardOutline() throws IOException {
         SplitByOutlineLevelParameters parameters = setUpParameters(2, null);
@@ -114,6 +114,36 @@ public abstract class SplitByPageNumberTaskTest extends BaseTaskTest<SplitByPage
         });
     }
 
+    @Test
+    public void concurrentSplitWithOutline() throws IOException {
+        setUpParameters();
+        parameters.setSource(customFileInput("pdf/large_outline.pdf"));
+        parameters.setOutputPrefix("[FILENUMBER]_[CURRENTPAGE]");
+        parameters.setParallelism(3);
+        parameters.addPage(1);
+        parameters.addPage(2);
+        parameters.addPage(3);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(4).assertOutputContainsFilenames("1_1.pdf", "2_2.pdf", "3_3.pdf", "4_4.pdf")
+                .forEachPdfOutput(d -> {
+                    assertTrue(nonNull(d.getDocumentCatalog().getDocumentOutline()));
+                });
+    }
+
+    @Test
+    public void concurrentSplitOptimized() throws IOException {
+        setUpParameters();
+        parameters.setSource(customFileInput("pdf/shared_fonts.pdf"));
+        parameters.setOptimizationPolicy(OptimizationPolicy.AUTO);
+        parameters.setParallelism(2);
+        parameters.addPage(1);
+        parameters.addPage(2);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(3);
+    }
+
     public void doTestBurst() throws IOException {
         parameters.addPage(1);
         parameters.addPage(2);
@@ -54,6 +54,37 @@ public abstract class SplitBySizeTaskTest extends BaseTaskTest<SplitBySizeParame
         testContext.assertOutputSize(4);
     }
 
+    @Test
+    public void testPartsWithinLimit() throws IOException {
+        assertPartsWithinLimit(OptimizationPolicy.NO);
+    }
+
+    @Test
+    public void testOptimizedPartsWithinLimit() throws IOException {
+        assertPartsWithinLimit(OptimizationPolicy.YES);
+    }
+
+    private void assertPartsWithinLimit(OptimizationPolicy policy) throws IOException {
+        long limit = 100000;
+        parameters = new SplitBySizeParameters(limit);
+        parameters.setCompress(true);
+        parameters.setOptimizationPolicy(policy);
+        parameters.setVersion(PdfVersion.VERSION_1_6);
+        parameters.setSource(mediumInput());
+        parameters.setExistingOutputPolicy(ExistingOutputPolicy.OVERWRITE);
+        testContext.directoryOutputTo(parameters);
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.forEachRawOutput(p -> {
+            try {
+                long size = Files.size(p);
+                assertTrue(String.format("%s is %d bytes, limit is %d", p.getFileName(), size, limit), size <= limit);
+            } catch (IOException e) {
+                fail(e.getMessage());
+            }
+        });
+    }
+
     @Test
     public void testExecuteOptimized() throws IOException {
         parameters = new SplitBySizeParameters(60000);
@@ -54,6 +54,19 @@ public abstract class SplitByTextContentTaskTest extends BaseTaskTest<SplitByTex
         testContext.assertOutputSize(3);
     }
 
+    @Test
+    public void testExecuteInParallel() throws IOException {
+        setUpParameters(new TopLeftRectangularBox(114, 70, 41, 15));
+        parameters.removeAllSources();
+        parameters.addSource(customFileInput("pdf/split_by_text_contents_sample.pdf"));
+        parameters.setParallelism(3);
+        parameters.setOutputPrefix("[FILENUMBER]");
+        execute(parameters);
+        testContext.assertTaskCompleted();
+        testContext.assertOutputSize(3);
+        testContext.assertOutputContainsFilenames("1.pdf", "2.pdf", "3.pdf");
+    }
+
     @Test
     public void testExecuteDoesNotFailOnDocWithoutMultipleResults() throws IOException {
         setUpParameters(new TopLeftRectangularBox(114, 70, 41, 15));
@@ -19,15 +19,24 @@
  */
 package org.sejda.core.support.io;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertTrue;
 
 import java.io.File;
+import java.io.IOException;
 import java.util.Collections;
 
 import org.apache.commons.io.FilenameUtils;
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sejda.model.SejdaFileExtensions;
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.output.DirectoryTaskOutput;
+import org.sejda.model.output.FileTaskOutput;
 
 /**
  * @author Andrea Vacondio
@@ -35,6 +44,14 @@ import org.sejda.model.exception.TaskIOException;
  */
 public class IOUtilsTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        System.clearProperty(IOUtils.WRITE_THROUGH_PROPERTY);
+    }
+
     @Test
     public void testCreateBuffer() throws TaskIOException {
         File tmp = IOUtils.createTemporaryBuffer();
@@ -51,4 +68,45 @@ public class IOUtilsTest {
         assertTrue(tmp.isFile());
         assertTrue(FilenameUtils.isExtension(tmp.getName(), Collections.singleton(SejdaFileExtensions.PDF_EXTENSION)));
     }
+
+    @Test
+    public void testCreateBufferForOutput() throws TaskIOException, IOException {
+        File destination = folder.newFolder();
+        File tmp = IOUtils.createTemporaryPdfBuffer(new DirectoryTaskOutput(destination));
+        tmp.deleteOnExit();
+        assertTrue(tmp.exists());
+        assertNotEquals(destination, tmp.getParentFile());
+    }
+
+    @Test
+    public void testCreateWriteThroughBufferForFile() throws TaskIOException, IOException {
+        System.setProperty(IOUtils.WRITE_THROUGH_PROPERTY, "true");
+        File destination = new File(folder.newFolder(), "out.pdf");
+        File tmp = IOUtils.createTemporaryPdfBuffer(new FileTaskOutput(destination));
+        assertTrue(tmp.exists());
+        assertEquals(destination.getParentFile(), tmp.getParentFile());
+        assertTrue(FilenameUtils.isExtension(tmp.getName(), Collections.singleton(SejdaFileExtensions.PDF_EXTENSION)));
+    }
+
+    @Test
+    public void testCreateWriteThroughBufferForDirectory() throws TaskIOException, IOException {
+        System.setProperty(IOUtils.WRITE_THROUGH_PROPERTY, "true");
+        File destination = folder.newFolder();
+        File tmp = IOUtils.createTemporaryBuffer(".tmp", new DirectoryTaskOutput(destination));
+        assertTrue(tmp.exists());
+        assertEquals(destination, tmp.getParentFile());
+    }
+
+    @Test
+    public void testDeleteBuffer() throws TaskIOException, IOException {
+        System.setProperty(IOUtils.WRITE_THROUGH_PROPERTY, "true");
+        File destination = folder.newFolder();
+        File tmp = IOUtils.createTemporaryPdfBuffer(new DirectoryTaskOutput(destination));
+        assertTrue(tmp.exists());
+        IOUtils.deleteBuffer(tmp);
+        assertFalse(tmp.exists());
+        assertEquals(0, destination.listFiles().length);
+        IOUtils.deleteBuffer(tmp);
+        IOUtils.deleteBuffer(null);
+    }
 }
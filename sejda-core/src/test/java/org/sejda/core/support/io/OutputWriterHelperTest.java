@@ -168,6 +168,7 @@ public class OutputWriterHelperTest {
         OutputWriterHelper.moveToDirectory(files, dest, ExistingOutputPolicy.SKIP, context);
         assertEquals(2, dest.list().length);
         assertEquals(1, context.notifiableTaskMetadata().taskOutput().size());
+        files.values().forEach(f -> assertFalse(f.exists()));
     }
 
     @Test
@@ -0,0 +1,88 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.prefix.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.sejda.core.support.prefix.model.NameGenerationRequest;
+
+/**
+ * @author agent
+ *
+ */
+public class PrefixTemplateTest {
+
+    private static final List<String> PREFIXES = Arrays.asList(null, "", "  ", "BLA_", "[BASENAME]",
+            "BLA_[CURRENTPAGE###]_[BASENAME]", "[CURRENTPAGE]_[CURRENTPAGE##-3]_[FILENUMBER#10]",
+            "[FILENUMBER-1][FILENUMBER]", "[BOOKMARK_NAME]_[BOOKMARK_NAME_STRICT]", "[TEXT]_[BASENAME]",
+            "[BOOKMARK_NAME] [BASENAME] [CURRENTPAGE####100]", "[CURRENTPAGE", "BLA]_[CURRENTPAGE]",
+            "[CURRENTPAGEX]_[FILENUMBER]", "[UNKNOWN]_[CURRENTPAGE]", "[[CURRENTPAGE]]", "$1_[CURRENTPAGE]\\");
+
+    private static final List<NameGenerationRequest> REQUESTS = Arrays.asList(nameRequest(), nameRequest("pdf"),
+            nameRequest("pdf").page(5), nameRequest().originalName("Original").page(12),
+            nameRequest("txt").originalName("Original").fileNumber(3),
+            nameRequest("pdf").originalName("Orig[CURRENTPAGE]").page(2).fileNumber(7),
+            nameRequest().bookmark("Chapter: 1 \"intro\"").text("Some text? 1").page(-4),
+            nameRequest("pdf").bookmark("[FILENUMBER] <>").fileNumber(1).page(1).originalName("x"),
+            nameRequest("pdf").bookmark("???").page(Integer.MAX_VALUE));
+
+    @Test
+    public void sameResultAsPrefixTypesChain() {
+        for (String prefix : PREFIXES) {
+            PrefixTemplate victim = new PrefixTemplate(prefix);
+            for (NameGenerationRequest request : REQUESTS) {
+                assertEquals(prefix, new PrefixTypesChain(prefix).process(defaultString(prefix), request),
+                        victim.process(request));
+            }
+        }
+    }
+
+    @Test
+    public void reusable() {
+        PrefixTemplate victim = new PrefixTemplate("[CURRENTPAGE####]_[BASENAME]");
+        for (int i = 1; i < 100; i++) {
+            assertEquals(String.format("%04d_name.pdf", i),
+                    victim.process(nameRequest("pdf").page(i).originalName("name")));
+        }
+    }
+
+    @Test
+    public void timestamp() {
+        String result = new PrefixTemplate("[TIMESTAMP]_[TIMESTAMP]_[BASENAME]")
+                .process(nameRequest().originalName("name"));
+        String[] parts = result.split("_");
+        assertTrue(result, result.matches("\\d{8}_\\d{8,}_\\d{8}_\\d{8,}_name\\.pdf"));
+        assertEquals(parts[0] + parts[1], parts[2] + parts[3]);
+    }
+
+    @Test(expected = NumberFormatException.class)
+    public void invalidStartingNumber() {
+        new PrefixTemplate("[CURRENTPAGE-]").process(nameRequest().page(1));
+    }
+
+    private static String defaultString(String value) {
+        return value == null ? "" : value;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.support.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.junit.Test;
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
+
+/**
+ * @author agent
+ *
+ */
+public class PerWorkerDocumentExecutorTest {
+
+    private TaskExecutionContext context = new TaskExecutionContext(mock(Task.class), true);
+    private List<Integer> items = IntStream.range(0, 50).boxed().collect(Collectors.toList());
+
+    @Test
+    public void resultsInOrderWithOneDocumentPerWorker() throws TaskException {
+        ConcurrentLinkedQueue<Document> opened = new ConcurrentLinkedQueue<>();
+        List<Integer> results = new ArrayList<>();
+        AtomicInteger started = new AtomicInteger(-1);
+        try (PerWorkerDocumentExecutor<Document> victim = new PerWorkerDocumentExecutor<>(context, 3, () -> {
+            Document document = new Document();
+            opened.add(document);
+            return document;
+        }, Document::close)) {
+            victim.execute(items, (document, item) -> {
+                document.use();
+                started.accumulateAndGet(item, Math::max);
+                return item * 2;
+            }, (item, result) -> {
+                assertTrue(started.get() <= item + 5);
+                assertEquals(item * 2, result.intValue());
+                results.add(item);
+            });
+        }
+        assertEquals(items, results);
+        assertTrue(opened.size() <= 3);
+        assertTrue(opened.stream().allMatch(d -> d.closed));
+    }
+
+    @Test(expected = TaskExecutionException.class)
+    public void failure() throws TaskException {
+        try (PerWorkerDocumentExecutor<Document> victim = new PerWorkerDocumentExecutor<>(context, 2, Document::new,
+                Document::close)) {
+            victim.execute(items, (document, item) -> {
+                if (item == 10) {
+                    throw new TaskExecutionException("chuck norris");
+                }
+                return item;
+            }, (item, result) -> {
+                // nothing
+            });
+        }
+    }
+
+    @Test(expected = TaskCancelledException.class)
+    public void cancelled() throws TaskException {
+        try (PerWorkerDocumentExecutor<Document> victim = new PerWorkerDocumentExecutor<>(context, 2, Document::new,
+                Document::close)) {
+            victim.execute(items, (document, item) -> item, (item, result) -> {
+                if (item == 5) {
+                    context.cancelTask();
+                }
+            });
+        }
+    }
+
+    private static class Document {
+        private final AtomicInteger users = new AtomicInteger();
+        private volatile boolean closed = false;
+
+        void use() {
+            assertEquals(1, users.incrementAndGet());
+            users.decrementAndGet();
+        }
+
+        void close() {
+            closed = true;
+        }
+    }
+}
@@ -23,6 +23,7 @@ import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 
 import org.sejda.core.writer.context.ImageWriterContext;
 import org.sejda.core.writer.model.ImageWriter;
+import org.sejda.impl.icepdf.component.PdfToBufferedImageProvider;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.parameter.image.PdfToImageParameters;
@@ -44,6 +45,7 @@ abstract class BasePdfToImageTask<T extends PdfToImageParameters> extends BaseTa
     private static final Logger LOG = LoggerFactory.getLogger(BasePdfToImageTask.class);
 
     private ImageWriter<T> writer;
+    private PdfToBufferedImageProvider imageProvider;
 
     @Override
     public void before(T parameters, TaskExecutionContext executionContext) throws TaskException {
@@ -57,14 +59,22 @@ abstract class BasePdfToImageTask<T extends PdfToImageParameters> extends BaseTa
             throw new TaskExecutionException(String.format("No suitable ImageWriter found for %s.", parameters));
         }
         LOG.trace("Found image writer {}", writer);
+        imageProvider = new PdfToBufferedImageProvider();
     }
 
     @Override
     public void after() {
         nullSafeCloseQuietly(writer);
+        if (imageProvider != null) {
+            imageProvider.clear();
+        }
     }
 
     ImageWriter<T> getWriter() {
         return writer;
     }
+
+    PdfToBufferedImageProvider getImageProvider() {
+        return imageProvider;
+    }
 }
@@ -25,9 +25,8 @@ import static org.sejda.core.support.io.OutputWriters.newMultipleOutputWriter;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
-import static org.sejda.impl.icepdf.component.PdfToBufferedImageProvider.toBufferedImage;
 
-import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
 import java.io.File;
 import java.util.Set;
 
@@ -87,7 +86,8 @@ public class PdfToMultipleImageTask<T extends AbstractPdfToMultipleImageParamete
             for (int currentPage : requestedPages) {
                 executionContext().assertTaskNotCancelled();
 
-                BufferedImage pageImage = toBufferedImage(pdfDocument, zeroBased(currentPage), parameters);
+                RenderedImage pageImage = getImageProvider().toRenderedImage(pdfDocument, zeroBased(currentPage),
+                        parameters, getWriter().supportsBandedImages());
                 if (pageImage == null) {
                     LOG.debug("Failed to convert page {} to image", currentPage);
                     continue;
@@ -23,16 +23,21 @@ import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEv
 import static org.sejda.core.support.io.IOUtils.createTemporaryBuffer;
 import static org.sejda.core.support.io.OutputWriters.newSingleOutputWriter;
 import static org.sejda.core.support.io.model.FileOutput.file;
-import static org.sejda.impl.icepdf.component.PdfToBufferedImageProvider.toBufferedImage;
 
-import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
 import java.io.File;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.icepdf.core.pobjects.Document;
 import org.sejda.core.support.io.SingleOutputWriter;
+import org.sejda.core.support.util.PerWorkerDocumentExecutor;
+import org.sejda.core.writer.model.ConcurrentImageWriter;
 import org.sejda.impl.icepdf.component.DefaultPdfSourceOpener;
+import org.sejda.impl.icepdf.component.PdfToBufferedImageProvider;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.image.AbstractPdfToSingleImageParameters;
 import org.sejda.model.task.TaskExecutionContext;
@@ -76,11 +81,26 @@ public class PdfToSingleImageTask<T extends AbstractPdfToSingleImageParameters>
         LOG.trace("Found {} pages", numberOfPages);
 
         getWriter().openWriteDestination(tmpFile, parameters);
+        if (parameters.getParallelism() > 1 && numberOfPages > 1 && parameters.getSource() instanceof PdfFileSource
+                && getWriter() instanceof ConcurrentImageWriter) {
+            concurrentConversion(parameters, (PdfFileSource) parameters.getSource(), numberOfPages);
+        } else {
+            sequentialConversion(parameters, numberOfPages);
+        }
+        getWriter().closeDestination();
+
+        outputWriter.setOutput(file(tmpFile).name(parameters.getOutputName()));
+        parameters.getOutput().accept(outputWriter);
+        LOG.debug("Document converted to {} and saved to {}", parameters.getOutputImageType(), parameters.getOutput());
+    }
+
+    private void sequentialConversion(T parameters, int numberOfPages) throws TaskException {
         for (int zeroBasedPageNumber = 0; zeroBasedPageNumber < pdfDocument.getNumberOfPages(); zeroBasedPageNumber++) {
             LOG.trace("Writing page {}", zeroBasedPageNumber + 1);
             executionContext().assertTaskNotCancelled();
 
-            BufferedImage pageImage = toBufferedImage(pdfDocument, zeroBasedPageNumber, parameters);
+            RenderedImage pageImage = getImageProvider().toRenderedImage(pdfDocument, zeroBasedPageNumber,
+                    parameters, getWriter().supportsBandedImages());
             if (pageImage == null) {
                 LOG.debug("Failed to convert page {} to image", zeroBasedPageNumber + 1);
                 continue;
@@ -90,11 +110,40 @@ public class PdfToSingleImageTask<T extends AbstractPdfToSingleImageParameters>
             notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(zeroBasedPageNumber + 1)
                     .outOf(numberOfPages);
         }
-        getWriter().closeDestination();
+    }
 
-        outputWriter.setOutput(file(tmpFile).name(parameters.getOutputName()));
-        parameters.getOutput().accept(outputWriter);
-        LOG.debug("Document converted to {} and saved to {}", parameters.getOutputImageType(), parameters.getOutput());
+    /**
+     * Pages are rendered and encoded by a pool of workers, each one with its own instance of the source document and its own image provider. Encoded pages are written in order by
+     * the calling thread and only a limited number of pages is submitted ahead of the one being written, so memory is bounded regardless of the number of pages.
+     */
+    @SuppressWarnings("unchecked")
+    private void concurrentConversion(T parameters, PdfFileSource source, int numberOfPages) throws TaskException {
+        ConcurrentImageWriter<T> writer = (ConcurrentImageWriter<T>) getWriter();
+        int parallelism = Math.min(parameters.getParallelism(), numberOfPages);
+        LOG.debug("Converting {} pages using {} threads", numberOfPages, parallelism);
+        try (PerWorkerDocumentExecutor<PageRenderer> executor = new PerWorkerDocumentExecutor<>(executionContext(),
+                parallelism, () -> new PageRenderer(source.open(new DefaultPdfSourceOpener())),
+                PageRenderer::dispose)) {
+            executor.execute(IntStream.range(0, numberOfPages).boxed().collect(Collectors.toList()),
+                    (renderer, zeroBasedPageNumber) -> {
+                        // the rendered image reuses the provider buffers so it's encoded before rendering the next page
+                        RenderedImage pageImage = renderer.imageProvider.toRenderedImage(renderer.document,
+                                zeroBasedPageNumber, parameters, writer.supportsBandedImages());
+                        if (pageImage == null) {
+                            return null;
+                        }
+                        return writer.encode(pageImage, parameters);
+                    }, (zeroBasedPageNumber, encoded) -> {
+                        if (encoded == null) {
+                            LOG.debug("Failed to convert page {} to image", zeroBasedPageNumber + 1);
+                            return;
+                        }
+                        LOG.trace("Writing page {}", zeroBasedPageNumber + 1);
+                        writer.writeEncoded(encoded, parameters);
+                        notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(zeroBasedPageNumber + 1)
+                                .outOf(numberOfPages);
+                    });
+        }
     }
 
     @Override
@@ -104,4 +153,21 @@ public class PdfToSingleImageTask<T extends AbstractPdfToSingleImageParameters>
             pdfDocument.dispose();
         }
     }
+
+    /**
+     * Document and image provider of a worker
+     */
+    private static class PageRenderer {
+        private final Document document;
+        private final PdfToBufferedImageProvider imageProvider = new PdfToBufferedImageProvider();
+
+        PageRenderer(Document document) {
+            this.document = document;
+        }
+
+        void dispose() {
+            document.dispose();
+            imageProvider.clear();
+        }
+    }
 }
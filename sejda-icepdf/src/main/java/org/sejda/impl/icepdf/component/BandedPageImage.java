@@ -0,0 +1,227 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.icepdf.component;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.ColorModel;
+import java.awt.image.Raster;
+import java.awt.image.RenderedImage;
+import java.awt.image.SampleModel;
+import java.awt.image.WritableRaster;
+import java.util.Vector;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * A {@link RenderedImage} of a page made of horizontal bands (tiles as wide as the page) that are painted on demand in a single band sized buffer, through a translated
+ * {@link Graphics2D}. Writers reading the image a band or a strip at a time only need memory for the band instead of the whole page.
+ * <p>
+ * Only the last painted band is retained so rasters returned by {@link #getTile(int, int)} are valid until a different band is requested, {@link #getData(Rectangle)} returns a
+ * copy as usual.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+final class BandedPageImage implements RenderedImage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(BandedPageImage.class);
+
+    private final int width;
+    private final int height;
+    private final int bandHeight;
+    private final BufferedImage band;
+    private final Consumer<Graphics2D> painter;
+    private int currentBand = -1;
+
+    /**
+     * @param width
+     *            width of the page image
+     * @param height
+     *            height of the page image
+     * @param band
+     *            the buffer bands are painted in, as wide as the page
+     * @param painter
+     *            paints the page on the given graphics
+     */
+    BandedPageImage(int width, int height, BufferedImage band, Consumer<Graphics2D> painter) {
+        if (band.getWidth() != width) {
+            throw new IllegalArgumentException("The band must be as wide as the page");
+        }
+        this.width = width;
+        this.height = height;
+        this.bandHeight = band.getHeight();
+        this.band = band;
+        this.painter = painter;
+    }
+
+    /**
+     * @param index
+     * @return the raster of the band with the given index, positioned in the page coordinates
+     */
+    private synchronized Raster band(int index) {
+        int y = index * bandHeight;
+        if (currentBand != index) {
+            currentBand = -1;
+            Graphics2D g = band.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, bandHeight);
+                g.translate(0, -y);
+                g.clipRect(0, y, width, bandHeight);
+                painter.accept(g);
+            } finally {
+                g.dispose();
+            }
+            currentBand = index;
+            LOG.trace("Painted band {} of {}", index + 1, getNumYTiles());
+        }
+        return band.getRaster().createChild(0, 0, width, Math.min(bandHeight, height - y), 0, y, null);
+    }
+
+    @Override
+    public Vector<RenderedImage> getSources() {
+        return null;
+    }
+
+    @Override
+    public Object getProperty(String name) {
+        return Image.UndefinedProperty;
+    }
+
+    @Override
+    public String[] getPropertyNames() {
+        return null;
+    }
+
+    @Override
+    public ColorModel getColorModel() {
+        return band.getColorModel();
+    }
+
+    @Override
+    public SampleModel getSampleModel() {
+        return band.getSampleModel();
+    }
+
+    @Override
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public int getHeight() {
+        return height;
+    }
+
+    @Override
+    public int getMinX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinY() {
+        return 0;
+    }
+
+    @Override
+    public int getNumXTiles() {
+        return 1;
+    }
+
+    @Override
+    public int getNumYTiles() {
+        return (height + bandHeight - 1) / bandHeight;
+    }
+
+    @Override
+    public int getMinTileX() {
+        return 0;
+    }
+
+    @Override
+    public int getMinTileY() {
+        return 0;
+    }
+
+    @Override
+    public int getTileWidth() {
+        return width;
+    }
+
+    @Override
+    public int getTileHeight() {
+        return bandHeight;
+    }
+
+    @Override
+    public int getTileGridXOffset() {
+        return 0;
+    }
+
+    @Override
+    public int getTileGridYOffset() {
+        return 0;
+    }
+
+    @Override
+    public Raster getTile(int tileX, int tileY) {
+        if (tileX != 0 || tileY < 0 || tileY >= getNumYTiles()) {
+            throw new IllegalArgumentException(String.format("Invalid tile %d,%d", tileX, tileY));
+        }
+        return band(tileY);
+    }
+
+    @Override
+    public Raster getData() {
+        return getData(new Rectangle(0, 0, width, height));
+    }
+
+    @Override
+    public Raster getData(Rectangle rect) {
+        WritableRaster raster = Raster.createWritableRaster(
+                getSampleModel().createCompatibleSampleModel(rect.width, rect.height), new Point(rect.x, rect.y));
+        return copyData(raster);
+    }
+
+    @Override
+    public WritableRaster copyData(WritableRaster raster) {
+        WritableRaster destination = raster;
+        if (destination == null) {
+            destination = getColorModel().createCompatibleWritableRaster(width, height);
+        }
+        Rectangle bounds = destination.getBounds().intersection(new Rectangle(0, 0, width, height));
+        if (!bounds.isEmpty()) {
+            int last = (bounds.y + bounds.height - 1) / bandHeight;
+            for (int i = bounds.y / bandHeight; i <= last; i++) {
+                synchronized (this) {
+                    destination.setRect(band(i));
+                }
+            }
+        }
+        return destination;
+    }
+}
@@ -19,19 +19,30 @@
  */
 package org.sejda.impl.icepdf.component;
 
+import static java.util.Objects.nonNull;
+
+import java.awt.Color;
 import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
 
 import org.icepdf.core.pobjects.Document;
 import org.icepdf.core.pobjects.PDimension;
 import org.icepdf.core.pobjects.Page;
 import org.icepdf.core.util.GraphicsRenderingHints;
+import org.sejda.model.image.ImageColorType;
 import org.sejda.model.parameter.image.PdfToImageParameters;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
  * ICEpdf component providing a conversion method for a {@link Document} page to a {@link BufferedImage}. current thread.
+ * <p>
+ * Instances of this component additionally provide a conversion to a {@link RenderedImage} that reuses the same raster for consecutive pages with the same dimensions and color
+ * type and that, if enabled through {@link #BANDED_THRESHOLD_PROPERTY}, for pages whose raster would exceed the threshold returns an image painted in horizontal bands of a
+ * configurable size ({@link #BAND_SIZE_PROPERTY}) so that the peak memory depends on the band size rather than on the page size. Banding is only worth it for writers reading
+ * the image a strip at a time and it's requested by the caller.
+ * </p>
  * 
  * @author Andrea Vacondio
  * 
@@ -40,8 +51,31 @@ public final class PdfToBufferedImageProvider {
 
     private static final Logger LOG = LoggerFactory.getLogger(PdfToBufferedImageProvider.class);
 
-    private PdfToBufferedImageProvider() {
-        // hide
+    /**
+     * System property to set the size in bytes of the page raster above which pages are rendered in bands. Banding is disabled unless this property is set and it should be set
+     * well above the size of the pages normally converted (a 600 DPI A4 RGB page is about 140MB) since banded pages are rendered once per band.
+     */
+    public static final String BANDED_THRESHOLD_PROPERTY = "sejda.icepdf.banded.threshold";
+    /**
+     * System property to set the approximate size in bytes of the bands large pages are rendered in. Each band is painted by rendering the whole page clipped to the band, so a
+     * page is rendered once per band: with the default sizes a page just above the threshold is made of at least 8 bands and takes about 8 times the time to render. Bigger bands
+     * trade memory for speed.
+     */
+    public static final String BAND_SIZE_PROPERTY = "sejda.icepdf.band.size";
+
+    private final long bandedThreshold;
+    private final long bandSize;
+    private BufferedImage pooled;
+    private BufferedImage band;
+
+    public PdfToBufferedImageProvider() {
+        this(Long.getLong(BANDED_THRESHOLD_PROPERTY, Long.MAX_VALUE),
+                Long.getLong(BAND_SIZE_PROPERTY, 8 * 1024 * 1024));
+    }
+
+    PdfToBufferedImageProvider(long bandedThreshold, long bandSize) {
+        this.bandedThreshold = bandedThreshold;
+        this.bandSize = Math.max(1, bandSize);
     }
 
     /**
@@ -69,4 +103,114 @@ public final class PdfToBufferedImageProvider {
             return null;
         }
     }
+
+    /**
+     * Converts the given {@link Document} page to a {@link RenderedImage}, never banded. The returned image is reused by the next invocation so the caller must be done with it
+     * before converting the next page.
+     * 
+     * @param document
+     * @param page
+     * @param parameters
+     * @return the corresponding {@link RenderedImage} or null if the page could not be converted
+     * @see #toRenderedImage(Document, int, PdfToImageParameters, boolean)
+     */
+    public RenderedImage toRenderedImage(Document document, int page, PdfToImageParameters parameters) {
+        return toRenderedImage(document, page, parameters, false);
+    }
+
+    /**
+     * Converts the given {@link Document} page to a {@link RenderedImage}. The returned image, or its buffers, are reused by the next invocation of this method so the caller must
+     * be done with it before converting the next page.
+     * 
+     * @param document
+     * @param page
+     * @param parameters
+     * @param bandingAllowed
+     *            true if the consumer of the image reads it a strip at a time, so pages above the threshold can be rendered in bands
+     * @return the corresponding {@link RenderedImage} or null if the page could not be converted
+     */
+    public RenderedImage toRenderedImage(Document document, int page, PdfToImageParameters parameters,
+            boolean bandingAllowed) {
+        try {
+            Page currentPage = document.getPageTree().getPage(page);
+            currentPage.init();
+            PDimension pageDimensions = currentPage.getSize(0, parameters.getUserZoom());
+            int width = (int) pageDimensions.getWidth();
+            int height = (int) pageDimensions.getHeight();
+            ImageColorType colorType = parameters.getOutputImageColorType();
+            long bytesPerRow = bytesPerRow(width, colorType);
+            if (bandingAllowed && bytesPerRow * height > bandedThreshold) {
+                int bandHeight = (int) Math.max(1, Math.min(height, bandSize / Math.max(1, bytesPerRow)));
+                LOG.debug("Rendering page {} of {}x{} pixels in bands of {} rows", page + 1, width, height,
+                        bandHeight);
+                return new BandedPageImage(width, height, band(width, bandHeight, colorType),
+                        g -> paint(currentPage, g, parameters));
+            }
+            BufferedImage image = pooled(width, height, colorType);
+            Graphics2D g = image.createGraphics();
+            try {
+                g.setColor(Color.WHITE);
+                g.fillRect(0, 0, width, height);
+                currentPage.paint(g, GraphicsRenderingHints.PRINT, Page.BOUNDARY_CROPBOX, 0,
+                        parameters.getUserZoom());
+            } finally {
+                g.dispose();
+            }
+            return image;
+        } catch (NullPointerException ex) {
+            // works around an ICEPdf bug: if one page fails to convert, don't fail the complete task
+            LOG.warn("Failed to convert page to image", ex);
+            return null;
+        }
+    }
+
+    private static void paint(Page page, Graphics2D g, PdfToImageParameters parameters) {
+        try {
+            page.paint(g, GraphicsRenderingHints.PRINT, Page.BOUNDARY_CROPBOX, 0, parameters.getUserZoom());
+        } catch (NullPointerException ex) {
+            // same ICEPdf bug, here the band is left blank
+            LOG.warn("Failed to paint page band", ex);
+        }
+    }
+
+    private BufferedImage pooled(int width, int height, ImageColorType colorType) {
+        if (!matches(pooled, width, height, colorType)) {
+            // release the previous one before allocating
+            pooled = null;
+            pooled = colorType.createBufferedImage(width, height);
+        }
+        return pooled;
+    }
+
+    private BufferedImage band(int width, int height, ImageColorType colorType) {
+        if (!matches(band, width, height, colorType)) {
+            band = null;
+            band = colorType.createBufferedImage(width, height);
+        }
+        return band;
+    }
+
+    private static boolean matches(BufferedImage image, int width, int height, ImageColorType colorType) {
+        return nonNull(image) && image.getWidth() == width && image.getHeight() == height
+                && image.getType() == colorType.getBufferedImageType();
+    }
+
+    private static long bytesPerRow(int width, ImageColorType colorType) {
+        switch (colorType) {
+        case BLACK_AND_WHITE:
+            return (width + 7L) / 8;
+        case GRAY_SCALE:
+            return width;
+        default:
+            return width * 4L;
+        }
+    }
+
+    /**
+     * Releases the reused buffers
+     */
+    public void clear() {
+        pooled = null;
+        band = null;
+    }
 }
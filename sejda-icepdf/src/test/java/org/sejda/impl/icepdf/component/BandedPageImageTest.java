@@ -0,0 +1,116 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.icepdf.component;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.image.BufferedImage;
+import java.awt.image.Raster;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.junit.Test;
+import org.sejda.model.image.ImageColorType;
+
+/**
+ * @author agent
+ *
+ */
+public class BandedPageImageTest {
+
+    private static final int WIDTH = 50;
+    private static final int HEIGHT = 107;
+
+    private static final Consumer<Graphics2D> PAINTER = g -> {
+        g.setColor(Color.RED);
+        g.fillRect(5, 3, 20, 90);
+        g.setColor(Color.BLUE);
+        g.fillOval(10, 40, 35, 60);
+        g.setColor(Color.BLACK);
+        g.drawLine(0, 0, WIDTH, HEIGHT);
+    };
+
+    @Test
+    public void sameAsFullPage() {
+        for (ImageColorType type : ImageColorType.values()) {
+            BufferedImage expected = fullPage(type);
+            BandedPageImage victim = new BandedPageImage(WIDTH, HEIGHT, type.createBufferedImage(WIDTH, 10),
+                    PAINTER);
+            assertEquals(11, victim.getNumYTiles());
+            assertSameData(expected.getData(), victim.getData());
+            Rectangle strip = new Rectangle(0, 17, WIDTH, 23);
+            assertSameData(expected.getData(strip), victim.getData(strip));
+        }
+    }
+
+    @Test
+    public void tiles() {
+        BufferedImage expected = fullPage(ImageColorType.COLOR_RGB);
+        BandedPageImage victim = new BandedPageImage(WIDTH, HEIGHT,
+                ImageColorType.COLOR_RGB.createBufferedImage(WIDTH, 25), PAINTER);
+        for (int i = victim.getNumYTiles() - 1; i >= 0; i--) {
+            Raster tile = victim.getTile(0, i);
+            assertEquals(i * 25, tile.getMinY());
+            assertSameData(expected.getData(tile.getBounds()), tile);
+        }
+    }
+
+    @Test
+    public void bandsArePaintedOnce() {
+        AtomicInteger paints = new AtomicInteger();
+        BandedPageImage victim = new BandedPageImage(WIDTH, HEIGHT,
+                ImageColorType.GRAY_SCALE.createBufferedImage(WIDTH, 20), g -> {
+                    paints.incrementAndGet();
+                    PAINTER.accept(g);
+                });
+        for (int row = 0; row < HEIGHT; row++) {
+            victim.getData(new Rectangle(0, row, WIDTH, 1));
+        }
+        assertEquals(victim.getNumYTiles(), paints.get());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void invalidTile() {
+        new BandedPageImage(WIDTH, HEIGHT, ImageColorType.GRAY_SCALE.createBufferedImage(WIDTH, 20), PAINTER)
+                .getTile(0, 6);
+    }
+
+    private static BufferedImage fullPage(ImageColorType type) {
+        BufferedImage image = type.createBufferedImage(WIDTH, HEIGHT);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, WIDTH, HEIGHT);
+        PAINTER.accept(g);
+        g.dispose();
+        return image;
+    }
+
+    private static void assertSameData(Raster expected, Raster actual) {
+        assertEquals(expected.getBounds(), actual.getBounds());
+        assertArrayEquals(
+                expected.getPixels(expected.getMinX(), expected.getMinY(), expected.getWidth(), expected.getHeight(),
+                        (int[]) null),
+                actual.getPixels(actual.getMinX(), actual.getMinY(), actual.getWidth(), actual.getHeight(),
+                        (int[]) null));
+    }
+}
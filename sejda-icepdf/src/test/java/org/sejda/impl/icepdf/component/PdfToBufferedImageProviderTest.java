@@ -0,0 +1,154 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.icepdf.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyFloat;
+import static org.mockito.Matchers.anyInt;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.awt.Color;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.awt.image.RenderedImage;
+import java.util.function.Consumer;
+
+import org.icepdf.core.pobjects.Document;
+import org.icepdf.core.pobjects.PDimension;
+import org.icepdf.core.pobjects.Page;
+import org.icepdf.core.pobjects.PageTree;
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.model.image.ImageColorType;
+import org.sejda.model.parameter.image.PdfToImageParameters;
+
+/**
+ * @author agent
+ *
+ */
+public class PdfToBufferedImageProviderTest {
+
+    private static final int WIDTH = 50;
+    private static final int HEIGHT = 40;
+
+    private Document document = mock(Document.class);
+    private PageTree pages = mock(PageTree.class);
+    private Page page = mock(Page.class);
+    private PdfToImageParameters parameters = mock(PdfToImageParameters.class);
+    private PdfToBufferedImageProvider victim = new PdfToBufferedImageProvider();
+
+    @Before
+    public void setUp() {
+        when(document.getPageTree()).thenReturn(pages);
+        when(pages.getPage(anyInt())).thenReturn(page);
+        when(parameters.getUserZoom()).thenReturn(1f);
+        when(parameters.getOutputImageColorType()).thenReturn(ImageColorType.COLOR_RGB);
+        pageSize(WIDTH, HEIGHT);
+    }
+
+    @Test
+    public void pooledImageClearedBetweenPages() {
+        painting(g -> {
+            g.setColor(Color.BLACK);
+            g.fillRect(0, 0, WIDTH, HEIGHT);
+        });
+        BufferedImage first = (BufferedImage) victim.toRenderedImage(document, 0, parameters);
+        assertEquals(Color.BLACK.getRGB(), first.getRGB(10, 10));
+        painting(g -> {
+            // blank page
+        });
+        BufferedImage second = (BufferedImage) victim.toRenderedImage(document, 1, parameters);
+        assertSame(first, second);
+        assertEquals(Color.WHITE.getRGB(), second.getRGB(10, 10));
+    }
+
+    @Test
+    public void reallocatedWhenSizeChanges() {
+        RenderedImage first = victim.toRenderedImage(document, 0, parameters);
+        assertSame(first, victim.toRenderedImage(document, 1, parameters));
+        pageSize(WIDTH + 10, HEIGHT);
+        RenderedImage second = victim.toRenderedImage(document, 2, parameters);
+        assertNotSame(first, second);
+        assertEquals(WIDTH + 10, second.getWidth());
+        assertEquals(HEIGHT, second.getHeight());
+    }
+
+    @Test
+    public void reallocatedWhenColorTypeChanges() {
+        BufferedImage first = (BufferedImage) victim.toRenderedImage(document, 0, parameters);
+        when(parameters.getOutputImageColorType()).thenReturn(ImageColorType.GRAY_SCALE);
+        BufferedImage second = (BufferedImage) victim.toRenderedImage(document, 1, parameters);
+        assertNotSame(first, second);
+        assertEquals(ImageColorType.GRAY_SCALE.getBufferedImageType(), second.getType());
+    }
+
+    @Test
+    public void bandedAboveThreshold() {
+        long pageBytes = WIDTH * 4L * HEIGHT;
+        painting(g -> {
+            g.setColor(Color.RED);
+            g.fillRect(0, 25, WIDTH, 10);
+        });
+        victim = new PdfToBufferedImageProvider(pageBytes, WIDTH * 4L * 10);
+        assertTrue(victim.toRenderedImage(document, 0, parameters, true) instanceof BufferedImage);
+        victim = new PdfToBufferedImageProvider(pageBytes - 1, WIDTH * 4L * 10);
+        RenderedImage banded = victim.toRenderedImage(document, 0, parameters, true);
+        assertFalse(banded instanceof BufferedImage);
+        assertEquals(WIDTH, banded.getWidth());
+        assertEquals(HEIGHT, banded.getHeight());
+        assertEquals(4, banded.getNumYTiles());
+        int[] pixel = banded.getData().getPixel(10, 30, (int[]) null);
+        assertEquals(255, pixel[0]);
+        assertEquals(0, pixel[1]);
+        assertEquals(0, pixel[2]);
+        pixel = banded.getData().getPixel(10, 5, (int[]) null);
+        assertEquals(255, pixel[1]);
+    }
+
+    @Test
+    public void notBandedIfNotAllowed() {
+        victim = new PdfToBufferedImageProvider(1, WIDTH * 4L * 10);
+        assertTrue(victim.toRenderedImage(document, 0, parameters, false) instanceof BufferedImage);
+        assertTrue(victim.toRenderedImage(document, 0, parameters) instanceof BufferedImage);
+    }
+
+    @Test
+    public void notBandedByDefault() {
+        assertTrue(victim.toRenderedImage(document, 0, parameters, true) instanceof BufferedImage);
+    }
+
+    private void pageSize(int width, int height) {
+        when(page.getSize(anyFloat(), anyFloat())).thenReturn(new PDimension(width, height));
+    }
+
+    private void painting(Consumer<Graphics2D> painter) {
+        doAnswer(i -> {
+            painter.accept((Graphics2D) i.getArguments()[0]);
+            return null;
+        }).when(page).paint(any(Graphics.class), anyInt(), anyInt(), anyFloat(), anyFloat());
+    }
+}
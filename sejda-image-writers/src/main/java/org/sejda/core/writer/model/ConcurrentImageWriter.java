@@ -0,0 +1,59 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.model;
+
+import java.awt.image.RenderedImage;
+
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.parameter.image.PdfToImageParameters;
+
+/**
+ * An {@link ImageWriter} writing multiple images into the same image file where the encoding of the images, usually the expensive part, can be performed concurrently by multiple
+ * threads. Encoded images are written to the destination in the order {@link #writeEncoded(byte[], PdfToImageParameters)} is called.
+ *
+ * @param <T>
+ * @author agent
+ *
+ */
+public interface ConcurrentImageWriter<T extends PdfToImageParameters> extends ImageWriter<T> {
+
+    /**
+     * Encodes the given image so that it can later be written using {@link #writeEncoded(byte[], PdfToImageParameters)}. This method is thread safe and it doesn't require the
+     * destination to be open.
+     *
+     * @param image
+     *            image to encode.
+     * @param params
+     *            task parameter instance.
+     * @return the encoded image
+     * @throws TaskIOException
+     */
+    byte[] encode(RenderedImage image, T params) throws TaskIOException;
+
+    /**
+     * Writes the given image, previously encoded by this writer, to the opened destination.
+     *
+     * @param encoded
+     *            the encoded image
+     * @param params
+     *            task parameter instance.
+     * @throws TaskIOException
+     */
+    void writeEncoded(byte[] encoded, T params) throws TaskIOException;
+}
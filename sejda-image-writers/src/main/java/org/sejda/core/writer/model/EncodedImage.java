@@ -0,0 +1,152 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.model;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * An encoded image, either held in memory or, when too big, written to a temporary file. Temporary files are not deleted on exit, the owner of the image has to
+ * {@link #delete()} it once done.
+ * 
+ * @author agent
+ *
+ */
+public final class EncodedImage {
+
+    private static final Logger LOG = LoggerFactory.getLogger(EncodedImage.class);
+
+    private final byte[] bytes;
+    private final File file;
+    private final int width;
+    private final int height;
+
+    private EncodedImage(byte[] bytes, File file, int width, int height) {
+        this.bytes = bytes;
+        this.file = file;
+        this.width = width;
+        this.height = height;
+    }
+
+    static EncodedImage inMemory(byte[] bytes, int width, int height) {
+        return new EncodedImage(bytes, null, width, height);
+    }
+
+    static EncodedImage onDisk(File file, int width, int height) {
+        return new EncodedImage(null, file, width, height);
+    }
+
+    /**
+     * @return true if the image is held in memory
+     */
+    public boolean isInMemory() {
+        return bytes != null;
+    }
+
+    /**
+     * @return the file the image is written to or null if the image is held in memory
+     */
+    public File getFile() {
+        return file;
+    }
+
+    /**
+     * @return the encoded image bytes. For images written to a file, the file is read.
+     * @throws IOException
+     */
+    public byte[] getBytes() throws IOException {
+        if (isInMemory()) {
+            return bytes;
+        }
+        return Files.readAllBytes(file.toPath());
+    }
+
+    /**
+     * @return a new stream to read the encoded image
+     * @throws IOException
+     */
+    public InputStream openStream() throws IOException {
+        if (isInMemory()) {
+            return new ByteArrayInputStream(bytes);
+        }
+        return new FileInputStream(file);
+    }
+
+    /**
+     * @return the size in bytes of the encoded image
+     */
+    public long length() {
+        if (isInMemory()) {
+            return bytes.length;
+        }
+        return file.length();
+    }
+
+    /**
+     * @return the width in pixels of the image
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * @return the height in pixels of the image
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * @return this image if it's already written to a file, otherwise a new image with the same content written to a temporary file
+     * @throws IOException
+     */
+    public EncodedImage spill() throws IOException {
+        if (!isInMemory()) {
+            return this;
+        }
+        EncodedImage spilled = onDisk(File.createTempFile("pdfimage", ".jpeg"), width, height);
+        try {
+            Files.write(spilled.file.toPath(), bytes);
+        } catch (IOException | RuntimeException e) {
+            spilled.delete();
+            throw e;
+        }
+        return spilled;
+    }
+
+    /**
+     * Deletes the file the image is written to, if any
+     */
+    public void delete() {
+        if (!isInMemory()) {
+            try {
+                Files.deleteIfExists(file.toPath());
+            } catch (IOException e) {
+                LOG.warn("Unable to delete temporary image file " + file, e);
+            }
+        }
+    }
+}
@@ -2,9 +2,12 @@ package org.sejda.core.writer.model;
 
 import java.awt.Color;
 import java.awt.image.BufferedImage;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
 
 import javax.imageio.IIOImage;
 import javax.imageio.ImageIO;
@@ -13,6 +16,7 @@ import javax.imageio.ImageTypeSpecifier;
 import javax.imageio.metadata.IIOMetadata;
 import javax.imageio.plugins.jpeg.JPEGImageWriteParam;
 import javax.imageio.stream.ImageOutputStream;
+import javax.imageio.stream.MemoryCacheImageOutputStream;
 
 import org.apache.commons.io.IOUtils;
 import org.imgscalr.Scalr;
@@ -24,6 +28,14 @@ public class ImageOptimizer {
 
     private static final Logger LOG = LoggerFactory.getLogger(ImageOptimizer.class);
 
+    /**
+     * System property to set the default size in bytes under which an optimized image is kept in memory instead of being written to a temporary file
+     */
+    public static final String IN_MEMORY_THRESHOLD_PROPERTY = "sejda.image.optimizer.memory.threshold";
+    public static final int DEFAULT_IN_MEMORY_THRESHOLD = Integer.getInteger(IN_MEMORY_THRESHOLD_PROPERTY, 1024 * 1024);
+
+    private static final ThreadLocal<ReusableBuffer> BUFFERS = ThreadLocal.withInitial(ReusableBuffer::new);
+
     /**
      * Takes an image and creates an optimized version of it.
      *
@@ -35,7 +47,55 @@ public class ImageOptimizer {
         File outputFile = File.createTempFile("pdfimage", ".jpeg");
         outputFile.deleteOnExit();
         FileOutputStream fos = new FileOutputStream(outputFile);
+        try {
+            ImageOutputStream ios = ImageIO.createImageOutputStream(fos);
+            encode(bufferedImage, quality, dpi, width, height, ios);
+            return outputFile;
+        } finally {
+            IOUtils.closeQuietly(fos);
+        }
+    }
+
+    /**
+     * Same as {@link #optimize(BufferedImage, float, int, int, int)} but the optimized image is encoded in memory, using a per thread reusable buffer. Only if the encoded image
+     * exceeds the given threshold, it's written to a temporary file. The temporary file is not deleted on exit, it's up to the caller to {@link EncodedImage#delete()} it.
+     * 
+     * @param inMemoryThreshold
+     *            max size in bytes of an optimized image kept in memory
+     * @return the encoded image
+     */
+    public static EncodedImage optimize(BufferedImage bufferedImage, float quality, int dpi, int width, int height,
+            int inMemoryThreshold) throws IOException {
+        ReusableBuffer buffer = BUFFERS.get();
+        buffer.reset();
+        SpillingOutputStream out = new SpillingOutputStream(buffer, inMemoryThreshold);
+        EncodedImage result = null;
+        try {
+            BufferedImage encoded = encode(bufferedImage, quality, dpi, width, height,
+                    new MemoryCacheImageOutputStream(out));
+            if (out.file == null) {
+                result = EncodedImage.inMemory(buffer.toByteArray(), encoded.getWidth(), encoded.getHeight());
+            } else {
+                LOG.debug("Optimized image exceeds the in memory threshold, written to {}", out.file);
+                result = EncodedImage.onDisk(out.file, encoded.getWidth(), encoded.getHeight());
+            }
+            return result;
+        } finally {
+            IOUtils.closeQuietly(out);
+            buffer.reset();
+            if (result == null) {
+                out.discard();
+            }
+        }
+    }
 
+    /**
+     * Encodes the image to the given stream, closing it
+     * 
+     * @return the encoded image
+     */
+    private static BufferedImage encode(BufferedImage bufferedImage, float quality, int dpi, int width, int height,
+            ImageOutputStream ios) throws IOException {
         try {
             int relevantDelta = 20;
             boolean isResizeRelevant = Math.abs(bufferedImage.getWidth() - width) > relevantDelta && Math.abs(bufferedImage.getHeight() - height) > relevantDelta;
@@ -53,7 +113,6 @@ public class ImageOptimizer {
             imageRGB.createGraphics().drawImage(bufferedImage, 0, 0, Color.WHITE, null);
 
             ImageWriter imageWriter = ImageIO.getImageWritersBySuffix("jpeg").next();
-            ImageOutputStream ios = ImageIO.createImageOutputStream(fos);
             imageWriter.setOutput(ios);
 
             IIOMetadata imageMetaData = null;
@@ -75,14 +134,81 @@ public class ImageOptimizer {
             try {
                 imageWriter.write(imageMetaData, new IIOImage(imageRGB, null, null), jpegParams);
             } finally {
-                IOUtils.closeQuietly(ios);
                 imageWriter.dispose();
             }
 
-            return outputFile;
+            return imageRGB;
         } finally {
-            IOUtils.closeQuietly(fos);
+            IOUtils.closeQuietly(ios);
             bufferedImage.flush();
         }
     }
+
+    /**
+     * A {@link ByteArrayOutputStream} meant to be reused by the encodings performed on the same thread, so that its internal array is allocated and grown only once. Images that
+     * fit in memory are copied out of it once, to the exact size, and images exceeding the threshold are written from it to the temporary file without any copy.
+     */
+    private static class ReusableBuffer extends ByteArrayOutputStream {
+        ReusableBuffer() {
+            super(64 * 1024);
+        }
+    }
+
+    /**
+     * Output stream writing to the given buffer until the given threshold is reached, then moving the content to a temporary file and writing there
+     */
+    private static class SpillingOutputStream extends OutputStream {
+        private final ReusableBuffer buffer;
+        private final int threshold;
+        private File file;
+        private OutputStream fileStream;
+
+        SpillingOutputStream(ReusableBuffer buffer, int threshold) {
+            this.buffer = buffer;
+            this.threshold = threshold;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[] { (byte) b }, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            if (fileStream == null && buffer.size() + len > threshold) {
+                file = File.createTempFile("pdfimage", ".jpeg");
+                fileStream = new BufferedOutputStream(new FileOutputStream(file));
+                buffer.writeTo(fileStream);
+                buffer.reset();
+            }
+            if (fileStream != null) {
+                fileStream.write(b, off, len);
+            } else {
+                buffer.write(b, off, len);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (fileStream != null) {
+                fileStream.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (fileStream != null) {
+                fileStream.close();
+            }
+        }
+
+        /**
+         * Deletes the temporary file, if the content was moved to one. Must be called after closing the stream.
+         */
+        void discard() {
+            if (file != null && file.exists() && !file.delete()) {
+                LOG.warn("Unable to delete temporary image file {}", file);
+            }
+        }
+    }
 }
@@ -90,6 +90,15 @@ public interface ImageWriter<T extends PdfToImageParameters> extends Closeable {
      */
     boolean supportMultiImage();
 
+    /**
+     * 
+     * @return true if the writer reads the image a strip or a tile at a time instead of its whole raster, so that an image painted on demand in bands can be written without
+     *         being painted in full.
+     */
+    default boolean supportsBandedImages() {
+        return false;
+    }
+
     /**
      * Builder interface for an {@link ImageWriter}.
      * 
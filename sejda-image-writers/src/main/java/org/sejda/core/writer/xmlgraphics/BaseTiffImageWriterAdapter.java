@@ -70,4 +70,12 @@ abstract class BaseTiffImageWriterAdapter<T extends PdfToImageParameters> extend
         }
         return imageWriterParams;
     }
+
+    /**
+     * The TIFF encoder reads the image one strip at a time
+     */
+    @Override
+    public boolean supportsBandedImages() {
+        return true;
+    }
 }
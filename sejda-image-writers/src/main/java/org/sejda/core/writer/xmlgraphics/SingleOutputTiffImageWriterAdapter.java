@@ -20,26 +20,31 @@
 package org.sejda.core.writer.xmlgraphics;
 
 import java.awt.image.RenderedImage;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
 
 import org.apache.xmlgraphics.image.writer.ImageWriterParams;
-import org.apache.xmlgraphics.image.writer.MultiImageWriter;
 import org.apache.xmlgraphics.image.writer.internal.TIFFImageWriter;
+import org.sejda.core.writer.model.ConcurrentImageWriter;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.parameter.image.PdfToSingleTiffParameters;
 
 /**
  * Adapts the xmlgraphics Tiff writer implementation to the Sejda {@link org.sejda.core.writer.model.ImageWriter} interface. This writer is capable of writing multiple images into
  * a single output image.
+ * <p>
+ * Every image is encoded as a single page TIFF, possibly concurrently, and encoded pages are then appended to the multi-page output TIFF in the order they are written.
+ * </p>
  * 
  * @author Andrea Vacondio
  * 
  */
 // PMD reports a false positive on this class (https://sourceforge.net/tracker/?func=detail&aid=3110548&group_id=56262&atid=479921)
-final class SingleOutputTiffImageWriterAdapter extends BaseTiffImageWriterAdapter<PdfToSingleTiffParameters> {
+final class SingleOutputTiffImageWriterAdapter extends BaseTiffImageWriterAdapter<PdfToSingleTiffParameters>
+        implements ConcurrentImageWriter<PdfToSingleTiffParameters> {
 
-    private MultiImageWriter adaptedWriter = null;
+    private TiffPagesConcatenator pages = null;
 
     private SingleOutputTiffImageWriterAdapter() {
         // hide, constructed using builder
@@ -48,25 +53,39 @@ final class SingleOutputTiffImageWriterAdapter extends BaseTiffImageWriterAdapte
     @Override
     public void openWriteDestination(OutputStream destination, PdfToSingleTiffParameters params) throws TaskIOException {
         setOutputStream(destination);
+        pages = new TiffPagesConcatenator(destination);
+    }
+
+    @Override
+    public void write(RenderedImage image, PdfToSingleTiffParameters params) throws TaskIOException {
+        if (pages == null || getOutputDestination() == null) {
+            throw new TaskIOException("Cannot call write before opening the write destination");
+        }
+        writeEncoded(encode(image, params), params);
+    }
+
+    @Override
+    public byte[] encode(RenderedImage image, PdfToSingleTiffParameters params) throws TaskIOException {
+        ImageWriterParams imageWriterParams = newImageWriterParams(params, params.getCompressionType());
+        ByteArrayOutputStream page = new ByteArrayOutputStream();
         try {
-            adaptedWriter = new TIFFImageWriter().createMultiImageWriter(destination);
+            new TIFFImageWriter().writeImage(image, page, imageWriterParams);
         } catch (IOException e) {
             throw new TaskIOException(e);
         }
+        return page.toByteArray();
     }
 
     @Override
-    public void write(RenderedImage image, PdfToSingleTiffParameters params) throws TaskIOException {
-        if (adaptedWriter == null || getOutputDestination() == null) {
+    public void writeEncoded(byte[] encoded, PdfToSingleTiffParameters params) throws TaskIOException {
+        if (pages == null || getOutputDestination() == null) {
             throw new TaskIOException("Cannot call write before opening the write destination");
         }
-        ImageWriterParams imageWriterParams = newImageWriterParams(params, params.getCompressionType());
         try {
-            adaptedWriter.writeImage(image, imageWriterParams);
+            pages.append(encoded);
         } catch (IOException e) {
             throw new TaskIOException(e);
         }
-
     }
 
     @Override
@@ -77,7 +96,7 @@ final class SingleOutputTiffImageWriterAdapter extends BaseTiffImageWriterAdapte
     @Override
     public void closeDestination() throws TaskIOException {
         try {
-            nullSafeCloseMultiImageWriter();
+            finishPages();
         } catch (IOException e) {
             throw new TaskIOException(e);
         }
@@ -85,14 +104,15 @@ final class SingleOutputTiffImageWriterAdapter extends BaseTiffImageWriterAdapte
 
     @Override
     public void close() throws IOException {
-        nullSafeCloseMultiImageWriter();
-        adaptedWriter = null;
+        finishPages();
         super.close();
     }
 
-    private void nullSafeCloseMultiImageWriter() throws IOException {
-        if (adaptedWriter != null) {
-            adaptedWriter.close();
+    private void finishPages() throws IOException {
+        if (pages != null) {
+            TiffPagesConcatenator current = pages;
+            pages = null;
+            current.finish();
         }
     }
 
@@ -0,0 +1,213 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.xmlgraphics;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Writes a sequence of single TIFF files as a single multi-page TIFF to an output stream. Every TIFF is appended, without its header, after the previous one, offsets are relocated
+ * and the last IFD of each TIFF is linked to the first IFD of the following one. Only the last appended TIFF is kept in memory, waiting for the next one to be linked to it.
+ * <p>
+ * TIFFs containing sub IFDs (Ex. EXIF or GPS IFDs) are not supported.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+class TiffPagesConcatenator {
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int ENTRY_LENGTH = 12;
+    private static final long MAX_OFFSET = 0xFFFFFFFFL;
+    private static final int SHORT = 3;
+    private static final int LONG = 4;
+    // StripOffsets, FreeOffsets, TileOffsets, JPEGInterchangeFormat, JPEGQTables, JPEGDCTables, JPEGACTables
+    private static final Set<Integer> OFFSET_TAGS = new HashSet<>(Arrays.asList(273, 288, 324, 513, 519, 520, 521));
+    // SubIFDs, Exif IFD, GPS IFD, Interoperability IFD
+    private static final Set<Integer> IFD_TAGS = new HashSet<>(Arrays.asList(330, 34665, 34853, 40965));
+    // sizes in bytes of the TIFF field types
+    private static final int[] TYPE_SIZES = { 0, 1, 1, 2, 4, 8, 1, 1, 2, 4, 8, 4, 8, 4 };
+
+    private final OutputStream out;
+    private ByteOrder order;
+    private long position;
+    private ByteBuffer pending;
+    private int pendingNextIfd;
+
+    TiffPagesConcatenator(OutputStream out) {
+        this.out = out;
+    }
+
+    /**
+     * Appends the given TIFF file
+     *
+     * @param tiff
+     * @throws IOException
+     */
+    void append(byte[] tiff) throws IOException {
+        try {
+            ByteBuffer source = ByteBuffer.wrap(tiff).order(byteOrder(tiff));
+            if (isNull(order)) {
+                order = source.order();
+                position = HEADER_LENGTH;
+            } else if (order != source.order()) {
+                throw new IOException("Unable to append a TIFF with a different byte order");
+            }
+            // appended TIFFs begin on a word boundary so that IFDs do as well
+            long start = position;
+            if (nonNull(pending)) {
+                start = wordAligned(start) + pending.capacity();
+            }
+            start = wordAligned(start);
+            long delta = start - HEADER_LENGTH;
+            if (start + tiff.length > MAX_OFFSET) {
+                throw new IOException("TIFF exceeds the maximum size");
+            }
+            long firstIfd = unsignedInt(source, 4) + delta;
+            if (isNull(pending)) {
+                ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).order(order);
+                header.put(tiff, 0, 4).putInt((int) firstIfd);
+                out.write(header.array());
+            } else {
+                pending.putInt(pendingNextIfd, (int) firstIfd);
+                flushPending();
+            }
+            pending = relocate(source, delta);
+        } catch (IndexOutOfBoundsException e) {
+            throw new IOException("Invalid TIFF", e);
+        }
+    }
+
+    private static ByteOrder byteOrder(byte[] tiff) throws IOException {
+        if (tiff.length < HEADER_LENGTH) {
+            throw new IOException("Invalid TIFF header");
+        }
+        if (tiff[0] == 'I' && tiff[1] == 'I') {
+            return ByteOrder.LITTLE_ENDIAN;
+        }
+        if (tiff[0] == 'M' && tiff[1] == 'M') {
+            return ByteOrder.BIG_ENDIAN;
+        }
+        throw new IOException("Invalid TIFF header");
+    }
+
+    /**
+     * @return a copy of the given TIFF without the header and with offsets relocated by the given delta
+     * @throws IOException
+     */
+    private ByteBuffer relocate(ByteBuffer source, long delta) throws IOException {
+        ByteBuffer target = ByteBuffer.allocate(source.capacity() - HEADER_LENGTH).order(order);
+        target.put(source.array(), HEADER_LENGTH, target.capacity());
+        Set<Long> visited = new HashSet<>();
+        long ifd = unsignedInt(source, 4);
+        while (ifd != 0) {
+            if (!visited.add(ifd)) {
+                throw new IOException("Invalid TIFF, circular IFDs chain");
+            }
+            int index = (int) (ifd - HEADER_LENGTH);
+            int entries = unsignedShort(target, index);
+            for (int i = 0; i < entries; i++) {
+                relocateEntry(target, index + 2 + i * ENTRY_LENGTH, delta);
+            }
+            pendingNextIfd = index + 2 + entries * ENTRY_LENGTH;
+            ifd = unsignedInt(target, pendingNextIfd);
+            if (ifd != 0) {
+                target.putInt(pendingNextIfd, (int) (ifd + delta));
+            }
+        }
+        return target;
+    }
+
+    private static void relocateEntry(ByteBuffer target, int entry, long delta) throws IOException {
+        int tag = unsignedShort(target, entry);
+        int type = unsignedShort(target, entry + 2);
+        long count = unsignedInt(target, entry + 4);
+        if (IFD_TAGS.contains(tag)) {
+            throw new IOException("Unsupported TIFF tag " + tag);
+        }
+        if (type >= TYPE_SIZES.length || TYPE_SIZES[type] == 0) {
+            throw new IOException("Unsupported TIFF field type " + type);
+        }
+        int values = entry + 8;
+        if (count * TYPE_SIZES[type] > 4) {
+            long offset = unsignedInt(target, values);
+            target.putInt(values, (int) (offset + delta));
+            values = (int) (offset - HEADER_LENGTH);
+        }
+        if (OFFSET_TAGS.contains(tag)) {
+            for (int i = 0; i < count; i++) {
+                if (type == SHORT) {
+                    long value = unsignedShort(target, values + i * 2) + delta;
+                    if (value > 0xFFFF) {
+                        throw new IOException("Unable to relocate a short offset");
+                    }
+                    target.putShort(values + i * 2, (short) value);
+                } else if (type == LONG) {
+                    target.putInt(values + i * 4, (int) (unsignedInt(target, values + i * 4) + delta));
+                } else {
+                    throw new IOException("Unsupported offset field type " + type);
+                }
+            }
+        }
+    }
+
+    private void flushPending() throws IOException {
+        if (position % 2 != 0) {
+            out.write(0);
+            position++;
+        }
+        out.write(pending.array());
+        position += pending.capacity();
+        pending = null;
+    }
+
+    /**
+     * Writes the last appended TIFF
+     *
+     * @throws IOException
+     */
+    void finish() throws IOException {
+        if (nonNull(pending)) {
+            pending.putInt(pendingNextIfd, 0);
+            flushPending();
+        }
+        out.flush();
+    }
+
+    private static long wordAligned(long position) {
+        return position + position % 2;
+    }
+
+    private static int unsignedShort(ByteBuffer buffer, int index) {
+        return buffer.getShort(index) & 0xFFFF;
+    }
+
+    private static long unsignedInt(ByteBuffer buffer, int index) {
+        return buffer.getInt(index) & MAX_OFFSET;
+    }
+}
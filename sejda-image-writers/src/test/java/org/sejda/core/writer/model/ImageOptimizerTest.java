@@ -0,0 +1,97 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.model;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author agent
+ *
+ */
+public class ImageOptimizerTest {
+
+    private BufferedImage image;
+
+    @Before
+    public void setUp() {
+        image = new BufferedImage(400, 300, BufferedImage.TYPE_INT_RGB);
+        for (int x = 0; x < image.getWidth(); x++) {
+            for (int y = 0; y < image.getHeight(); y++) {
+                image.setRGB(x, y, (x * y * 7919) & 0xFFFFFF);
+            }
+        }
+    }
+
+    @Test
+    public void inMemory() throws IOException {
+        EncodedImage result = ImageOptimizer.optimize(image, 0.8f, 72, 200, 150, 1024 * 1024);
+        assertTrue(result.isInMemory());
+        assertNull(result.getFile());
+        assertEquals(200, result.getWidth());
+        assertEquals(150, result.getHeight());
+        assertEquals(result.length(), result.getBytes().length);
+    }
+
+    @Test
+    public void aboveThreshold() throws IOException {
+        EncodedImage result = ImageOptimizer.optimize(image, 0.8f, 72, 200, 150, 10);
+        assertFalse(result.isInMemory());
+        assertTrue(result.getFile().exists());
+        assertEquals(result.getFile().length(), result.length());
+        result.delete();
+        assertFalse(result.getFile().exists());
+    }
+
+    @Test
+    public void spill() throws IOException {
+        EncodedImage inMemory = ImageOptimizer.optimize(image, 0.8f, 72, 200, 150, 1024 * 1024);
+        EncodedImage spilled = inMemory.spill();
+        assertFalse(spilled.isInMemory());
+        assertTrue(spilled.getFile().exists());
+        assertEquals(inMemory.getWidth(), spilled.getWidth());
+        assertEquals(inMemory.getHeight(), spilled.getHeight());
+        assertArrayEquals(inMemory.getBytes(), spilled.getBytes());
+        assertSame(spilled, spilled.spill());
+        spilled.delete();
+    }
+
+    @Test
+    public void sameResultAsFile() throws IOException {
+        File file = ImageOptimizer.optimize(image, 0.8f, 72, 200, 150);
+        EncodedImage inMemory = ImageOptimizer.optimize(image, 0.8f, 72, 200, 150, 1024 * 1024);
+        EncodedImage onDisk = ImageOptimizer.optimize(image, 0.8f, 72, 200, 150, 10);
+        assertArrayEquals(Files.readAllBytes(file.toPath()), inMemory.getBytes());
+        assertArrayEquals(inMemory.getBytes(), onDisk.getBytes());
+        file.delete();
+        onDisk.delete();
+    }
+}
@@ -19,6 +19,7 @@
  */
 package org.sejda.core.writer.xmlgraphics;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.verify;
@@ -30,6 +31,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -109,4 +119,37 @@ public class SingleOutputTiffImageWriterAdapterTest {
         assertTrue(result.getHeight() > 0);
         assertTrue(result.getWidth() > 0);
     }
+
+    @Test
+    public void writeEncodedConcurrently() throws Exception {
+        SingleOutputTiffImageWriterAdapter writer = new SingleOutputTiffImageWriterAdapterBuilder().build();
+        PdfToSingleTiffParameters params = new PdfToSingleTiffParameters(ImageColorType.GRAY_SCALE);
+        RenderedImage image = ImageTestUtils
+                .loadImage(getClass().getClassLoader().getResourceAsStream("image/test.tiff"), "test.tiff");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        List<Future<byte[]>> pages = new ArrayList<>();
+        try {
+            for (int i = 0; i < 8; i++) {
+                pages.add(executor.submit(() -> writer.encode(image, params)));
+            }
+            File destination = File.createTempFile("test", ".tmp");
+            destination.deleteOnExit();
+            writer.openWriteDestination(destination, params);
+            for (Future<byte[]> page : pages) {
+                writer.writeEncoded(page.get(), params);
+            }
+            writer.closeDestination();
+            writer.close();
+            try (ImageInputStream input = ImageIO.createImageInputStream(destination)) {
+                ImageReader reader = ImageIO.getImageReaders(input).next();
+                reader.setInput(input);
+                assertEquals(8, reader.getNumImages(true));
+                assertEquals(image.getWidth(), reader.getWidth(7));
+                assertEquals(image.getHeight(), reader.getHeight(7));
+                reader.dispose();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,109 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.core.writer.xmlgraphics;
+
+import static org.junit.Assert.assertEquals;
+
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+
+import org.apache.xmlgraphics.image.writer.ImageWriterParams;
+import org.apache.xmlgraphics.image.writer.internal.TIFFImageWriter;
+import org.junit.Test;
+
+/**
+ * @author agent
+ *
+ */
+public class TiffPagesConcatenatorTest {
+
+    @Test
+    public void concatenate() throws IOException {
+        List<BufferedImage> images = Arrays.asList(image(101, 77, BufferedImage.TYPE_INT_RGB),
+                image(33, 301, BufferedImage.TYPE_BYTE_GRAY), image(517, 203, BufferedImage.TYPE_BYTE_BINARY),
+                image(17, 9, BufferedImage.TYPE_INT_RGB));
+        List<String> compressions = Arrays.asList("Deflate", "PackBits", "NONE", "Deflate");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TiffPagesConcatenator victim = new TiffPagesConcatenator(out);
+        for (int i = 0; i < images.size(); i++) {
+            victim.append(tiff(images.get(i), compressions.get(i)));
+        }
+        victim.finish();
+
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            ImageReader reader = ImageIO.getImageReaders(input).next();
+            reader.setInput(input);
+            assertEquals(images.size(), reader.getNumImages(true));
+            for (int i = 0; i < images.size(); i++) {
+                BufferedImage expected = images.get(i);
+                BufferedImage result = reader.read(i);
+                assertEquals(expected.getWidth(), result.getWidth());
+                assertEquals(expected.getHeight(), result.getHeight());
+                for (int y = 0; y < expected.getHeight(); y++) {
+                    for (int x = 0; x < expected.getWidth(); x++) {
+                        assertEquals(expected.getRGB(x, y), result.getRGB(x, y));
+                    }
+                }
+            }
+            reader.dispose();
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidTiff() throws IOException {
+        new TiffPagesConcatenator(new ByteArrayOutputStream()).append("chuck norris".getBytes());
+    }
+
+    @Test(expected = IOException.class)
+    public void truncatedTiff() throws IOException {
+        byte[] tiff = tiff(image(20, 20, BufferedImage.TYPE_INT_RGB), "NONE");
+        new TiffPagesConcatenator(new ByteArrayOutputStream()).append(Arrays.copyOf(tiff, 12));
+    }
+
+    private static BufferedImage image(int width, int height, int type) {
+        BufferedImage image = new BufferedImage(width, height, type);
+        Graphics2D g = image.createGraphics();
+        g.setColor(Color.WHITE);
+        g.fillRect(0, 0, width, height);
+        g.setColor(Color.RED);
+        g.fillRect(width / 4, height / 4, width / 2, height / 3);
+        g.setColor(Color.BLACK);
+        g.drawLine(0, 0, width, height);
+        g.dispose();
+        return image;
+    }
+
+    private static byte[] tiff(BufferedImage image, String compression) throws IOException {
+        ImageWriterParams params = new ImageWriterParams();
+        params.setCompressionMethod(compression);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TIFFImageWriter().writeImage(image, out, params);
+        return out.toByteArray();
+    }
+}
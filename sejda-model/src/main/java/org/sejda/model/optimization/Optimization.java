@@ -65,7 +65,11 @@ public enum Optimization implements FriendlyNamed {
     /**
      * PDF 32000-1:2008 12.3.4
      */
-    DISCARD_THUMBNAILS("discard_thumbnails");
+    DISCARD_THUMBNAILS("discard_thumbnails"),
+    /**
+     * Byte identical streams and identical fonts are written only once
+     */
+    DISCARD_DUPLICATED_STREAMS("discard_duplicated_streams");
 
     private String displayName;
 
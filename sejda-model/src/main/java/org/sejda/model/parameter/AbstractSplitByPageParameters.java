@@ -19,6 +19,7 @@
  */
 package org.sejda.model.parameter;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -26,6 +27,7 @@ import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.optimization.OptimizationPolicy;
 import org.sejda.model.parameter.base.DiscardableOutlineTaskParameters;
 import org.sejda.model.parameter.base.OptimizableOutputTaskParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceMultipleOutputParameters;
 import org.sejda.model.pdf.page.PagesSelection;
 
@@ -36,10 +38,13 @@ import org.sejda.model.pdf.page.PagesSelection;
  * 
  */
 public abstract class AbstractSplitByPageParameters extends SinglePdfSourceMultipleOutputParameters
-        implements PagesSelection, OptimizableOutputTaskParameters, DiscardableOutlineTaskParameters {
+        implements PagesSelection, OptimizableOutputTaskParameters, DiscardableOutlineTaskParameters,
+        ParallelizableTaskParameters {
     @NotNull
     private OptimizationPolicy optimizationPolicy = OptimizationPolicy.NO;
     private boolean discardOutline = false;
+    @Min(1)
+    private int parallelism = 1;
 
     @Override
     public OptimizationPolicy getOptimizationPolicy() {
@@ -61,10 +66,20 @@ public abstract class AbstractSplitByPageParameters extends SinglePdfSourceMulti
         this.discardOutline = discardOutline;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(optimizationPolicy).append(discardOutline)
-                .toHashCode();
+                .append(parallelism).toHashCode();
     }
 
     @Override
@@ -79,6 +94,7 @@ public abstract class AbstractSplitByPageParameters extends SinglePdfSourceMulti
         return new EqualsBuilder().appendSuper(super.equals(other))
                 .append(optimizationPolicy, parameter.optimizationPolicy)
                 .append(discardOutline, parameter.discardOutline)
+                .append(parallelism, parameter.parallelism)
                 .isEquals();
     }
 }
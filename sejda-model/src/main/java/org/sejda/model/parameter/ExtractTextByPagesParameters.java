@@ -23,10 +23,12 @@ import java.util.Collections;
 import java.util.Set;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.common.collection.NullSafeSet;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceMultipleOutputParameters;
 import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.pdf.page.PageRangeSelection;
@@ -42,12 +44,14 @@ import org.sejda.model.validation.constraint.NotEmpty;
  */
 @NoIntersections
 public class ExtractTextByPagesParameters extends SinglePdfSourceMultipleOutputParameters
-        implements PageRangeSelection, PagesSelection {
+        implements PageRangeSelection, PagesSelection, ParallelizableTaskParameters {
 
     @Valid
     private final Set<PageRange> pageSelection = new NullSafeSet<PageRange>();
     @NotEmpty
     private String textEncoding = "UTF-8";
+    @Min(1)
+    private int parallelism = 1;
 
     public String getTextEncoding() {
         return textEncoding;
@@ -57,6 +61,16 @@ public class ExtractTextByPagesParameters extends SinglePdfSourceMultipleOutputP
         this.textEncoding = textEncoding;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     /**
      * @return an unmodifiable view of the pageSelection
      */
@@ -94,7 +108,7 @@ public class ExtractTextByPagesParameters extends SinglePdfSourceMultipleOutputP
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(pageSelection).append(textEncoding)
-                .toHashCode();
+                .append(parallelism).toHashCode();
     }
 
     @Override
@@ -107,7 +121,8 @@ public class ExtractTextByPagesParameters extends SinglePdfSourceMultipleOutputP
         }
         ExtractTextByPagesParameters parameter = (ExtractTextByPagesParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(pageSelection, parameter.pageSelection)
-                .append(textEncoding, parameter.getTextEncoding()).isEquals();
+                .append(textEncoding, parameter.getTextEncoding()).append(parallelism, parameter.getParallelism())
+                .isEquals();
     }
 
 }
@@ -24,6 +24,7 @@ import java.util.Collections;
 import java.util.List;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -62,6 +63,9 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
     @NotNull
     private ToCPolicy tocPolicy = ToCPolicy.NONE;
     private boolean filenameFooter = false;
+    @Min(0)
+    private int prefetchSize = 0;
+    private boolean discardDuplicatedStreams = false;
 
     @Override
     public SingleTaskOutput<?> getOutput() {
@@ -157,11 +161,37 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
         this.filenameFooter = filenameFooter;
     }
 
+    public int getPrefetchSize() {
+        return prefetchSize;
+    }
+
+    /**
+     * Number of input documents opened and pre processed in background while the current one is merged. Default is 0, meaning documents are opened one after the other.
+     * 
+     * @param prefetchSize
+     */
+    public void setPrefetchSize(int prefetchSize) {
+        this.prefetchSize = prefetchSize;
+    }
+
+    public boolean isDiscardDuplicatedStreams() {
+        return discardDuplicatedStreams;
+    }
+
+    /**
+     * If true, byte identical streams and identical fonts coming from the merged documents (Ex. documents generated from the same template) are written only once
+     * 
+     * @param discardDuplicatedStreams
+     */
+    public void setDiscardDuplicatedStreams(boolean discardDuplicatedStreams) {
+        this.discardDuplicatedStreams = discardDuplicatedStreams;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(inputList).append(acroFormPolicy)
                 .append(blankPageIfOdd).append(outlinePolicy).append(tocPolicy).append(outputName)
-                .append(filenameFooter).toHashCode();
+                .append(filenameFooter).append(prefetchSize).append(discardDuplicatedStreams).toHashCode();
     }
 
     @Override
@@ -178,6 +208,7 @@ public class MergeParameters extends AbstractPdfOutputParameters implements Sing
                 .append(blankPageIfOdd, params.isBlankPageIfOdd())
                 .append(outlinePolicy, params.getOutlinePolicy())
                 .append(tocPolicy, params.getTableOfContentsPolicy()).append(outputName, params.getOutputName())
-                .append(filenameFooter, params.isFilenameFooter()).isEquals();
+                .append(filenameFooter, params.isFilenameFooter()).append(prefetchSize, params.getPrefetchSize())
+                .append(discardDuplicatedStreams, params.isDiscardDuplicatedStreams()).isEquals();
     }
 }
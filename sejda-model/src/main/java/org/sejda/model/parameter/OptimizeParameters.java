@@ -18,22 +18,28 @@ package org.sejda.model.parameter;
 
 import java.util.Set;
 
+import javax.validation.constraints.Min;
+
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.common.collection.NullSafeSet;
 import org.sejda.model.optimization.Optimization;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.validation.constraint.NotEmpty;
 
 /**
  * Parameters for the optimize task, which compresses images found in the PDF changing their DPI to 144 by default. Depending on JPG codecs found on the system, this might not work
  * as expected: PDF files containing images already compressed using better algorithms.
  */
-public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameters {
+public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameters
+        implements ParallelizableTaskParameters {
 
     private float imageQuality = 0.65f;
     private int imageDpi = 72;
     private int imageMinBytesSize = 0; // images under this threshold are not optimized
+    @Min(1)
+    private int parallelism = 1;
     @NotEmpty
     private Set<Optimization> optimizations = new NullSafeSet<>();
 
@@ -73,10 +79,20 @@ public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameter
         this.imageMinBytesSize = imageMinBytesSize;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(optimizations).append(imageQuality).append(imageMinBytesSize)
-                .toHashCode();
+                .append(parallelism).toHashCode();
     }
 
     @Override
@@ -92,6 +108,6 @@ public class OptimizeParameters extends MultiplePdfSourceMultipleOutputParameter
                 .append(getOptimizations(), parameter.getOptimizations())
                 .append(getImageQuality(), parameter.getImageQuality()).append(getImageDpi(), parameter.getImageDpi())
                 .append(getImageMinBytesSize(), parameter.getImageMinBytesSize())
-                .isEquals();
+                .append(getParallelism(), parameter.getParallelism()).isEquals();
     }
 }
@@ -28,6 +28,7 @@ import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.sejda.model.optimization.OptimizationPolicy;
 import org.sejda.model.parameter.base.DiscardableOutlineTaskParameters;
 import org.sejda.model.parameter.base.OptimizableOutputTaskParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.parameter.base.SinglePdfSourceMultipleOutputParameters;
 
 /**
@@ -37,7 +38,7 @@ import org.sejda.model.parameter.base.SinglePdfSourceMultipleOutputParameters;
  * 
  */
 public class SplitByOutlineLevelParameters extends SinglePdfSourceMultipleOutputParameters
-        implements OptimizableOutputTaskParameters, DiscardableOutlineTaskParameters {
+        implements OptimizableOutputTaskParameters, DiscardableOutlineTaskParameters, ParallelizableTaskParameters {
 
     @Min(1)
     private int levelToSplitAt;
@@ -45,6 +46,8 @@ public class SplitByOutlineLevelParameters extends SinglePdfSourceMultipleOutput
     @NotNull
     private OptimizationPolicy optimizationPolicy = OptimizationPolicy.NO;
     private boolean discardOutline = false;
+    @Min(1)
+    private int parallelism = 1;
 
     @Override
     public OptimizationPolicy getOptimizationPolicy() {
@@ -66,6 +69,16 @@ public class SplitByOutlineLevelParameters extends SinglePdfSourceMultipleOutput
         this.discardOutline = discardOutline;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     public SplitByOutlineLevelParameters(int levelToSplitAt) {
         this.levelToSplitAt = levelToSplitAt;
     }
@@ -91,7 +104,7 @@ public class SplitByOutlineLevelParameters extends SinglePdfSourceMultipleOutput
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(optimizationPolicy).append(discardOutline)
-                .append(levelToSplitAt)
+                .append(parallelism).append(levelToSplitAt)
                 .append(matchingTitleRegEx).toHashCode();
     }
 
@@ -107,6 +120,7 @@ public class SplitByOutlineLevelParameters extends SinglePdfSourceMultipleOutput
         return new EqualsBuilder().appendSuper(super.equals(other))
                 .append(optimizationPolicy, parameter.getOptimizationPolicy())
                 .append(discardOutline, parameter.discardOutline())
+                .append(parallelism, parameter.getParallelism())
                 .append(levelToSplitAt, parameter.getLevelToSplitAt())
                 .append(matchingTitleRegEx, parameter.getMatchingTitleRegEx()).isEquals();
     }
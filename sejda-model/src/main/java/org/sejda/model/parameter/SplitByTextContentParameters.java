@@ -18,6 +18,7 @@
  */
 package org.sejda.model.parameter;
 
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
@@ -28,6 +29,7 @@ import org.sejda.model.optimization.OptimizationPolicy;
 import org.sejda.model.parameter.base.DiscardableOutlineTaskParameters;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
 import org.sejda.model.parameter.base.OptimizableOutputTaskParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 
 /**
  * Parameter class for a split by text content change task. It lets specify an area. The task will split the document when text content in that changes.
@@ -39,7 +41,7 @@ import org.sejda.model.parameter.base.OptimizableOutputTaskParameters;
  * 
  */
 public class SplitByTextContentParameters extends MultiplePdfSourceMultipleOutputParameters
-        implements OptimizableOutputTaskParameters, DiscardableOutlineTaskParameters {
+        implements OptimizableOutputTaskParameters, DiscardableOutlineTaskParameters, ParallelizableTaskParameters {
 
     @NotNull
     private final TopLeftRectangularBox textArea;
@@ -48,6 +50,8 @@ public class SplitByTextContentParameters extends MultiplePdfSourceMultipleOutpu
     @NotNull
     private OptimizationPolicy optimizationPolicy = OptimizationPolicy.NO;
     private boolean discardOutline = false;
+    @Min(1)
+    private int parallelism = 1;
 
     public SplitByTextContentParameters(TopLeftRectangularBox textArea) {
         this.textArea = textArea;
@@ -93,6 +97,16 @@ public class SplitByTextContentParameters extends MultiplePdfSourceMultipleOutpu
         this.discardOutline = discardOutline;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public String toString() {
         return new ToStringBuilder(this).appendSuper(super.toString()).append(textArea).append(startsWith)
@@ -103,7 +117,7 @@ public class SplitByTextContentParameters extends MultiplePdfSourceMultipleOutpu
     @Override
     public int hashCode() {
         return new HashCodeBuilder().appendSuper(super.hashCode()).append(optimizationPolicy).append(discardOutline)
-                .append(textArea)
+                .append(textArea).append(parallelism)
                 .toHashCode();
     }
 
@@ -119,6 +133,7 @@ public class SplitByTextContentParameters extends MultiplePdfSourceMultipleOutpu
         return new EqualsBuilder().appendSuper(super.equals(other))
                 .append(optimizationPolicy, parameter.optimizationPolicy)
                 .append(discardOutline, parameter.discardOutline).append(textArea, parameter.textArea)
-                .append(startsWith, parameter.startsWith).append(endsWith, parameter.endsWith).isEquals();
+                .append(startsWith, parameter.startsWith).append(endsWith, parameter.endsWith)
+                .append(parallelism, parameter.parallelism).isEquals();
     }
 }
@@ -0,0 +1,35 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.model.parameter.base;
+
+/**
+ * Task parameters for tasks whose work can be spread over multiple threads
+ * 
+ * @author agent
+ *
+ */
+public interface ParallelizableTaskParameters extends TaskParameters {
+
+    /**
+     * @return the maximum number of threads the task can use. 1 means the task is executed sequentially by the calling thread.
+     */
+    int getParallelism();
+
+    void setParallelism(int parallelism);
+}
@@ -21,12 +21,17 @@ package org.sejda.model.parameter.excel;
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 
+import javax.validation.constraints.Min;
 import java.util.*;
 
-public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParameters {
+public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParameters
+        implements ParallelizableTaskParameters {
     private Map<Integer, List<Table>> tables = new HashMap<>();
     private boolean mergeTablesSpanningMultiplePages = false;
+    @Min(1)
+    private int parallelism = 1;
 
     public void addTable(int pageNumber, Table table) {
         if(!this.tables.containsKey(pageNumber)) {
@@ -59,6 +64,16 @@ public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParamet
         this.mergeTablesSpanningMultiplePages = mergeTablesSpanningMultiplePages;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -71,6 +86,7 @@ public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParamet
                 .appendSuper(super.equals(that))
                 .append(tables, that.tables)
                 .append(mergeTablesSpanningMultiplePages, that.mergeTablesSpanningMultiplePages)
+                .append(parallelism, that.parallelism)
                 .isEquals();
     }
 
@@ -80,6 +96,7 @@ public class PdfToExcelParameters extends MultiplePdfSourceMultipleOutputParamet
                 .appendSuper(super.hashCode())
                 .append(tables)
                 .append(mergeTablesSpanningMultiplePages)
+                .append(parallelism)
                 .toHashCode();
     }
 }
@@ -33,6 +33,7 @@ import org.sejda.common.collection.NullSafeSet;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.image.ImageType;
 import org.sejda.model.parameter.base.MultiplePdfSourceMultipleOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.pdf.page.PageRange;
 import org.sejda.model.pdf.page.PageRangeSelection;
 import org.sejda.model.pdf.page.PagesSelection;
@@ -46,7 +47,7 @@ import org.sejda.model.validation.constraint.Positive;
  * 
  */
 public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSourceMultipleOutputParameters
-        implements PageRangeSelection, PagesSelection, PdfToImageParameters {
+        implements PageRangeSelection, PagesSelection, PdfToImageParameters, ParallelizableTaskParameters {
 
     public static final int DEFAULT_DPI = 72;
 
@@ -57,6 +58,8 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
     @Valid
     @Positive
     private float userZoom = 1.0f;
+    @Min(1)
+    private int parallelism = 1;
 
     AbstractPdfToMultipleImageParameters(ImageColorType outputImageColorType) {
         this.outputImageColorType = outputImageColorType;
@@ -104,6 +107,16 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
         this.resolutionInDpi = resolutionInDpi;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Valid
     private final Set<PageRange> pageSelection = new NullSafeSet<PageRange>();
 
@@ -157,6 +170,7 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
                 .append(userZoom, that.userZoom)
                 .append(outputImageColorType, that.outputImageColorType)
                 .append(pageSelection, that.pageSelection)
+                .append(parallelism, that.parallelism)
                 .isEquals();
     }
 
@@ -168,6 +182,7 @@ public abstract class AbstractPdfToMultipleImageParameters extends MultiplePdfSo
                 .append(outputImageColorType)
                 .append(userZoom)
                 .append(pageSelection)
+                .append(parallelism)
                 .toHashCode();
     }
 }
@@ -20,12 +20,14 @@
 package org.sejda.model.parameter.image;
 
 import javax.validation.Valid;
+import javax.validation.constraints.Min;
 import javax.validation.constraints.NotNull;
 
 import org.apache.commons.lang3.builder.EqualsBuilder;
 import org.apache.commons.lang3.builder.HashCodeBuilder;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.output.SingleTaskOutput;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.parameter.base.SingleOutputTaskParameters;
 import org.sejda.model.validation.constraint.ValidSingleOutput;
 
@@ -37,7 +39,7 @@ import org.sejda.model.validation.constraint.ValidSingleOutput;
  */
 @ValidSingleOutput
 public abstract class AbstractPdfToSingleImageParameters extends AbstractPdfToImageParameters implements
-        SingleOutputTaskParameters {
+        SingleOutputTaskParameters, ParallelizableTaskParameters {
 
     AbstractPdfToSingleImageParameters(ImageColorType outputImageColorType) {
         super(outputImageColorType);
@@ -47,6 +49,8 @@ public abstract class AbstractPdfToSingleImageParameters extends AbstractPdfToIm
     @Valid
     @NotNull
     private SingleTaskOutput<?> output;
+    @Min(1)
+    private int parallelism = 1;
 
     @Override
     public String getOutputName() {
@@ -71,9 +75,20 @@ public abstract class AbstractPdfToSingleImageParameters extends AbstractPdfToIm
         this.outputName = outputName;
     }
 
+    @Override
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    @Override
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public int hashCode() {
-        return new HashCodeBuilder().appendSuper(super.hashCode()).append(outputName).append(output).toHashCode();
+        return new HashCodeBuilder().appendSuper(super.hashCode()).append(outputName).append(output)
+                .append(parallelism).toHashCode();
     }
 
     @Override
@@ -86,7 +101,7 @@ public abstract class AbstractPdfToSingleImageParameters extends AbstractPdfToIm
         }
         AbstractPdfToSingleImageParameters parameter = (AbstractPdfToSingleImageParameters) other;
         return new EqualsBuilder().appendSuper(super.equals(other)).append(outputName, parameter.getOutputName())
-                .append(output, parameter.getOutput()).isEquals();
+                .append(output, parameter.getOutput()).append(parallelism, parameter.getParallelism()).isEquals();
     }
 
 }
@@ -22,7 +22,7 @@ import static java.util.Objects.nonNull;
 
 public class CancellationOption {
 
-    private TaskExecutionContext executionContext;
+    private volatile TaskExecutionContext executionContext;
 
     public void setExecutionContext(TaskExecutionContext executionContext) {
         this.executionContext = executionContext;
@@ -38,7 +38,7 @@ public class TaskExecutionContext {
 
     private StopWatch stopWatch = new StopWatch();
     private NotifiableTaskMetadata taskMetadata;
-    private boolean cancelled = false;
+    private volatile boolean cancelled = false;
     private Task<? extends TaskParameters> task;
     private boolean lenient;
     private int outputDocumentsCounter = 0;
@@ -96,6 +96,15 @@ public class ExtractTextByPagesParametersTest {
         TestUtils.assertInvalidParameters(victim);
     }
 
+    @Test
+    public void testInvalidParametersZeroParallelism() {
+        ExtractTextByPagesParameters victim = new ExtractTextByPagesParameters();
+        victim.setOutput(output);
+        victim.setSource(input);
+        victim.setParallelism(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
     @Test
     public void getPagesEmptyRange() {
         ExtractTextByPagesParameters victim = new ExtractTextByPagesParameters();
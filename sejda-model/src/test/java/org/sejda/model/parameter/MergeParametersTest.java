@@ -94,4 +94,14 @@ public class MergeParametersTest {
         victim.addInput(mergeInput);
         TestUtils.assertInvalidParameters(victim);
     }
+
+    @Test
+    public void testInvalidParametersNegativePrefetch() {
+        MergeParameters victim = new MergeParameters();
+        victim.setOutput(output);
+        InputStream stream = mock(InputStream.class);
+        victim.addInput(new PdfMergeInput(PdfStreamSource.newInstanceNoPassword(stream, "name")));
+        victim.setPrefetchSize(-1);
+        TestUtils.assertInvalidParameters(victim);
+    }
 }
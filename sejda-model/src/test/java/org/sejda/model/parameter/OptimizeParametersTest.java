@@ -59,4 +59,17 @@ public class OptimizeParametersTest {
         victim.setOutput(output);
         TestUtils.assertInvalidParameters(victim);
     }
+
+    @Test
+    public void invalidParametersZeroParallelism() {
+        OptimizeParameters victim = new OptimizeParameters();
+        victim.addOptimization(Optimization.COMPRESS_IMAGES);
+        InputStream stream = mock(InputStream.class);
+        PdfSource<InputStream> input = PdfStreamSource.newInstanceNoPassword(stream, "name");
+        victim.addSource(input);
+        MultipleTaskOutput<?> output = mock(MultipleTaskOutput.class);
+        victim.setOutput(output);
+        victim.setParallelism(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
 }
@@ -55,4 +55,13 @@ public class SplitByTextContentParametersTest {
         victim.addSource(input);
         TestUtils.assertInvalidParameters(victim);
     }
+
+    @Test
+    public void testInvalidParametersZeroParallelism() {
+        SplitByTextContentParameters victim = new SplitByTextContentParameters(new TopLeftRectangularBox(114, 70, 41, 15));
+        victim.setOutput(mock(MultipleTaskOutput.class));
+        victim.addSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        victim.setParallelism(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
 }
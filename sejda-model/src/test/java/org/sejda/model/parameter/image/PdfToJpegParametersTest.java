@@ -19,13 +19,18 @@
  */
 package org.sejda.model.parameter.image;
 
+import java.io.InputStream;
+
 import org.junit.Test;
 import org.sejda.TestUtils;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.MultipleTaskOutput;
 import org.sejda.model.pdf.page.PageRange;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
 
 /**
  * @author Andrea Vacondio
@@ -42,6 +47,15 @@ public class PdfToJpegParametersTest {
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
 
+    @Test
+    public void invalidParametersZeroParallelism() {
+        PdfToJpegParameters victim = new PdfToJpegParameters();
+        victim.addSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        victim.setOutput(mock(MultipleTaskOutput.class));
+        victim.setParallelism(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
+
     @Test
     public void testGetPageSelection() {
         PdfToJpegParameters victim = new PdfToJpegParameters();
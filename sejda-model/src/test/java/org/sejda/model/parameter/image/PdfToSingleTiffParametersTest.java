@@ -19,10 +19,16 @@
  */
 package org.sejda.model.parameter.image;
 
+import static org.mockito.Mockito.mock;
+
+import java.io.InputStream;
+
 import org.junit.Test;
 import org.sejda.TestUtils;
 import org.sejda.model.image.ImageColorType;
 import org.sejda.model.image.TiffCompressionType;
+import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.output.SingleTaskOutput;
 
 /**
  * @author Andrea Vacondio
@@ -39,4 +45,13 @@ public class PdfToSingleTiffParametersTest {
         diff.setCompressionType(TiffCompressionType.JPEG_TTN2);
         TestUtils.testEqualsAndHashCodes(eq1, eq2, eq3, diff);
     }
+
+    @Test
+    public void invalidParametersZeroParallelism() {
+        PdfToSingleTiffParameters victim = new PdfToSingleTiffParameters(ImageColorType.GRAY_SCALE);
+        victim.setSource(PdfStreamSource.newInstanceNoPassword(mock(InputStream.class), "name"));
+        victim.setOutput(mock(SingleTaskOutput.class));
+        victim.setParallelism(0);
+        TestUtils.assertInvalidParameters(victim);
+    }
 }
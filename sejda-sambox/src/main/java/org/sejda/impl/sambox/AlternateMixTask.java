@@ -20,6 +20,7 @@ package org.sejda.impl.sambox;
 
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 
 import java.io.File;
@@ -45,6 +46,7 @@ public class AlternateMixTask extends BaseTask<AbstractAlternateMixParameters> {
 
     private PdfAlternateMixer mixer = null;
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
 
     @Override
     public void before(AbstractAlternateMixParameters parameters, TaskExecutionContext executionContext)
@@ -62,7 +64,7 @@ public class AlternateMixTask extends BaseTask<AbstractAlternateMixParameters> {
         mixer.setVersionOnPDDocument(parameters.getVersion());
         mixer.setCompress(parameters.isCompress());
 
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {}", tmpFile);
         mixer.savePDDocument(tmpFile);
         nullSafeCloseQuietly(mixer);
@@ -76,6 +78,8 @@ public class AlternateMixTask extends BaseTask<AbstractAlternateMixParameters> {
     @Override
     public void after() {
         nullSafeCloseQuietly(mixer);
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
 }
@@ -21,6 +21,7 @@ package org.sejda.impl.sambox;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream.readOnlyEmbeddedFile;
 
@@ -68,6 +69,7 @@ public class AttachmentsCollectionTask extends BaseTask<AttachmentsCollectionPar
 
     private int totalSteps;
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
     private PDDocumentHandler destinationDocument;
     private TableOfContentsCreator tocCreator;
 
@@ -82,7 +84,7 @@ public class AttachmentsCollectionTask extends BaseTask<AttachmentsCollectionPar
     @Override
     public void execute(AttachmentsCollectionParameters parameters) throws TaskException {
         int currentStep = 0;
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {} ", tmpFile);
 
         destinationDocument = new PDDocumentHandler();
@@ -197,6 +199,8 @@ public class AttachmentsCollectionTask extends BaseTask<AttachmentsCollectionPar
     @Override
     public void after() {
         nullSafeCloseQuietly(destinationDocument);
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
 }
@@ -22,6 +22,7 @@ import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
@@ -62,6 +63,7 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
     private static final Logger LOG = LoggerFactory.getLogger(CombineReorderTask.class);
 
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
     private PdfSourceOpener<PDDocumentHandler> sourceOpener;
     private PDDocumentHandler destinationDocument;
     private List<PDDocumentHandler> documents = new ArrayList<>();
@@ -80,7 +82,7 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
     @Override
     public void execute(CombineReorderParameters parameters) throws TaskException {
 
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {} ", tmpFile);
 
         this.destinationDocument = new PDDocumentHandler();
@@ -160,6 +162,8 @@ public class CombineReorderTask extends BaseTask<CombineReorderParameters> {
         outputWriter = null;
         documents.clear();
         pagesLookup.clear();
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
     private void closeResources() {
@@ -25,17 +25,22 @@ import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
+import java.io.Closeable;
 import java.io.File;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.sejda.common.ComponentsUtility;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.util.PerWorkerDocumentExecutor;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
-import org.sejda.impl.sambox.component.PdfTextExtractor;
+import org.sejda.impl.sambox.component.PagesTextExtractor;
 import org.sejda.model.SejdaFileExtensions;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.ExtractTextByPagesParameters;
@@ -81,27 +86,27 @@ public class ExtractTextByPagesTask extends BaseTask<ExtractTextByPagesParameter
             throw new TaskExecutionException("No page has been selected for extraction.");
         }
 
-        int currentStep = 0;
-        int totalSteps = pages.size();
+        if (parameters.getParallelism() > 1 && source instanceof PdfFileSource) {
+            concurrentExtraction(parameters, (PdfFileSource) source, pages);
+        } else {
+            int currentStep = 0;
+            int totalSteps = pages.size();
+            PagesTextExtractor textExtractor = new PagesTextExtractor(parameters.getTextEncoding());
 
-        for (Integer current : pages) {
-            executionContext().assertTaskNotCancelled();
-            currentStep++;
-            LOG.debug("Extracting text from page {}", current);
+            for (Integer current : pages) {
+                executionContext().assertTaskNotCancelled();
+                currentStep++;
+                LOG.debug("Extracting text from page {}", current);
 
-            File tmpFile = createTemporaryBuffer();
-            LOG.debug("Created output on temporary buffer {}", tmpFile);
+                File tmpFile = createTemporaryBuffer();
+                LOG.debug("Created output on temporary buffer {}", tmpFile);
 
-            try (PdfTextExtractor textExtractor = new PdfTextExtractor(parameters.getTextEncoding(), tmpFile)) {
-                textExtractor.extract(documentHandler.getPage(current));
-            }
+                textExtractor.extract(documentHandler.getPage(current), tmpFile);
 
-            String outName = nameGenerator(parameters.getOutputPrefix())
-                    .generate(nameRequest(SejdaFileExtensions.TXT_EXTENSION).page(current)
-                            .originalName(parameters.getSource().getName()).fileNumber(currentStep));
-            outputWriter.addOutput(file(tmpFile).name(outName));
-            // close resource
-            notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep).outOf(totalSteps);
+                addOutput(parameters, tmpFile, current, currentStep);
+                notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep)
+                        .outOf(totalSteps);
+            }
         }
 
         parameters.getOutput().accept(outputWriter);
@@ -109,9 +114,67 @@ public class ExtractTextByPagesTask extends BaseTask<ExtractTextByPagesParameter
 
     }
 
+    /**
+     * Pages text is extracted by a pool of workers, each one with its own instance of the source document and its own text extractor. Outputs are added in the selected pages
+     * order by the calling thread.
+     */
+    private void concurrentExtraction(ExtractTextByPagesParameters parameters, PdfFileSource source,
+            Set<Integer> pages) throws TaskException {
+        int parallelism = Math.min(parameters.getParallelism(), pages.size());
+        LOG.debug("Extracting text from {} pages using {} threads", pages.size(), parallelism);
+        AtomicInteger currentStep = new AtomicInteger();
+        try (PerWorkerDocumentExecutor<PagesTextExtraction> executor = new PerWorkerDocumentExecutor<>(
+                executionContext(), parallelism, () -> {
+                    PDDocumentHandler document = source.open(new DefaultPdfSourceOpener());
+                    try {
+                        return new PagesTextExtraction(document, new PagesTextExtractor(parameters.getTextEncoding()));
+                    } catch (TaskException e) {
+                        nullSafeCloseQuietly(document);
+                        throw e;
+                    }
+                }, ComponentsUtility::nullSafeCloseQuietly)) {
+            executor.execute(pages, (extraction, current) -> {
+                LOG.debug("Extracting text from page {}", current);
+                File tmpFile = createTemporaryBuffer();
+                LOG.debug("Created output on temporary buffer {}", tmpFile);
+                extraction.extractor.extract(extraction.document.getPage(current), tmpFile);
+                return tmpFile;
+            }, (current, tmpFile) -> {
+                addOutput(parameters, tmpFile, current, currentStep.incrementAndGet());
+                notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(currentStep.get())
+                        .outOf(pages.size());
+            });
+        }
+    }
+
+    private void addOutput(ExtractTextByPagesParameters parameters, File tmpFile, int page, int fileNumber) {
+        String outName = nameGenerator(parameters.getOutputPrefix())
+                .generate(nameRequest(SejdaFileExtensions.TXT_EXTENSION).page(page)
+                        .originalName(parameters.getSource().getName()).fileNumber(fileNumber));
+        outputWriter.addOutput(file(tmpFile).name(outName));
+    }
+
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
     }
 
+    /**
+     * Document and text extractor of a worker
+     */
+    private static class PagesTextExtraction implements Closeable {
+        private final PDDocumentHandler document;
+        private final PagesTextExtractor extractor;
+
+        PagesTextExtraction(PDDocumentHandler document, PagesTextExtractor extractor) {
+            this.document = document;
+            this.extractor = extractor;
+        }
+
+        @Override
+        public void close() {
+            nullSafeCloseQuietly(document);
+        }
+    }
+
 }
@@ -22,6 +22,7 @@ import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
@@ -39,9 +40,11 @@ import org.sejda.impl.sambox.component.AcroFormsMerger;
 import org.sejda.impl.sambox.component.AnnotationsDistiller;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.FilenameFooterWriter;
+import org.sejda.impl.sambox.component.MergeInputsPrefetcher;
 import org.sejda.impl.sambox.component.OutlineMerger;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.TableOfContentsCreator;
+import org.sejda.impl.sambox.component.optimizaton.DuplicatedStreamsDiscarder;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfMergeInput;
 import org.sejda.model.input.PdfSourceOpener;
@@ -71,7 +74,9 @@ public class MergeTask extends BaseTask<MergeParameters> {
     private static final Logger LOG = LoggerFactory.getLogger(MergeTask.class);
 
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
     private PdfSourceOpener<PDDocumentHandler> sourceOpener;
+    private MergeInputsPrefetcher inputsOpener;
     private int totalSteps;
     private PDDocumentHandler destinationDocument;
     private Queue<Closeable> toClose = new LinkedList<>();
@@ -94,7 +99,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
     @Override
     public void execute(MergeParameters parameters) throws TaskException {
         int currentStep = 0;
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {} ", tmpFile);
 
         this.destinationDocument = new PDDocumentHandler();
@@ -107,10 +112,12 @@ public class MergeTask extends BaseTask<MergeParameters> {
                 this.destinationDocument.getUnderlyingPDDocument());
         this.footerWriter = new FilenameFooterWriter(parameters.isFilenameFooter(),
                 this.destinationDocument.getUnderlyingPDDocument());
+        this.inputsOpener = new MergeInputsPrefetcher(parameters.getInputList(), sourceOpener,
+                parameters.getPrefetchSize());
 
         for (PdfMergeInput input : parameters.getInputList()) {
             LOG.debug("Opening {}", input.getSource());
-            PDDocumentHandler sourceDocumentHandler = input.getSource().open(sourceOpener);
+            PDDocumentHandler sourceDocumentHandler = inputsOpener.open(input);
             toClose.add(sourceDocumentHandler);
 
             LOG.debug("Adding pages");
@@ -184,6 +191,10 @@ public class MergeTask extends BaseTask<MergeParameters> {
             tocCreator.addToC();
         }
 
+        if (parameters.isDiscardDuplicatedStreams()) {
+            new DuplicatedStreamsDiscarder().accept(destinationDocument.getUnderlyingPDDocument());
+        }
+
         destinationDocument.savePDDocument(tmpFile);
         closeResources();
 
@@ -203,6 +214,7 @@ public class MergeTask extends BaseTask<MergeParameters> {
     }
 
     private void closeResources() {
+        nullSafeCloseQuietly(inputsOpener);
         Closeable current;
         while ((current = toClose.poll()) != null) {
             nullSafeCloseQuietly(current);
@@ -214,6 +226,8 @@ public class MergeTask extends BaseTask<MergeParameters> {
     public void after() {
         closeResources();
         outputWriter = null;
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
 }
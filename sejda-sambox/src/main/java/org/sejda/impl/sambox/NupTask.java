@@ -18,6 +18,7 @@
  */
 package org.sejda.impl.sambox;
 
+import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
@@ -45,8 +46,11 @@ import org.sejda.model.nup.PageOrder;
 import org.sejda.model.parameter.NupParameters;
 import org.sejda.model.task.BaseTask;
 import org.sejda.model.task.TaskExecutionContext;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.sejda.sambox.pdmodel.PDPageContentStream;
+import org.sejda.sambox.pdmodel.PDResources;
 import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
 import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
@@ -88,6 +92,8 @@ public class NupTask extends BaseTask<NupParameters> {
             destinationDocument.initialiseBasedOn(sourceDocumentHandler.getUnderlyingPDDocument());
             destinationDocument.setCompress(parameters.isCompress());
 
+            // the destination document is written on save and annotations (links included) can target any page, so
+            // the sheets and the source to sheet lookup are retained for the whole document
             LookupTable<PDPage> pagesLookup = new LookupTable<>();
 
             int numberOfPages = sourceDocumentHandler.getNumberOfPages();
@@ -117,7 +123,6 @@ public class NupTask extends BaseTask<NupParameters> {
             }
 
             PDRectangle newSize = new PDRectangle(pageSize.getWidth(), pageSize.getHeight());
-            Map<PDPage, Offsets> offsetsMap = new HashMap<>();
 
             int columns = 1;
             int rows = 1;
@@ -147,11 +152,15 @@ public class NupTask extends BaseTask<NupParameters> {
                 }
             }
 
+            SheetLayout layout = new SheetLayout(pageSize, newSize, columns, rows, parameters.isPreservePageSize(),
+                    parameters.getPageOrder());
+            PDPageContentStream currentContentStream = null;
             try {
-                int currentRow = 0;
-                int currentColumn = 0;
+                Map<FormXObjectKey, PDFormXObject> formsCache = new HashMap<>();
 
                 PDPage currentPage = destinationDocument.addBlankPage(newSize);
+                currentContentStream = new PDPageContentStream(destinationDocument.getUnderlyingPDDocument(),
+                        currentPage, PDPageContentStream.AppendMode.APPEND, true, true);
 
                 LOG.debug("Original page size: " + pageSize.getWidth() + "x" + pageSize.getHeight()
                         + ", new page size: " + newSize.getWidth() + "x" + newSize.getHeight() + ", columns: " + columns
@@ -160,73 +169,43 @@ public class NupTask extends BaseTask<NupParameters> {
                 for (int i = 1; i <= numberOfPages; i++) {
 
                     PDPage sourcePage = sourceDocumentHandler.getPage(i);
-                    PDFormXObject pageAsFormObject = new PageToFormXObject().apply(sourcePage);
-                    float xOffset = pageSize.getWidth() * currentColumn;
-                    float yOffset = newSize.getHeight() - (pageSize.getHeight() * (currentRow + 1));
-                    float xScale = 1.0f;
-
-                    if (parameters.isPreservePageSize()) {
-                        xOffset = newSize.getWidth() / columns * currentColumn;
-                        yOffset = newSize.getHeight() - (newSize.getHeight() / rows * (currentRow + 1));
-                        xScale = (newSize.getWidth() / columns) / pageSize.getWidth();
-                    }
-
-                    LOG.debug("Column: " + currentColumn + ", row: " + currentRow + ", xOffset: " + xOffset
-                            + " yOffset: " + yOffset + " xScale: " + xScale);
+                    PDFormXObject pageAsFormObject = toFormXObject(sourcePage, formsCache);
+                    Offsets offsets = layout.offsets(i);
 
-                    offsetsMap.put(sourcePage, new Offsets(xOffset, yOffset, xScale));
+                    LOG.debug("Page: " + i + ", xOffset: " + offsets.xOffset + " yOffset: " + offsets.yOffset
+                            + " xScale: " + offsets.xScale);
 
                     if (pageAsFormObject != null) {
-                        PDPageContentStream currentContentStream = new PDPageContentStream(
-                                destinationDocument.getUnderlyingPDDocument(), currentPage,
-                                PDPageContentStream.AppendMode.APPEND, true, true);
                         AffineTransform at = new AffineTransform();
-                        at.translate(xOffset, yOffset);
-                        at.scale(xScale, xScale);
+                        at.translate(offsets.xOffset, offsets.yOffset);
+                        at.scale(offsets.xScale, offsets.xScale);
 
                         Matrix matrix = new Matrix(at);
 
+                        currentContentStream.saveGraphicsState();
                         currentContentStream.transform(matrix);
                         currentContentStream.drawForm(pageAsFormObject);
-                        currentContentStream.close();
+                        currentContentStream.restoreGraphicsState();
 
                         pagesLookup.addLookupEntry(sourcePage, currentPage);
                     }
 
-                    if (parameters.getPageOrder() == PageOrder.HORIZONTAL) {
-                        // increment column
-                        currentColumn += 1;
-                        if (currentColumn >= columns) {
-                            currentColumn = 0;
-                            currentRow += 1;
-                        }
-
-                        // increment row if required, moving to next page
-                        if (currentRow >= rows && i != numberOfPages) {
-                            currentRow = 0;
-                            currentColumn = 0;
-                            currentPage = destinationDocument.addBlankPage(newSize);
-                        }
-                    } else if (parameters.getPageOrder() == PageOrder.VERTICAL) {
-                        // increment row
-                        currentRow += 1;
-                        if (currentRow >= rows) {
-                            currentRow = 0;
-                            currentColumn += 1;
-                        }
-
-                        // increment column if required, moving to next page
-                        if (currentColumn >= columns && i != numberOfPages) {
-                            currentColumn = 0;
-                            currentRow = 0;
-                            currentPage = destinationDocument.addBlankPage(newSize);
-                        }
-
+                    if (layout.isLastOnSheet(i) && i != numberOfPages) {
+                        // the sheet content is written in a single content stream, completed once all its pages are
+                        // placed
+                        currentContentStream.close();
+                        currentPage = destinationDocument.addBlankPage(newSize);
+                        currentContentStream = new PDPageContentStream(destinationDocument.getUnderlyingPDDocument(),
+                                currentPage, PDPageContentStream.AppendMode.APPEND, true, true);
                     }
                 }
-
+                currentContentStream.close();
+                currentContentStream = null;
+                LOG.debug("Placed {} pages using {} form XObjects", numberOfPages, formsCache.size());
             } catch (IOException e) {
                 throw new TaskException(e);
+            } finally {
+                nullSafeCloseQuietly(currentContentStream);
             }
 
             LookupTable<PDAnnotation> oldToNewAnnotations = new AnnotationsDistiller(
@@ -242,7 +221,7 @@ public class NupTask extends BaseTask<NupParameters> {
                     PDPage newPage = pagesLookup.lookup(oldPage);
 
                     if(newPage != null && newAnnotation != null) {
-                        Offsets offsets = offsetsMap.get(oldPage);
+                        Offsets offsets = layout.offsets(i);
                         PDRectangle oldRectangle = newAnnotation.getRectangle();
 
                         AffineTransform at = new AffineTransform();
@@ -292,6 +271,117 @@ public class NupTask extends BaseTask<NupParameters> {
         nullSafeCloseQuietly(destinationDocument);
     }
 
+    /**
+     * @return the form XObject for the given page, reusing the one already created for a page with the same content, resources and boxes
+     */
+    private static PDFormXObject toFormXObject(PDPage page, Map<FormXObjectKey, PDFormXObject> cache)
+            throws IOException {
+        FormXObjectKey key = new FormXObjectKey(page);
+        if (cache.containsKey(key)) {
+            LOG.trace("Reusing form XObject for page with same content");
+            return cache.get(key);
+        }
+        PDFormXObject form = new PageToFormXObject().apply(page);
+        cache.put(key, form);
+        return form;
+    }
+
+    /**
+     * Key identifying pages that result in the same form XObject, pages have to share the same content stream and resources objects and have the same boxes and rotation.
+     * Contents and resources are compared by object identity only, pages with equal but distinct content streams or resources dictionaries (Ex. duplicated by the producer)
+     * get their own form XObject.
+     */
+    static final class FormXObjectKey {
+        private final COSBase contents;
+        private final COSBase resources;
+        private final int rotation;
+        private final List<Float> boxes;
+
+        FormXObjectKey(PDPage page) {
+            this.contents = page.getCOSObject().getDictionaryObject(COSName.CONTENTS);
+            this.resources = ofNullable(page.getResources()).map(PDResources::getCOSObject).orElse(null);
+            this.rotation = page.getRotation();
+            PDRectangle mediaBox = page.getMediaBox();
+            PDRectangle trimBox = ofNullable(page.getTrimBox()).orElse(mediaBox);
+            this.boxes = Arrays.asList(mediaBox.getLowerLeftX(), mediaBox.getLowerLeftY(), mediaBox.getUpperRightX(),
+                    mediaBox.getUpperRightY(), trimBox.getLowerLeftX(), trimBox.getLowerLeftY(),
+                    trimBox.getUpperRightX(), trimBox.getUpperRightY());
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof FormXObjectKey)) {
+                return false;
+            }
+            FormXObjectKey key = (FormXObjectKey) other;
+            // content and resources are compared by identity, we don't want to read and compare streams
+            return contents != null && contents == key.contents && resources == key.resources
+                    && rotation == key.rotation && boxes.equals(key.boxes);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(System.identityHashCode(contents), System.identityHashCode(resources), rotation,
+                    boxes);
+        }
+    }
+
+    /**
+     * Position of the source pages on the sheets. Offsets are computed from the page number, so no offsets are retained for the pages already placed.
+     */
+    static final class SheetLayout {
+        private final PDRectangle pageSize;
+        private final PDRectangle sheetSize;
+        private final int columns;
+        private final int rows;
+        private final boolean preservePageSize;
+        private final PageOrder order;
+
+        SheetLayout(PDRectangle pageSize, PDRectangle sheetSize, int columns, int rows, boolean preservePageSize,
+                PageOrder order) {
+            this.pageSize = pageSize;
+            this.sheetSize = sheetSize;
+            this.columns = columns;
+            this.rows = rows;
+            this.preservePageSize = preservePageSize;
+            this.order = order;
+        }
+
+        /**
+         * @param pageNumber
+         *            the 1 based number of the source page
+         * @return the offsets of the page on its sheet
+         */
+        Offsets offsets(int pageNumber) {
+            int position = (pageNumber - 1) % (columns * rows);
+            int row = position / columns;
+            int column = position % columns;
+            if (order == PageOrder.VERTICAL) {
+                row = position % rows;
+                column = position / rows;
+            }
+            if (preservePageSize) {
+                return new Offsets(sheetSize.getWidth() / columns * column,
+                        sheetSize.getHeight() - (sheetSize.getHeight() / rows * (row + 1)),
+                        (sheetSize.getWidth() / columns) / pageSize.getWidth());
+            }
+            return new Offsets(pageSize.getWidth() * column, sheetSize.getHeight() - (pageSize.getHeight() * (row + 1)),
+                    1.0f);
+        }
+
+        /**
+         * @param pageNumber
+         *            the 1 based number of the source page
+         * @return true if the page is the last one placed on its sheet
+         */
+        boolean isLastOnSheet(int pageNumber) {
+            return pageNumber % (columns * rows) == 0;
+        }
+    }
+
     static final class Offsets {
         public final float xOffset;
         public final float yOffset;
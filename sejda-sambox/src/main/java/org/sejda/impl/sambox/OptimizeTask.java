@@ -24,13 +24,17 @@ import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Iterator;
+import java.util.List;
 
+import org.sejda.core.support.io.IOUtils;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.optimizaton.DocumentOptimizer;
+import org.sejda.impl.sambox.component.optimizaton.OptimizedImagesCache;
 import org.sejda.impl.sambox.component.optimizaton.PagesOptimizer;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.input.PdfSource;
@@ -52,8 +56,10 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
     private int totalSteps;
     private PDDocumentHandler documentHandler = null;
     private MultipleOutputWriter outputWriter;
+    private List<File> buffers = new ArrayList<>();
     private DocumentOptimizer documentOptimizer;
     private PagesOptimizer pagesOptimizer;
+    private OptimizedImagesCache imagesCache;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
 
     @Override
@@ -61,6 +67,7 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
         super.before(parameters, executionContext);
         totalSteps = parameters.getSourceList().size();
         documentLoader = new DefaultPdfSourceOpener();
+        imagesCache = OptimizedImagesCache.fromSystemProperties();
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
     }
 
@@ -75,11 +82,12 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
             documentHandler = source.open(documentLoader);
             documentHandler.setCreatorOnPDDocument();
 
-            File tmpFile = createTemporaryPdfBuffer();
+            File tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
+            buffers.add(tmpFile);
             LOG.debug("Created output on temporary buffer {}", tmpFile);
 
             documentOptimizer = new DocumentOptimizer(parameters.getOptimizations());
-            pagesOptimizer = new PagesOptimizer(parameters);
+            pagesOptimizer = new PagesOptimizer(parameters, imagesCache);
 
             LOG.debug("Starting optimization");
             int pageNum = 0;
@@ -96,6 +104,7 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
                 }
             }
 
+            pagesOptimizer.complete();
             documentOptimizer.accept(documentHandler.getUnderlyingPDDocument());
 
             documentHandler.setVersionOnPDDocument(parameters.getVersion());
@@ -118,6 +127,9 @@ public class OptimizeTask extends BaseTask<OptimizeParameters> {
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        nullSafeCloseQuietly(imagesCache);
+        buffers.forEach(IOUtils::deleteBuffer);
+        buffers.clear();
     }
 
 }
@@ -18,18 +18,18 @@
  */
 package org.sejda.impl.sambox;
 
-import org.apache.poi.ss.usermodel.Row;
-import org.apache.poi.ss.usermodel.Sheet;
-import org.apache.poi.ss.usermodel.Workbook;
-import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.sejda.common.ComponentsUtility;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.util.PerWorkerDocumentExecutor;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PdfTextExtractorByArea;
 import org.sejda.impl.sambox.component.excel.DataTable;
+import org.sejda.impl.sambox.component.excel.ExcelTablesWriter;
 import org.sejda.model.TopLeftRectangularBox;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.excel.PdfToExcelParameters;
@@ -42,10 +42,11 @@ import org.slf4j.LoggerFactory;
 
 import java.awt.*;
 import java.io.File;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
@@ -58,7 +59,6 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
     private static final Logger LOG = LoggerFactory.getLogger(PdfToExcelTask.class);
 
     private PDDocumentHandler sourceDocumentHandler = null;
-    private PDDocumentHandler destinationDocument = null;
     private MultipleOutputWriter outputWriter;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
 
@@ -84,65 +84,25 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
             File tmpFile = createTemporaryBuffer(".xlsx");
             LOG.debug("Created output temporary buffer {}", tmpFile);
 
-            this.destinationDocument = new PDDocumentHandler();
-            destinationDocument.setVersionOnPDDocument(parameters.getVersion());
-            destinationDocument.initialiseBasedOn(sourceDocumentHandler.getUnderlyingPDDocument());
-            destinationDocument.setCompress(parameters.isCompress());
-
             int numberOfPages = sourceDocumentHandler.getNumberOfPages();
 
-            List<DataTable> all = new ArrayList<>();
-
-            for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
-                DataTable dataTable = new DataTable(pageNumber);
-                LOG.debug("Extracting tables from page {}", pageNumber);
-                long start = System.currentTimeMillis();
-                PDPage page = sourceDocumentHandler.getPage(pageNumber);
-
-                for (Table table : parameters.getTables(pageNumber)) {
-                    List<Rectangle> cellAreas = new ArrayList<>();
-                    for (TopLeftRectangularBox row : table.getRows()) {
-                        for (TopLeftRectangularBox column : table.getColumns()) {
-                            TopLeftRectangularBox cell = row.intersection(column);
-                            if (!cell.asRectangle().isEmpty()) {
-                                cellAreas.add(cell.withPadding(1).asRectangle());
-                            } else {
-                                LOG.warn("Column and row do not intersect: row: " + row.toString() + ", column: "
-                                        + column.toString());
-                                cellAreas.add(new Rectangle(0, 0, 0, 0));
-                            }
-                        }
-                    }
-
-                    LOG.debug("Extracting text for {} table cells", cellAreas.size());
-                    long startTimingCells = System.currentTimeMillis();
-                    List<String> cellValues = new PdfTextExtractorByArea().extractTextFromAreas(page, cellAreas);
-                    LOG.debug("Text extraction took {} seconds",
-                            (System.currentTimeMillis() - startTimingCells) / 1000);
-
-                    int i = 0;
-                    ArrayList<String> rowData = new ArrayList<>();
-                    for (TopLeftRectangularBox row : table.getRows()) {
-                        for (TopLeftRectangularBox column : table.getColumns()) {
-                            rowData.add(cellValues.get(i));
-                            i++;
-                        }
-                        dataTable.addRow(rowData);
-                        rowData = new ArrayList<>();
+            try (ExcelTablesWriter writer = new ExcelTablesWriter(parameters.isMergeTablesSpanningMultiplePages())) {
+                if (parameters.getParallelism() > 1 && source instanceof PdfFileSource) {
+                    nullSafeCloseQuietly(sourceDocumentHandler);
+                    concurrentExtraction(parameters, (PdfFileSource) source, numberOfPages, writer);
+                } else {
+                    for (int pageNumber = 1; pageNumber <= numberOfPages; pageNumber++) {
+                        executionContext().assertTaskNotCancelled();
+                        extractTables(parameters, sourceDocumentHandler.getPage(pageNumber), pageNumber)
+                                .forEach(writer::write);
                     }
-
-                    all.add(dataTable);
                 }
-
-                LOG.debug("Done extracting tables from page {}, took {} seconds", pageNumber,
-                        (System.currentTimeMillis() - start) / 1000);
+                LOG.debug("Writing data to excel file");
+                writer.writeTo(tmpFile);
+            } catch (IOException ioe) {
+                throw new TaskException("Could not save .xlsx file", ioe);
             }
 
-            if (parameters.isMergeTablesSpanningMultiplePages()) {
-                all = mergeTablesSpanningMultiplePages(all);
-            }
-            writeExcelFile(all, tmpFile);
-
             String outName = nameGenerator(parameters.getOutputPrefix())
                     .generate(nameRequest("xlsx").originalName(source.getName()).fileNumber(currentStep));
             outputWriter.addOutput(file(tmpFile).name(outName));
@@ -156,68 +116,71 @@ public class PdfToExcelTask extends BaseTask<PdfToExcelParameters> {
         LOG.debug("Input documents cropped and written to {}", parameters.getOutput());
     }
 
-    private List<DataTable> mergeTablesSpanningMultiplePages(List<DataTable> dataTables) {
-        List<DataTable> results = new ArrayList<>();
-        DataTable current = null;
-
-        for (DataTable dt : dataTables) {
-            if (current != null) {
-                if (current.hasSameColumnsAs(dt)) {
-                    current = current.mergeWith(dt);
-                } else {
-                    results.add(current);
-                    current = dt;
-                }
-            } else {
-                current = dt;
-            }
-        }
-
-        if (current != null) {
-            results.add(current);
+    /**
+     * Tables are extracted by a pool of workers, each one with its own instance of the source document. Extraction runs at most a few pages ahead of the writer, which consumes
+     * the extracted tables in pages order.
+     */
+    private void concurrentExtraction(PdfToExcelParameters parameters, PdfFileSource source, int numberOfPages,
+            ExcelTablesWriter writer) throws TaskException {
+        int parallelism = Math.min(parameters.getParallelism(), numberOfPages);
+        LOG.debug("Extracting tables from {} pages using {} threads", numberOfPages, parallelism);
+        try (PerWorkerDocumentExecutor<PDDocumentHandler> executor = new PerWorkerDocumentExecutor<>(
+                executionContext(), parallelism, () -> source.open(new DefaultPdfSourceOpener()),
+                ComponentsUtility::nullSafeCloseQuietly)) {
+            executor.execute(IntStream.rangeClosed(1, numberOfPages).boxed().collect(Collectors.toList()),
+                    (document, pageNumber) -> extractTables(parameters, document.getPage(pageNumber), pageNumber),
+                    (pageNumber, tables) -> tables.forEach(writer::write));
         }
-
-        return results;
     }
 
-    private void writeExcelFile(List<DataTable> dataTables, File tmpFile) throws TaskException {
-        LOG.debug("Writing data to excel file");
+    private static List<DataTable> extractTables(PdfToExcelParameters parameters, PDPage page, int pageNumber)
+            throws TaskException {
+        List<DataTable> all = new ArrayList<>();
+        DataTable dataTable = new DataTable(pageNumber);
+        LOG.debug("Extracting tables from page {}", pageNumber);
         long start = System.currentTimeMillis();
 
-        Workbook wb = new XSSFWorkbook();
-        try (FileOutputStream fileOut = new FileOutputStream(tmpFile)) {
-            for (int t = 0; t < dataTables.size(); t++) {
-                LOG.debug("Writing data table " + t);
-                DataTable dataTable = dataTables.get(t);
-                List<List<String>> data = dataTable.getData();
-                Sheet sheet = wb.createSheet(String.format("Table %d (%s)", t + 1, dataTable.getPagesAsString()));
-
-                for (int r = 0; r < data.size(); r++) {
-                    List<String> dataRow = data.get(r);
-                    LOG.debug("Writing row " + r + " of " + dataRow.size() + " values");
-
-                    Row row = sheet.createRow(r);
-
-                    for (int i = 0; i < dataRow.size(); i++) {
-                        String stringValue = dataRow.get(i);
-                        row.createCell(i).setCellValue(stringValue);
+        for (Table table : parameters.getTables(pageNumber)) {
+            List<Rectangle> cellAreas = new ArrayList<>();
+            for (TopLeftRectangularBox row : table.getRows()) {
+                for (TopLeftRectangularBox column : table.getColumns()) {
+                    TopLeftRectangularBox cell = row.intersection(column);
+                    if (!cell.asRectangle().isEmpty()) {
+                        cellAreas.add(cell.withPadding(1).asRectangle());
+                    } else {
+                        LOG.warn("Column and row do not intersect: row: " + row.toString() + ", column: "
+                                + column.toString());
+                        cellAreas.add(new Rectangle(0, 0, 0, 0));
                     }
                 }
+            }
 
-                for (int c = 0; c < sheet.getRow(0).getPhysicalNumberOfCells(); c++) {
-                    sheet.autoSizeColumn(c);
+            LOG.debug("Extracting text for {} table cells", cellAreas.size());
+            long startTimingCells = System.currentTimeMillis();
+            List<String> cellValues = new PdfTextExtractorByArea().extractTextFromAreas(page, cellAreas);
+            LOG.debug("Text extraction took {} seconds", (System.currentTimeMillis() - startTimingCells) / 1000);
+
+            int i = 0;
+            ArrayList<String> rowData = new ArrayList<>();
+            for (TopLeftRectangularBox row : table.getRows()) {
+                for (TopLeftRectangularBox column : table.getColumns()) {
+                    rowData.add(cellValues.get(i));
+                    i++;
                 }
+                dataTable.addRow(rowData);
+                rowData = new ArrayList<>();
             }
-            wb.write(fileOut);
-            LOG.debug("Done writing data to excel file, took {} seconds", (System.currentTimeMillis() - start) / 1000);
-        } catch (IOException ioe) {
-            throw new TaskException("Could not save .xlsx file", ioe);
+
+            all.add(dataTable);
         }
+
+        LOG.debug("Done extracting tables from page {}, took {} seconds", pageNumber,
+                (System.currentTimeMillis() - start) / 1000);
+        return all;
     }
 
     @Override
     public void after() {
         nullSafeCloseQuietly(sourceDocumentHandler);
-        nullSafeCloseQuietly(destinationDocument);
     }
 }
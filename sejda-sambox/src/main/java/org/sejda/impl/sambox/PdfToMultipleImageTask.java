@@ -26,17 +26,22 @@ import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
 import java.awt.image.BufferedImage;
+import java.io.Closeable;
 import java.io.File;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.sejda.common.ComponentsUtility;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.util.PerWorkerDocumentExecutor;
 import org.sejda.core.writer.context.ImageWriterContext;
 import org.sejda.core.writer.model.ImageWriter;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.input.PdfSourceOpener;
 import org.sejda.model.parameter.image.PdfToJpegParameters;
@@ -57,7 +62,14 @@ public class PdfToMultipleImageTask extends BaseTask<PdfToJpegParameters> {
     public void before(PdfToJpegParameters parameters, TaskExecutionContext executionContext) throws TaskException {
         super.before(parameters, executionContext);
         outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(), executionContext);
-        writer = ImageWriterContext.getContext().getImageWriterFactory().createImageWriter(parameters);
+        writer = newImageWriter(parameters);
+        LOG.trace("Found image writer {}", writer);
+    }
+
+    private static ImageWriter<PdfToJpegParameters> newImageWriter(PdfToJpegParameters parameters)
+            throws TaskExecutionException {
+        ImageWriter<PdfToJpegParameters> writer = ImageWriterContext.getContext().getImageWriterFactory()
+                .createImageWriter(parameters);
         if (writer == null) {
             LOG.info("Unable to create an ImageWriter using the provided factory, falling back on default factory.");
             writer = ImageWriterContext.getContext().getDefaultImageWriterFactory().createImageWriter(parameters);
@@ -65,7 +77,7 @@ public class PdfToMultipleImageTask extends BaseTask<PdfToJpegParameters> {
         if (writer == null) {
             throw new TaskExecutionException(String.format("No suitable ImageWriter found for %s.", parameters));
         }
-        LOG.trace("Found image writer {}", writer);
+        return writer;
     }
 
     @Override
@@ -86,6 +98,13 @@ public class PdfToMultipleImageTask extends BaseTask<PdfToJpegParameters> {
 
             LOG.trace("Found {} pages to convert", totalSteps);
 
+            if (parameters.getParallelism() > 1 && source instanceof PdfFileSource) {
+                nullSafeCloseQuietly(documentHandler);
+                currentStep = concurrentConversion(parameters, (PdfFileSource) source, requestedPages, currentStep,
+                        currentFileNumber, totalSteps);
+                continue;
+            }
+
             for (int currentPage : requestedPages) {
                 currentStep++;
 
@@ -115,6 +134,67 @@ public class PdfToMultipleImageTask extends BaseTask<PdfToJpegParameters> {
         LOG.debug("Documents converted to {} and saved to {}", parameters.getOutputImageType(), parameters.getOutput());
     }
 
+    /**
+     * Pages are rendered and encoded by a pool of workers, each one with its own instance of the source document and its own {@link ImageWriter}, so at most one rendered page
+     * per worker is held in memory. Outputs are named and added in the requested pages order by the calling thread.
+     * 
+     * @return the current step
+     */
+    private int concurrentConversion(PdfToJpegParameters parameters, PdfFileSource source, Set<Integer> pages,
+            int currentStep, int currentFileNumber, int totalSteps) throws TaskException {
+        int parallelism = Math.min(parameters.getParallelism(), pages.size());
+        LOG.debug("Converting {} pages using {} threads", pages.size(), parallelism);
+        AtomicInteger step = new AtomicInteger(currentStep);
+        try (PerWorkerDocumentExecutor<PageConverter> executor = new PerWorkerDocumentExecutor<>(executionContext(),
+                parallelism, () -> {
+                    PDDocumentHandler document = source.open(new DefaultPdfSourceOpener());
+                    try {
+                        return new PageConverter(document, newImageWriter(parameters));
+                    } catch (TaskException e) {
+                        nullSafeCloseQuietly(document);
+                        throw e;
+                    }
+                }, ComponentsUtility::nullSafeCloseQuietly)) {
+            executor.execute(pages, (converter, currentPage) -> {
+                File tmpFile = createTemporaryBuffer();
+                LOG.debug("Created output temporary buffer {} ", tmpFile);
+                BufferedImage pageImage = converter.document.renderImage(currentPage, parameters.getResolutionInDpi());
+                LOG.trace("Writing page {}", currentPage);
+                converter.writer.openWriteDestination(tmpFile, parameters);
+                converter.writer.write(pageImage, parameters);
+                converter.writer.closeDestination();
+                return tmpFile;
+            }, (currentPage, tmpFile) -> {
+                String outName = nameGenerator(parameters.getOutputPrefix())
+                        .generate(nameRequest(parameters.getOutputImageType().getExtension()).page(currentPage)
+                                .originalName(source.getName()).fileNumber(currentFileNumber));
+                outputWriter.addOutput(file(tmpFile).name(outName));
+                notifyEvent(executionContext().notifiableTaskMetadata()).stepsCompleted(step.incrementAndGet())
+                        .outOf(totalSteps);
+            });
+        }
+        return step.get();
+    }
+
+    /**
+     * Document and {@link ImageWriter} of a worker
+     */
+    private static class PageConverter implements Closeable {
+        private final PDDocumentHandler document;
+        private final ImageWriter<PdfToJpegParameters> writer;
+
+        PageConverter(PDDocumentHandler document, ImageWriter<PdfToJpegParameters> writer) {
+            this.document = document;
+            this.writer = writer;
+        }
+
+        @Override
+        public void close() {
+            nullSafeCloseQuietly(writer);
+            nullSafeCloseQuietly(document);
+        }
+    }
+
     @Override
     public void after() {
         nullSafeCloseQuietly(writer);
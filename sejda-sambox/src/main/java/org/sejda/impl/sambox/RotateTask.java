@@ -26,7 +26,10 @@ import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
 
+import org.sejda.core.support.io.IOUtils;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
@@ -56,6 +59,7 @@ public class RotateTask extends BaseTask<RotateParameters> {
     private int totalSteps;
     private PDDocumentHandler documentHandler = null;
     private MultipleOutputWriter outputWriter;
+    private List<File> buffers = new ArrayList<>();
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
 
     @Override
@@ -79,7 +83,8 @@ public class RotateTask extends BaseTask<RotateParameters> {
                 documentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
                 documentHandler.setCreatorOnPDDocument();
 
-                File tmpFile = createTemporaryPdfBuffer();
+                File tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
+                buffers.add(tmpFile);
                 LOG.debug("Created output on temporary buffer {}", tmpFile);
 
                 PdfRotator rotator = new PdfRotator(documentHandler.getUnderlyingPDDocument());
@@ -115,6 +120,8 @@ public class RotateTask extends BaseTask<RotateParameters> {
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        buffers.forEach(IOUtils::deleteBuffer);
+        buffers.clear();
     }
 
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ package org.sejda.impl.sambox;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 
 import java.io.File;
@@ -53,6 +54,7 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
 
     private PDDocumentHandler documentHandler = null;
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
 
     @Override
@@ -72,7 +74,7 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
         documentHandler = source.open(documentLoader);
         documentHandler.setCreatorOnPDDocument();
 
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {}", tmpFile);
 
         LOG.debug("Setting metadata on temporary document.");
@@ -97,6 +99,8 @@ public class SetMetadataTask extends BaseTask<SetMetadataParameters> {
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
 }
\ No newline at end of file
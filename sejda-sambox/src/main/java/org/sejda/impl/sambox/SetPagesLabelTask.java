@@ -21,6 +21,7 @@ package org.sejda.impl.sambox;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 
 import java.io.File;
@@ -50,6 +51,7 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
 
     private PDDocumentHandler documentHandler = null;
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
 
     @Override
@@ -68,7 +70,7 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
         LOG.debug("Opening {}", source);
         documentHandler = source.open(documentLoader);
 
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {}", tmpFile);
 
         LOG.debug("Applying {} labels ", parameters.getLabels().size());
@@ -88,6 +90,8 @@ public class SetPagesLabelTask extends BaseTask<SetPagesLabelParameters> {
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
 }
@@ -22,6 +22,7 @@ import static java.util.Optional.ofNullable;
 import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
 import static org.sejda.core.notification.dsl.ApplicationEventsNotifier.notifyEvent;
 import static org.sejda.core.support.io.IOUtils.createTemporaryPdfBuffer;
+import static org.sejda.core.support.io.IOUtils.deleteBuffer;
 import static org.sejda.core.support.io.model.FileOutput.file;
 import static org.sejda.impl.sambox.util.TransitionUtils.getTransition;
 import static org.sejda.impl.sambox.util.TransitionUtils.initTransitionDimension;
@@ -59,6 +60,7 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
 
     private PDDocumentHandler documentHandler = null;
     private SingleOutputWriter outputWriter;
+    private File tmpFile;
     private PdfSourceOpener<PDDocumentHandler> documentLoader;
 
     @Override
@@ -78,7 +80,7 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
         LOG.debug("Opening {}", source);
         documentHandler = source.open(documentLoader);
 
-        File tmpFile = createTemporaryPdfBuffer();
+        tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
         LOG.debug("Created output temporary buffer {}", tmpFile);
 
         LOG.debug("Applying transitions");
@@ -116,6 +118,8 @@ public class SetPagesTransitionTask extends BaseTask<SetPagesTransitionParameter
     @Override
     public void after() {
         nullSafeCloseQuietly(documentHandler);
+        deleteBuffer(tmpFile);
+        tmpFile = null;
     }
 
 
@@ -64,8 +64,9 @@ public class SplitByTextContentTask extends BaseTask<SplitByTextContentParameter
             sourceDocumentHandler.getPermissions().ensurePermission(PdfAccessPermission.ASSEMBLE);
             PDDocument sourceDocument = sourceDocumentHandler.getUnderlyingPDDocument();
 
-            splitter = new ByTextChangesPdfSplitter(sourceDocument, parameters,
-                    new OptimizationRuler(parameters.getOptimizationPolicy()).apply(sourceDocument));
+            splitter = new ByTextChangesPdfSplitter(sourceDocument, source, parameters,
+                    new OptimizationRuler(parameters.getOptimizationPolicy()).apply(sourceDocument),
+                    executionContext());
             LOG.debug("Starting to split by text content");
             splitter.split(executionContext(), parameters.getOutputPrefix(), source);
         }
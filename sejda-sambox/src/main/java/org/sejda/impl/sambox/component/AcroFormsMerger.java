@@ -67,10 +67,14 @@ import static org.sejda.sambox.cos.COSName.TYPE;
 import static org.sejda.sambox.cos.COSName.V;
 
 import java.io.IOException;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 import java.util.function.BiConsumer;
@@ -110,6 +114,11 @@ public class AcroFormsMerger {
     private PDAcroForm form;
     private String random = Long.toString(UUID.randomUUID().getMostSignificantBits(), 36);
     private Long counter = 0L;
+    /**
+     * Fully qualified names of the fields reachable from the merged form. Fields are indexed when they are attached to the form, after they have been renamed, so lookups don't
+     * have to walk the merged form fields tree.
+     */
+    private final Map<String, PDField> mergedFields = new HashMap<>();
 
     private final BiFunction<PDTerminalField, LookupTable<PDField>, PDTerminalField> createOrReuseTerminalField = (
             PDTerminalField existing, LookupTable<PDField> fieldsLookup) -> {
@@ -155,7 +164,22 @@ public class AcroFormsMerger {
     };
 
     private PDField getMergedField(String fullyQualifiedName) {
-        return ofNullable(fullyQualifiedName).map(form::getField).orElse(null);
+        return ofNullable(fullyQualifiedName).map(mergedFields::get).orElse(null);
+    }
+
+    /**
+     * Adds the given root fields to the merged form and indexes them, together with their descendants
+     */
+    private void addFields(List<PDField> fields) {
+        this.form.addFields(fields);
+        Deque<PDField> pending = new ArrayDeque<>(fields);
+        while (!pending.isEmpty()) {
+            PDField current = pending.pop();
+            ofNullable(current.getFullyQualifiedName()).ifPresent(name -> mergedFields.putIfAbsent(name, current));
+            if (!current.isTerminal()) {
+                ((PDNonTerminalField) current).getChildren().forEach(pending::push);
+            }
+        }
     }
 
     private final BiConsumer<PDField, LookupTable<PDField>> createRenamingNonTerminalField = (PDField field,
@@ -248,7 +272,7 @@ public class AcroFormsMerger {
             }
         });
 
-        this.form.addFields(originalForm.getFields().stream().map(fieldsLookup::lookup).filter(Objects::nonNull)
+        addFields(originalForm.getFields().stream().map(fieldsLookup::lookup).filter(Objects::nonNull)
                 .collect(Collectors.toList()));
         // let's process those annotations containing merged widget/fields dictionaries and somehow not referenced by originalForm acroform (ex. empty fields array)
         annotationsLookup.values().stream().filter(a -> a instanceof PDAnnotationWidget)
@@ -263,7 +287,7 @@ public class AcroFormsMerger {
                             newOrphanField.addWidgetIfMissing(w);
                             newOrphanField.getCOSObject().removeItems(WIDGET_KEYS);
                             if (isNull(getMergedField(newOrphanField.getFullyQualifiedName()))) {
-                                this.form.addFields(Arrays.asList(newOrphanField));
+                                addFields(Arrays.asList(newOrphanField));
                             }
                         }
                     }
@@ -289,6 +313,8 @@ public class AcroFormsMerger {
                 fields.add(field);
             }
             form.flatten(fields, true);
+            // flattened fields are removed from the form
+            mergedFields.clear();
         } catch (IOException | UnsupportedOperationException ex) {
             LOG.warn("Failed to flatten form", ex);
         }
@@ -303,6 +329,8 @@ public class AcroFormsMerger {
         for (PDField current : form.getFieldTree()) {
             if (!current.isTerminal() && !((PDNonTerminalField) current).hasChildren()) {
                 LOG.info("Removing non terminal field with no child {}", current.getFullyQualifiedName());
+                ofNullable(current.getFullyQualifiedName()).ifPresent(name -> mergedFields.computeIfPresent(name,
+                        (k, v) -> v.getCOSObject() == current.getCOSObject() ? null : v));
                 if (nonNull(current.getParent())) {
                     current.getParent().removeChild(current);
                 } else {
@@ -167,7 +167,7 @@ public final class AnnotationsDistiller {
                 }
             }
             if (destination instanceof PDNamedDestination) {
-                return document.getDocumentCatalog().findNamedDestinationPage((PDNamedDestination) destination);
+                return NamedDestinations.findPageDestination(document, (PDNamedDestination) destination);
             }
             return destination;
         } catch (Exception e) {
@@ -17,8 +17,16 @@
  */
 package org.sejda.impl.sambox.component;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
 
+import org.sejda.io.BufferedSeekableSource;
+import org.sejda.io.MemoryMappedSeekableSource;
+import org.sejda.io.SeekableSource;
 import org.sejda.io.SeekableSources;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskWrongPasswordException;
@@ -29,15 +37,29 @@ import org.sejda.model.input.PdfURLSource;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.encryption.InvalidPasswordException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
- * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler}.
+ * SAMBox component able to open a PdfSource and return the corresponding {@link PDDocumentHandler}. The way sources are read can be tuned using the
+ * {@value #SAMBOX_MEMORY_MAPPED_THRESHOLD} and {@value #SAMBOX_IN_MEMORY_THRESHOLD} system properties.
  * 
  * @author Andrea Vacondio
  * 
  */
 public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler> {
 
+    /**
+     * Files bigger than this size in bytes are memory mapped instead of being read through a file channel. Negative (the default) means files are never memory mapped.
+     */
+    public static final String SAMBOX_MEMORY_MAPPED_THRESHOLD = "sejda.sambox.mapped.threshold";
+    /**
+     * Streams and URL sources smaller than this size in bytes are kept in memory instead of being spooled to a temporary file. Zero (the default) means they are always spooled.
+     */
+    public static final String SAMBOX_IN_MEMORY_THRESHOLD = "sejda.sambox.inmemory.threshold";
+
+    private static final Logger LOG = LoggerFactory.getLogger(DefaultPdfSourceOpener.class);
+
     private static final String WRONG_PWD_MESSAGE = "Unable to open the document due to a wrong password.";
     private static final String ERROR_MESSAGE = "An error occurred opening the source: %s.";
 
@@ -45,7 +67,7 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
     public PDDocumentHandler open(PdfURLSource source) throws TaskIOException {
         try {
             PDDocument document = PDFParser.parse(
-                    SeekableSources.onTempFileSeekableSourceFrom(source.getSource().openStream()),
+                    seekableSourceFrom(source.getSource().openStream()),
                     source.getPassword());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
@@ -58,7 +80,7 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
     @Override
     public PDDocumentHandler open(PdfFileSource source) throws TaskIOException {
         try {
-            PDDocument document = PDFParser.parse(SeekableSources.seekableSourceFrom(source.getSource()),
+            PDDocument document = PDFParser.parse(seekableSourceFrom(source.getSource()),
                     source.getPassword());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
@@ -71,7 +93,7 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
     @Override
     public PDDocumentHandler open(PdfStreamSource source) throws TaskIOException {
         try {
-            PDDocument document = PDFParser.parse(SeekableSources.onTempFileSeekableSourceFrom(source.getSource()),
+            PDDocument document = PDFParser.parse(seekableSourceFrom(source.getSource()),
                     source.getPassword());
             return new PDDocumentHandler(document);
         } catch (InvalidPasswordException ipe) {
@@ -80,4 +102,38 @@ public class DefaultPdfSourceOpener implements PdfSourceOpener<PDDocumentHandler
             throw new TaskIOException(String.format(ERROR_MESSAGE, source), e);
         }
     }
+
+    private static SeekableSource seekableSourceFrom(File file) throws IOException {
+        long threshold = Long.getLong(SAMBOX_MEMORY_MAPPED_THRESHOLD, -1);
+        if (threshold >= 0 && file.length() > threshold) {
+            LOG.trace("Memory mapping {}", file);
+            return new BufferedSeekableSource(new MemoryMappedSeekableSource(file));
+        }
+        return SeekableSources.seekableSourceFrom(file);
+    }
+
+    /**
+     * Reads the given stream into a buffer growing as needed, if the stream ends before the in memory threshold is reached the content is kept in memory, otherwise the read
+     * content and the rest of the stream are spooled to a temporary file
+     */
+    private static SeekableSource seekableSourceFrom(InputStream stream) throws IOException {
+        int threshold = Integer.getInteger(SAMBOX_IN_MEMORY_THRESHOLD, 0);
+        if (threshold <= 0) {
+            return SeekableSources.onTempFileSeekableSourceFrom(stream);
+        }
+        ByteArrayOutputStream content = new ByteArrayOutputStream(Math.min(threshold, 64 * 1024));
+        byte[] chunk = new byte[Math.min(threshold, 8 * 1024)];
+        int read;
+        while (content.size() < threshold
+                && (read = stream.read(chunk, 0, Math.min(chunk.length, threshold - content.size()))) != -1) {
+            content.write(chunk, 0, read);
+        }
+        if (content.size() < threshold) {
+            LOG.trace("Keeping {} bytes source in memory", content.size());
+            stream.close();
+            return SeekableSources.inMemorySeekableSourceFrom(content.toByteArray());
+        }
+        return SeekableSources.onTempFileSeekableSourceFrom(
+                new SequenceInputStream(new ByteArrayInputStream(content.toByteArray()), stream));
+    }
 }
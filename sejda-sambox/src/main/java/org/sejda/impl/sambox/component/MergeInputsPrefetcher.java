@@ -0,0 +1,234 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.requireNonNull;
+import static java.util.Optional.ofNullable;
+import static org.sejda.common.ComponentsUtility.nullSafeCloseQuietly;
+
+import java.io.Closeable;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.input.PdfMergeInput;
+import org.sejda.model.input.PdfSourceOpener;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component opening the merge inputs in order. When a prefetch size is given, the following inputs are opened and pre processed in background while the current one is merged:
+ * the page tree is loaded and the objects reachable from the requested pages (resources, content streams dictionaries, annotations), from the outline and from the AcroForm are
+ * parsed. A document is never accessed by more than one thread at the time, it's handed over to the caller once its pre processing is completed.
+ * <p>
+ * Only reading is done in background. Everything writing to the destination document (pages import, annotations and links relocation, outline and AcroForm merge, table of
+ * contents and blank pages) stays on the merge thread.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class MergeInputsPrefetcher implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MergeInputsPrefetcher.class);
+
+    private final Iterator<PdfMergeInput> inputs;
+    private final PdfSourceOpener<PDDocumentHandler> opener;
+    private final int prefetchSize;
+    private final Deque<Prefetch> pending = new ArrayDeque<>();
+    private ExecutorService executor;
+
+    /**
+     * @param inputs
+     *            the inputs to open
+     * @param opener
+     * @param prefetchSize
+     *            number of inputs opened in background ahead of the current one. Zero or less means inputs are opened on demand by the calling thread.
+     */
+    public MergeInputsPrefetcher(List<PdfMergeInput> inputs, PdfSourceOpener<PDDocumentHandler> opener,
+            int prefetchSize) {
+        this.inputs = requireNonNull(inputs).iterator();
+        this.opener = requireNonNull(opener);
+        this.prefetchSize = prefetchSize;
+        if (prefetchSize > 0) {
+            AtomicInteger counter = new AtomicInteger();
+            this.executor = Executors.newFixedThreadPool(
+                    Math.min(prefetchSize, Runtime.getRuntime().availableProcessors()), r -> {
+                        Thread thread = new Thread(r, "sejda-merge-prefetch-" + counter.incrementAndGet());
+                        thread.setDaemon(true);
+                        return thread;
+                    });
+        }
+    }
+
+    /**
+     * Opens the given input on the calling thread when no prefetch is configured, otherwise waits for the background opening of the given input to complete, scheduling the
+     * opening of the following ones. Inputs must be requested in the same order they were given to the constructor.
+     *
+     * @param input
+     * @return the handler for the given input
+     * @throws TaskException
+     *             if the input cannot be opened or it's not the next one in the order given to the constructor
+     */
+    public PDDocumentHandler open(PdfMergeInput input) throws TaskException {
+        if (executor == null) {
+            if (!inputs.hasNext() || inputs.next() != input) {
+                throw outOfOrder(input);
+            }
+            return input.getSource().open(opener);
+        }
+        fill(1);
+        if (pending.isEmpty() || pending.peek().input != input) {
+            throw outOfOrder(input);
+        }
+        Future<PDDocumentHandler> next = pending.poll().handler;
+        try {
+            return next.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new TaskExecutionException("Interrupted while opening " + input.getSource(), e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof TaskException) {
+                throw (TaskException) e.getCause();
+            }
+            throw new TaskExecutionException("An error occurred opening " + input.getSource(), e.getCause());
+        } finally {
+            fill(prefetchSize);
+        }
+    }
+
+    private void fill(int size) {
+        while (pending.size() < size && inputs.hasNext()) {
+            PdfMergeInput current = inputs.next();
+            pending.add(new Prefetch(current, executor.submit(() -> prefetch(current))));
+        }
+    }
+
+    private static TaskExecutionException outOfOrder(PdfMergeInput input) {
+        return new TaskExecutionException(
+                "Merge inputs must be opened in the order they were given, unexpected " + input.getSource());
+    }
+
+    private PDDocumentHandler prefetch(PdfMergeInput input) throws TaskException {
+        LOG.trace("Prefetching {}", input.getSource());
+        PDDocumentHandler handler = input.getSource().open(opener);
+        try {
+            Set<COSBase> loaded = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (PDPage page : handler.getUnderlyingPDDocument().getPages()) {
+                loaded.add(page.getCOSObject());
+            }
+            for (Integer pageNumber : input.getPages(handler.getNumberOfPages())) {
+                if (pageNumber <= handler.getNumberOfPages()) {
+                    COSDictionary page = handler.getPage(pageNumber).getCOSObject();
+                    load(page.getItem(COSName.RESOURCES), loaded);
+                    load(page.getItem(COSName.CONTENTS), loaded);
+                    load(page.getItem(COSName.ANNOTS), loaded);
+                }
+            }
+            load(handler.catalog().getCOSObject().getItem(COSName.OUTLINES), loaded);
+            load(handler.catalog().getCOSObject().getItem(COSName.ACRO_FORM), loaded);
+        } catch (RuntimeException e) {
+            // pre processing is a best effort, errors will come up again and handled during the merge
+            LOG.debug("Unable to pre process " + input.getSource(), e);
+        }
+        return handler;
+    }
+
+    /**
+     * Resolves, and therefore parses, the given object and the objects reachable from it. Page tree nodes are already loaded and they are not traversed, so that references to
+     * other pages (annotations parent page, destinations...) don't cause the whole document to be parsed.
+     */
+    private static void load(COSBase root, Set<COSBase> loaded) {
+        Deque<COSBase> toLoad = new ArrayDeque<>();
+        ofNullable(root).ifPresent(toLoad::push);
+        while (!toLoad.isEmpty()) {
+            COSBase current = toLoad.pop().getCOSObject();
+            if (loaded.add(current)) {
+                if (current instanceof COSDictionary && !isPageTreeNode((COSDictionary) current)) {
+                    for (Map.Entry<COSName, COSBase> entry : ((COSDictionary) current).entrySet()) {
+                        ofNullable(entry.getValue()).ifPresent(toLoad::push);
+                    }
+                } else if (current instanceof COSArray) {
+                    for (COSBase item : (COSArray) current) {
+                        ofNullable(item).ifPresent(toLoad::push);
+                    }
+                }
+            }
+        }
+    }
+
+    private static boolean isPageTreeNode(COSDictionary dictionary) {
+        return COSName.PAGE.equals(dictionary.getCOSName(COSName.TYPE))
+                || COSName.PAGES.equals(dictionary.getCOSName(COSName.TYPE));
+    }
+
+    /**
+     * Stops any background opening and closes the documents that have been opened but not yet returned
+     */
+    @Override
+    public void close() {
+        if (executor != null) {
+            executor.shutdown();
+            Prefetch prefetch;
+            while ((prefetch = pending.poll()) != null) {
+                Future<PDDocumentHandler> current = prefetch.handler;
+                if (!current.cancel(false)) {
+                    try {
+                        nullSafeCloseQuietly(current.get());
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    } catch (ExecutionException | CancellationException e) {
+                        // nothing to close
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * An input and its background opening
+     */
+    private static class Prefetch {
+        private final PdfMergeInput input;
+        private final Future<PDDocumentHandler> handler;
+
+        Prefetch(PdfMergeInput input, Future<PDDocumentHandler> handler) {
+            this.input = input;
+            this.handler = handler;
+        }
+    }
+}
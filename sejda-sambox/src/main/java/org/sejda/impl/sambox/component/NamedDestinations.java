@@ -0,0 +1,181 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.WeakHashMap;
+
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDDocumentCatalog;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDDestination;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDNamedDestination;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the named destinations of a document, used to resolve {@link PDNamedDestination}s without descending the catalog names tree for every outline item or link
+ * annotation. The index of a document catalog is built the first time one of its named destinations is resolved, it contains the names of the /Dests names tree and of the
+ * catalog /Dests dictionary, as a sorted array, and the corresponding destination objects, which are converted only when looked up. The index reflects the names tree at the time
+ * it was built, names not found in the index are looked up in the catalog.
+ *
+ * @author agent
+ *
+ */
+public final class NamedDestinations {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NamedDestinations.class);
+
+    private static final Map<COSDictionary, NamedDestinations> INDEXES = Collections
+            .synchronizedMap(new WeakHashMap<>());
+
+    private final String[] names;
+    private final COSBase[] destinations;
+
+    private NamedDestinations(COSDictionary catalog) {
+        Map<String, COSBase> sorted = new TreeMap<>();
+        ofNullable(catalog.getDictionaryObject(COSName.NAMES, COSDictionary.class))
+                .map(n -> n.getDictionaryObject(COSName.DESTS, COSDictionary.class))
+                .ifPresent(tree -> collectNamesTree(tree, sorted));
+        // names tree takes precedence over the PDF 1.1 dests dictionary
+        ofNullable(catalog.getDictionaryObject(COSName.DESTS, COSDictionary.class)).ifPresent(
+                dests -> dests.entrySet().forEach(e -> sorted.putIfAbsent(e.getKey().getName(), e.getValue())));
+        this.names = sorted.keySet().toArray(new String[sorted.size()]);
+        this.destinations = sorted.values().toArray(new COSBase[sorted.size()]);
+        LOG.debug("Indexed {} named destinations", names.length);
+    }
+
+    private static void collectNamesTree(COSDictionary root, Map<String, COSBase> sorted) {
+        Set<COSDictionary> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSDictionary> pending = new ArrayDeque<>();
+        pending.push(root);
+        while (!pending.isEmpty()) {
+            COSDictionary node = pending.pop();
+            if (visited.add(node)) {
+                COSArray pairs = node.getDictionaryObject(COSName.NAMES, COSArray.class);
+                if (nonNull(pairs)) {
+                    for (int i = 0; i + 1 < pairs.size(); i += 2) {
+                        COSBase key = pairs.getObject(i);
+                        if (key instanceof COSString) {
+                            sorted.putIfAbsent(((COSString) key).getString(), pairs.get(i + 1));
+                        }
+                    }
+                }
+                COSArray kids = node.getDictionaryObject(COSName.KIDS, COSArray.class);
+                if (nonNull(kids)) {
+                    // reverse order so that kids are visited in the names tree order
+                    for (int i = kids.size() - 1; i >= 0; i--) {
+                        COSBase kid = kids.getObject(i);
+                        if (kid instanceof COSDictionary) {
+                            pending.push((COSDictionary) kid);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private PDPageDestination find(String name) throws IOException {
+        int index = Arrays.binarySearch(names, name);
+        if (index < 0) {
+            return null;
+        }
+        COSBase destination = ofNullable(destinations[index]).map(COSBase::getCOSObject).orElse(null);
+        if (destination instanceof COSDictionary) {
+            destination = ((COSDictionary) destination).getDictionaryObject(COSName.D);
+        }
+        if (destination instanceof COSArray) {
+            PDDestination pageDestination = PDDestination.create(destination);
+            if (pageDestination instanceof PDPageDestination) {
+                return (PDPageDestination) pageDestination;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @param document
+     *            the document the named destination belongs to
+     * @param destination
+     * @return the page destination the given named destination refers to or null if the document has no such named destination
+     * @throws IOException
+     */
+    public static PDPageDestination findPageDestination(PDDocument document, PDNamedDestination destination)
+            throws IOException {
+        return findPageDestination(document.getDocumentCatalog(), destination);
+    }
+
+    /**
+     * @param catalog
+     *            the catalog of the document the named destination belongs to
+     * @param destination
+     * @return the page destination the given named destination refers to or null if the document has no such named destination
+     * @throws IOException
+     */
+    public static PDPageDestination findPageDestination(PDDocumentCatalog catalog, PDNamedDestination destination)
+            throws IOException {
+        String name = destination.getNamedDestination();
+        if (isNull(name)) {
+            return null;
+        }
+        COSDictionary dictionary = catalog.getCOSObject();
+        if (nonNull(dictionary)) {
+            NamedDestinations index = INDEXES.get(dictionary);
+            if (isNull(index)) {
+                // built outside the lock, concurrent builds for the same catalog are harmless and the first one is kept
+                NamedDestinations built = new NamedDestinations(dictionary);
+                index = ofNullable(INDEXES.putIfAbsent(dictionary, built)).orElse(built);
+            }
+            PDPageDestination found = index.find(name);
+            if (nonNull(found)) {
+                return found;
+            }
+        }
+        // not indexed, names added after the index was built or broken links
+        return catalog.findNamedDestinationPage(destination);
+    }
+
+    /**
+     * Releases the named destinations index of the given document, if any
+     *
+     * @param document
+     */
+    public static void release(PDDocument document) {
+        if (nonNull(document)) {
+            INDEXES.remove(document.getDocumentCatalog().getCOSObject());
+        }
+    }
+}
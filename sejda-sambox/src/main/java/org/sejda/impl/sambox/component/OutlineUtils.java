@@ -71,7 +71,7 @@ public final class OutlineUtils {
      * @param catalog
      *            the catalog to look for in case of {@link PDNamedDestination}
      * @return the {@link PDPageDestination} for the given {@link PDOutlineItem} or an empty {@link Optional} if the destination is not a page. In case the outline item has a named
-     *         destination, it is resolved against the given names tree.
+     *         destination, it is resolved using the {@link NamedDestinations} index of the given catalog.
      */
     public static Optional<PDPageDestination> toPageDestination(PDOutlineItem current, PDDocumentCatalog catalog) {
         try {
@@ -83,7 +83,7 @@ public final class OutlineUtils {
                 }
             }
             if (dest instanceof PDNamedDestination && catalog != null) {
-                dest = catalog.findNamedDestinationPage((PDNamedDestination) dest);
+                dest = NamedDestinations.findPageDestination(catalog, (PDNamedDestination) dest);
             }
             if (dest instanceof PDPageDestination) {
                 return Optional.of((PDPageDestination) dest);
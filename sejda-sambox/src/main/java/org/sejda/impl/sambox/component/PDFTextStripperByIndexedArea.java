@@ -0,0 +1,140 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import java.awt.geom.Rectangle2D;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.text.PDFTextStripper;
+import org.sejda.sambox.text.TextPosition;
+
+/**
+ * A text stripper extracting the text of a list of areas of a page in a single pass over the page content. It produces the same text as
+ * {@link org.sejda.sambox.text.PDFTextStripperByArea} with one region per area, but instead of testing every glyph against every region, areas are indexed in a uniform grid
+ * and every glyph is tested only against the areas overlapping its grid cell. This makes extraction of many small areas (Ex. table cells) roughly linear in the number of glyphs.
+ *
+ * @author agent
+ *
+ */
+class PDFTextStripperByIndexedArea extends PDFTextStripper {
+
+    private static final int GRID_CELL_SIZE = 16;
+
+    private final List<Rectangle2D> areas = new ArrayList<>();
+    private final Map<Long, List<Integer>> grid = new HashMap<>();
+    private final List<ArrayList<List<TextPosition>>> characters = new ArrayList<>();
+    private final List<StringWriter> texts = new ArrayList<>();
+
+    PDFTextStripperByIndexedArea() throws IOException {
+        super.setShouldSeparateByBeads(false);
+    }
+
+    /**
+     * Disabled, areas are always extracted ignoring beads
+     */
+    @Override
+    public void setShouldSeparateByBeads(boolean aShouldSeparateByBeads) {
+        // nothing
+    }
+
+    /**
+     * Adds an area to extract the text from
+     *
+     * @param area
+     * @return the index of the added area
+     */
+    public int addArea(Rectangle2D area) {
+        int index = areas.size();
+        areas.add(area);
+        characters.add(new ArrayList<>());
+        texts.add(new StringWriter());
+        if (!area.isEmpty()) {
+            for (long column = cell(area.getMinX()); column <= cell(area.getMaxX()); column++) {
+                for (long row = cell(area.getMinY()); row <= cell(area.getMaxY()); row++) {
+                    grid.computeIfAbsent(key(column, row), k -> new ArrayList<>()).add(index);
+                }
+            }
+        }
+        return index;
+    }
+
+    private static long cell(double coordinate) {
+        return (long) Math.floor(coordinate / GRID_CELL_SIZE);
+    }
+
+    private static long key(long column, long row) {
+        return (column << 32) ^ (row & 0xFFFFFFFFL);
+    }
+
+    /**
+     * Extracts the text of the added areas from the given page
+     *
+     * @param page
+     * @throws IOException
+     */
+    public void extractAreas(PDPage page) throws IOException {
+        setStartPage(getCurrentPageNo());
+        setEndPage(getCurrentPageNo());
+        for (int i = 0; i < areas.size(); i++) {
+            ArrayList<List<TextPosition>> areaCharactersByArticle = new ArrayList<>();
+            areaCharactersByArticle.add(new ArrayList<>());
+            characters.set(i, areaCharactersByArticle);
+            texts.set(i, new StringWriter());
+        }
+        if (page.hasContents()) {
+            processPage(page);
+        }
+    }
+
+    @Override
+    protected void processTextPosition(TextPosition text) {
+        List<Integer> candidates = grid.get(key(cell(text.getX()), cell(text.getY())));
+        if (candidates != null) {
+            for (int index : candidates) {
+                if (areas.get(index).contains(text.getX(), text.getY())) {
+                    charactersByArticle = characters.get(index);
+                    super.processTextPosition(text);
+                }
+            }
+        }
+    }
+
+    @Override
+    protected void writePage() throws IOException {
+        for (int i = 0; i < areas.size(); i++) {
+            charactersByArticle = characters.get(i);
+            output = texts.get(i);
+            super.writePage();
+        }
+    }
+
+    /**
+     * @param index
+     * @return the text extracted from the area with the given index
+     */
+    public String getTextForArea(int index) {
+        return texts.get(index).toString();
+    }
+}
@@ -24,23 +24,18 @@ import static org.sejda.impl.sambox.component.SignatureClipper.clipSignatures;
 
 import java.io.Closeable;
 import java.io.File;
-import java.util.Objects;
 import java.util.Set;
 
 import org.sejda.common.LookupTable;
-import org.sejda.impl.sambox.component.optimizaton.ResourceDictionaryCleaner;
-import org.sejda.impl.sambox.component.optimizaton.ResourcesHitter;
+import org.sejda.impl.sambox.component.optimizaton.ResourcesUsageIndex;
 import org.sejda.model.exception.TaskCancelledException;
 import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.pdf.PdfVersion;
 import org.sejda.model.pdf.form.AcroFormPolicy;
 import org.sejda.model.task.TaskExecutionContext;
-import org.sejda.sambox.cos.COSDictionary;
-import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
-import org.sejda.sambox.pdmodel.PDResources;
 import org.sejda.sambox.pdmodel.PageNotFoundException;
 import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
 import org.sejda.sambox.pdmodel.interactive.documentnavigation.outline.PDDocumentOutline;
@@ -62,9 +57,20 @@ public class PagesExtractor implements Closeable {
     private PDDocument origin;
     private PDDocumentHandler destinationDocument;
     private LookupTable<PDPage> pagesLookup = new LookupTable<>();
+    private ResourcesUsageIndex resourcesUsage;
 
     public PagesExtractor(PDDocument origin) {
+        this(origin, new ResourcesUsageIndex());
+    }
+
+    /**
+     * @param origin
+     * @param resourcesUsage
+     *            index of the resources used by the origin pages, used to optimize the extracted pages
+     */
+    public PagesExtractor(PDDocument origin, ResourcesUsageIndex resourcesUsage) {
         this.origin = origin;
+        this.resourcesUsage = resourcesUsage;
         init();
     }
 
@@ -109,21 +115,7 @@ public class PagesExtractor implements Closeable {
 
     public void optimize() {
         LOG.trace("Optimizing document");
-        ResourcesHitter hitter = new ResourcesHitter();
-        pagesLookup.values().forEach(p -> {
-            // each page must have it's own resource dic and it's own xobject and font name dic
-            // so we don't optimize shared resource dic or xobjects/fonts name dictionaries
-            COSDictionary resources = ofNullable(p.getResources().getCOSObject()).map(COSDictionary::duplicate)
-                    .orElseGet(COSDictionary::new);
-            // resources are cached in the PDPage so make sure they are replaced
-            p.setResources(new PDResources(resources));
-            ofNullable(resources.getDictionaryObject(COSName.XOBJECT, COSDictionary.class)).filter(Objects::nonNull)
-                    .map(COSDictionary::duplicate).ifPresent(d -> resources.setItem(COSName.XOBJECT, d));
-            ofNullable(resources.getDictionaryObject(COSName.FONT, COSDictionary.class)).filter(Objects::nonNull)
-                    .map(COSDictionary::duplicate).ifPresent(d -> resources.setItem(COSName.FONT, d));
-            hitter.accept(p);
-        });
-        new ResourceDictionaryCleaner().accept(destinationDocument.getUnderlyingPDDocument());
+        pagesLookup.keys().forEach(p -> resourcesUsage.prune(p, pagesLookup.lookup(p)));
     }
 
     public void save(File file, boolean discardOutline) throws TaskException {
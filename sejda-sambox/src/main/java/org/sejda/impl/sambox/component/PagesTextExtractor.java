@@ -0,0 +1,68 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.nio.file.Files;
+
+import org.sejda.model.exception.TaskException;
+import org.sejda.model.exception.TaskExecutionException;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * Component responsible for extracting the text of pages of a document, each page to its own output file. The same text stripper is reused for all the pages, so an instance is
+ * meant to be used for the pages of a single document and by a single thread.
+ * 
+ * @author agent
+ *
+ */
+public class PagesTextExtractor {
+
+    private final Charset charset;
+    private final PdfVisibleTextStripper textStripper;
+
+    public PagesTextExtractor(String encoding) throws TaskException {
+        this.charset = Charset.forName(encoding);
+        try {
+            textStripper = new PdfVisibleTextStripper();
+        } catch (IOException e) {
+            throw new TaskExecutionException("An error occurred creating the text stripper", e);
+        }
+    }
+
+    /**
+     * Extract text from the input page writing it to the given output file.
+     * 
+     * @param page
+     * @param output
+     * @throws TaskException
+     */
+    public void extract(PDPage page, File output) throws TaskException {
+        PdfTextExtractor.ensureWritable(output);
+        try (Writer writer = Files.newBufferedWriter(output.toPath(), charset)) {
+            PdfTextExtractor.extract(textStripper, page, writer);
+        } catch (IOException e) {
+            throw new TaskIOException("An error occurred writing extracted text", e);
+        }
+    }
+}
@@ -24,6 +24,7 @@ import static java.util.Objects.nonNull;
 import java.io.Closeable;
 import java.io.File;
 import java.io.IOException;
+import java.io.Writer;
 import java.nio.charset.Charset;
 import java.nio.file.Files;
 
@@ -47,15 +48,13 @@ public class PdfTextExtractor implements Closeable {
     private static final Logger LOG = LoggerFactory.getLogger(PdfTextExtractor.class);
 
     private PdfVisibleTextStripper textStripper = null;
+    private Writer writer;
 
     public PdfTextExtractor(String encoding, File output) throws TaskException {
-        if (output == null || !output.isFile() || !output.canWrite()) {
-            throw new TaskException(
-                    String.format("Cannot write extracted text to a the given output file '%s'", output));
-        }
+        ensureWritable(output);
         try {
-            textStripper = new PdfVisibleTextStripper(
-                    Files.newBufferedWriter(output.toPath(), Charset.forName(encoding)));
+            writer = Files.newBufferedWriter(output.toPath(), Charset.forName(encoding));
+            textStripper = new PdfVisibleTextStripper(writer);
         } catch (IOException e) {
             throw new TaskExecutionException("An error occurred creating a file writer", e);
         }
@@ -67,9 +66,32 @@ public class PdfTextExtractor implements Closeable {
      * @param page
      */
     public void extract(PDPage page) {
+        extract(textStripper, page, writer);
+    }
+
+    /**
+     * @param output
+     * @throws TaskException
+     *             if the extracted text cannot be written to the given output file
+     */
+    static void ensureWritable(File output) throws TaskException {
+        if (output == null || !output.isFile() || !output.canWrite()) {
+            throw new TaskException(
+                    String.format("Cannot write extracted text to a the given output file '%s'", output));
+        }
+    }
+
+    /**
+     * Extract text from the input page using the given stripper and writing it to the given writer. Null or no content pages and pages where the extraction fails are skipped.
+     * 
+     * @param textStripper
+     * @param page
+     * @param writer
+     */
+    static void extract(PdfVisibleTextStripper textStripper, PDPage page, Writer writer) {
         if (nonNull(page) && page.hasContents()) {
             try {
-                textStripper.extract(page);
+                textStripper.extract(page, writer);
             } catch (TaskIOException e) {
                 LOG.warn("Skipping page, an error occurred extracting text.", e);
             }
@@ -35,7 +35,8 @@ import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.text.PDFTextStripperByArea;
 
 /**
- * Stateless component responsible for extracting text from a given area of a document page
+ * Component responsible for extracting text from a given area of a document page. The text stripper is reused when extracting text from the same area of multiple pages,
+ * so an instance is not meant to be used by multiple threads.
  * 
  * @author Andrea Vacondio
  * 
@@ -44,6 +45,9 @@ public class PdfTextExtractorByArea {
 
     private static final int GUESSTIMATE_HEADER_FOOTER_HEIGHT = 50;
 
+    private PDFTextStripperByArea stripper;
+    private Rectangle2D stripperArea;
+
     /**
      * @param page
      * @return the extracted text from the footer of the document, assuming a footer height of 50
@@ -96,10 +100,7 @@ public class PdfTextExtractorByArea {
      */
     public String extractTextFromArea(PDPage page, Rectangle2D area) throws TaskIOException {
         try {
-            PDFTextStripperByArea stripper = new PDFTextStripperByArea();
-
-            stripper.setSortByPosition(true);
-            stripper.addRegion("area1", area);
+            PDFTextStripperByArea stripper = stripperFor(area);
             stripper.extractRegions(page);
 
             String result = stripper.getTextForRegion("area1");
@@ -112,21 +113,45 @@ public class PdfTextExtractorByArea {
         }
     }
 
+    /**
+     * @return a stripper for the given area, the stripper used for the previous extraction is reused if it was for the same area
+     */
+    private PDFTextStripperByArea stripperFor(Rectangle2D area) throws IOException {
+        if (stripper == null || !area.equals(stripperArea)) {
+            stripper = new PDFTextStripperByArea();
+            stripper.setSortByPosition(true);
+            stripper.addRegion("area1", area);
+            stripperArea = (Rectangle2D) area.clone();
+        }
+        return stripper;
+    }
+
+    /**
+     * Extracts the text found in a specific page bound to each of the given rectangle areas. Text is extracted in a single pass over the page content, this is meant to be used
+     * with many areas. Eg: extract the text of the cells of a table
+     * 
+     * @param page
+     *            the page to extract the text from
+     * @param areas
+     *            the rectangular areas to extract
+     * @return the extracted text for each area, in the same order as the areas
+     * @throws TaskIOException
+     */
     public List<String> extractTextFromAreas(PDPage page, List<Rectangle> areas) throws TaskIOException {
         List<String> results = new ArrayList<>(areas.size());
 
         try {
-            PDFTextStripperByArea stripper = new PDFTextStripperByArea();
+            PDFTextStripperByIndexedArea stripper = new PDFTextStripperByIndexedArea();
             stripper.setSortByPosition(true);
 
-            for (int i = 0; i < areas.size(); i++) {
-                stripper.addRegion("area" + i, areas.get(i));
+            for (Rectangle area : areas) {
+                stripper.addArea(area);
             }
 
-            stripper.extractRegions(page);
+            stripper.extractAreas(page);
 
             for (int i = 0; i < areas.size(); i++) {
-                String text = stripper.getTextForRegion("area" + i);
+                String text = stripper.getTextForArea(i);
                 String result = defaultIfBlank(text, "");
                 result = StringUtils.strip(result);
                 result = org.sejda.core.support.util.StringUtils.normalizeWhitespace(result).trim();
@@ -43,6 +43,15 @@ public class PdfVisibleTextStripper extends PDFTextStripper implements Closeable
         this.output = outputWriter;
     }
 
+    /**
+     * A stripper with no output, to be used with {@link #extract(PDPage, Writer)}
+     * 
+     * @throws IOException
+     */
+    public PdfVisibleTextStripper() throws IOException {
+        this(null);
+    }
+
     @Override
     protected void processTextPosition(TextPosition text) {
         if (text.isVisible()) {
@@ -63,6 +72,18 @@ public class PdfVisibleTextStripper extends PDFTextStripper implements Closeable
         }
     }
 
+    /**
+     * Extracts the text of the given page writing it to the given writer. This allows to reuse the same stripper writing the text of different pages to different outputs.
+     * 
+     * @param page
+     * @param writer
+     * @throws TaskIOException
+     */
+    public void extract(PDPage page, Writer writer) throws TaskIOException {
+        this.output = writer;
+        extract(page);
+    }
+
     @Override
     protected void endPage(PDPage page) {
         Iterator<PDStream> iter = page.getContentStreams();
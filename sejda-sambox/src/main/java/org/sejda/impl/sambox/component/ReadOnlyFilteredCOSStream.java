@@ -23,6 +23,7 @@ import static java.util.Optional.ofNullable;
 import static org.sejda.util.RequireUtils.requireIOCondition;
 import static org.sejda.util.RequireUtils.requireNotNullArg;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
@@ -56,12 +57,15 @@ import org.sejda.util.IOUtils;
  */
 public class ReadOnlyFilteredCOSStream extends COSStream {
     private InputStreamSupplier<InputStream> stream;
+    // the last stream returned by the supplier, if any
+    private InputStream opened;
     private long length;
     private COSDictionary wrapped;
 
     ReadOnlyFilteredCOSStream(COSDictionary existingDictionary, InputStream stream, long length) {
         this(existingDictionary, () -> stream, length);
         requireNotNullArg(stream, "input stream cannot be null");
+        this.opened = stream;
     }
 
     public ReadOnlyFilteredCOSStream(COSDictionary existingDictionary, InputStreamSupplier<InputStream> stream,
@@ -76,7 +80,8 @@ public class ReadOnlyFilteredCOSStream extends COSStream {
 
     @Override
     protected InputStream doGetFilteredStream() throws IOException {
-        return stream.get();
+        opened = stream.get();
+        return opened;
     }
 
     @Override
@@ -162,7 +167,8 @@ public class ReadOnlyFilteredCOSStream extends COSStream {
 
     @Override
     public void close() throws IOException {
-        IOUtils.closeQuietly(stream.get());
+        // a lazily supplied stream that was never requested is not opened just to close it
+        IOUtils.closeQuietly(opened);
     }
 
     /**
@@ -194,6 +200,30 @@ public class ReadOnlyFilteredCOSStream extends COSStream {
     public static ReadOnlyFilteredCOSStream readOnlyJpegImage(File imageFile, int width, int height,
             int bitsPerComponent, PDColorSpace colorSpace) throws FileNotFoundException {
         requireNotNullArg(imageFile, "input file cannot be null");
+        return new ReadOnlyFilteredCOSStream(jpegImageDictionary(width, height, bitsPerComponent, colorSpace),
+                new FileInputStream(imageFile), imageFile.length());
+    }
+
+    /**
+     * a {@link ReadOnlyFilteredCOSStream} that represents an xobject JPEG image held in memory
+     * 
+     * @param image
+     *            the JPEG image bytes
+     * @param width
+     * @param height
+     * @param bitsPerComponent
+     * @param colorSpace
+     * @return
+     */
+    public static ReadOnlyFilteredCOSStream readOnlyInMemoryJpegImage(byte[] image, int width, int height,
+            int bitsPerComponent, PDColorSpace colorSpace) {
+        requireNotNullArg(image, "input image cannot be null");
+        return new ReadOnlyFilteredCOSStream(jpegImageDictionary(width, height, bitsPerComponent, colorSpace),
+                () -> new ByteArrayInputStream(image), image.length);
+    }
+
+    private static COSDictionary jpegImageDictionary(int width, int height, int bitsPerComponent,
+            PDColorSpace colorSpace) {
         requireNotNullArg(colorSpace, "color space cannot be null");
         COSDictionary dictionary = new COSDictionary();
         dictionary.setItem(COSName.TYPE, COSName.XOBJECT);
@@ -203,7 +233,7 @@ public class ReadOnlyFilteredCOSStream extends COSStream {
         dictionary.setInt(COSName.HEIGHT, height);
         dictionary.setInt(COSName.WIDTH, width);
         of(colorSpace).map(PDColorSpace::getCOSObject).ifPresent(cs -> dictionary.setItem(COSName.COLORSPACE, cs));
-        return new ReadOnlyFilteredCOSStream(dictionary, new FileInputStream(imageFile), imageFile.length());
+        return dictionary;
     }
 
     /**
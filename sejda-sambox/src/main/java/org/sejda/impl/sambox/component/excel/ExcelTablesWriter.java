@@ -0,0 +1,142 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.excel;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.xssf.streaming.SXSSFWorkbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component writing {@link DataTable}s to an excel workbook as they are extracted. Rows are written through a streaming workbook that keeps only a window of rows in memory
+ * and, when requested, consecutive tables with the same number of columns are merged into the same sheet as they come. Column widths are computed from the number of characters
+ * of the written values.
+ *
+ * @author agent
+ *
+ */
+public class ExcelTablesWriter implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExcelTablesWriter.class);
+
+    private static final int ROWS_WINDOW = 100;
+    private static final int MAX_COLUMN_WIDTH_CHARS = 255;
+
+    private final SXSSFWorkbook wb = new SXSSFWorkbook(ROWS_WINDOW);
+    private final boolean mergeTablesSpanningMultiplePages;
+
+    private Sheet sheet;
+    private List<String> header;
+    private TreeSet<Integer> pageNumbers;
+    private List<Integer> columnWidths;
+    private int rows;
+
+    /**
+     * @param mergeTablesSpanningMultiplePages
+     *            if consecutive tables with the same columns should be merged in a single sheet
+     */
+    public ExcelTablesWriter(boolean mergeTablesSpanningMultiplePages) {
+        this.mergeTablesSpanningMultiplePages = mergeTablesSpanningMultiplePages;
+        this.wb.setCompressTempFiles(true);
+    }
+
+    /**
+     * Writes the given table, merging it with the previous one if required
+     *
+     * @param dataTable
+     */
+    public void write(DataTable dataTable) {
+        List<List<String>> data = dataTable.getData();
+        if (sheet != null && mergeTablesSpanningMultiplePages && !data.isEmpty() && !header.isEmpty()
+                && header.size() == data.get(0).size()) {
+            LOG.debug("Merging table from {} with the current one", dataTable.getPagesAsString());
+            pageNumbers.addAll(dataTable.getPageNumbers());
+            String currentHeader = String.join("", header).trim();
+            String otherHeader = String.join("", data.get(0)).trim();
+            writeRows(data.subList(currentHeader.equalsIgnoreCase(otherHeader) ? 1 : 0, data.size()));
+        } else {
+            completeSheet();
+            sheet = wb.createSheet(String.format("Table %d", wb.getNumberOfSheets() + 1));
+            header = data.isEmpty() ? new ArrayList<>() : data.get(0);
+            pageNumbers = new TreeSet<>(dataTable.getPageNumbers());
+            columnWidths = new ArrayList<>();
+            rows = 0;
+            writeRows(data);
+        }
+    }
+
+    private void writeRows(List<List<String>> data) {
+        for (List<String> dataRow : data) {
+            LOG.trace("Writing row {} of {} values", rows, dataRow.size());
+            Row row = sheet.createRow(rows++);
+            for (int i = 0; i < dataRow.size(); i++) {
+                String stringValue = dataRow.get(i);
+                row.createCell(i).setCellValue(stringValue);
+                int length = stringValue == null ? 0 : stringValue.length();
+                if (i < columnWidths.size()) {
+                    columnWidths.set(i, Math.max(columnWidths.get(i), length));
+                } else {
+                    columnWidths.add(length);
+                }
+            }
+        }
+    }
+
+    private void completeSheet() {
+        if (sheet != null) {
+            for (int c = 0; c < columnWidths.size(); c++) {
+                sheet.setColumnWidth(c, Math.min(columnWidths.get(c) + 2, MAX_COLUMN_WIDTH_CHARS) * 256);
+            }
+            wb.setSheetName(wb.getSheetIndex(sheet), String.format("Table %d (%s)", wb.getSheetIndex(sheet) + 1,
+                    new DataTable(pageNumbers).getPagesAsString()));
+        }
+    }
+
+    /**
+     * Writes the workbook to the given file
+     *
+     * @param file
+     * @throws IOException
+     */
+    public void writeTo(File file) throws IOException {
+        completeSheet();
+        sheet = null;
+        try (FileOutputStream fileOut = new FileOutputStream(file)) {
+            wb.write(fileOut);
+        }
+    }
+
+    /**
+     * Disposes the temporary files backing the workbook
+     */
+    @Override
+    public void close() throws IOException {
+        wb.dispose();
+        wb.close();
+    }
+}
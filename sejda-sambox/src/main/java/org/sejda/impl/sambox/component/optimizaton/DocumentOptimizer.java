@@ -44,9 +44,14 @@ public class DocumentOptimizer implements Consumer<PDDocument> {
     private Consumer<PDDocument> optimizer = (d) -> LOG.debug("Optimizing document");
 
     public DocumentOptimizer(Set<Optimization> optimizations) {
-        ofNullable(optimizations).orElse(emptySet()).forEach(o -> {
+        Set<Optimization> requested = ofNullable(optimizations).orElse(emptySet());
+        requested.stream().filter(o -> o != Optimization.DISCARD_DUPLICATED_STREAMS).forEach(o -> {
             ofNullable(documentOptimizer(o)).ifPresent(toAdd -> optimizer = optimizer.andThen(toAdd));
         });
+        // duplicates are discarded once everything else has been removed from the document
+        if (requested.contains(Optimization.DISCARD_DUPLICATED_STREAMS)) {
+            optimizer = optimizer.andThen(documentOptimizer(Optimization.DISCARD_DUPLICATED_STREAMS));
+        }
     }
 
     @Override
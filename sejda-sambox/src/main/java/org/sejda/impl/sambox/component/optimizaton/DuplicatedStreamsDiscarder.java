@@ -0,0 +1,332 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSBoolean;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSInteger;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNull;
+import org.sejda.sambox.cos.COSNumber;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.cos.COSString;
+import org.sejda.sambox.encryption.MessageDigests;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Component that walks the objects graph of a document, starting from the catalog, and collapses byte identical streams (fonts files, ICC profiles, images, forms, content
+ * streams...) and identical font dictionaries into a single object, replacing the references to the duplicates with references to the retained one.
+ * <p>
+ * Streams are first grouped by their dictionary and filtered length, only streams sharing the group with some other stream can be duplicates and only those are identified by a
+ * digest of their filtered (encoded) bytes, read in chunks, so the memory used doesn't depend on the size of the streams and unique streams are never read.
+ * </p>
+ * <p>
+ * Objects that can't be safely identified by their content (Ex. dictionaries referring to pages or with circular references) are left untouched.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class DuplicatedStreamsDiscarder implements Consumer<PDDocument> {
+
+    private static final Logger LOG = LoggerFactory.getLogger(DuplicatedStreamsDiscarder.class);
+
+    private static final int MAX_DESCRIPTION_DEPTH = 16;
+
+    private final Map<String, COSStream> streams = new HashMap<>();
+    private final Map<String, COSDictionary> fonts = new HashMap<>();
+    private final Map<COSStream, Optional<String>> fingerprints = new IdentityHashMap<>();
+    private final Map<COSStream, Optional<String>> lengthKeys = new IdentityHashMap<>();
+    private final Map<String, Integer> groups = new HashMap<>();
+    private int discardedStreams;
+    private int discardedFonts;
+
+    @Override
+    public void accept(PDDocument document) {
+        LOG.debug("Discarding duplicated streams");
+        try {
+            groupStreams(document);
+            Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+            Deque<COSBase> pending = new ArrayDeque<>();
+            pending.push(document.getDocumentCatalog().getCOSObject());
+            while (!pending.isEmpty()) {
+                COSBase current = pending.pop();
+                if (visited.add(current)) {
+                    if (current instanceof COSDictionary) {
+                        COSDictionary dictionary = (COSDictionary) current;
+                        for (COSName key : new ArrayList<>(dictionary.keySet())) {
+                            COSBase value = dictionary.getDictionaryObject(key);
+                            if (COSName.FONT.equals(key) && value instanceof COSDictionary
+                                    && !(value instanceof COSStream)) {
+                                discardDuplicatedFonts((COSDictionary) value);
+                            }
+                            COSBase retained = retained(value);
+                            if (retained != value) {
+                                dictionary.setItem(key, retained);
+                            }
+                            pushContainer(retained, pending);
+                        }
+                    } else if (current instanceof COSArray) {
+                        COSArray array = (COSArray) current;
+                        for (int i = 0; i < array.size(); i++) {
+                            COSBase value = array.getObject(i);
+                            COSBase retained = retained(value);
+                            if (retained != value) {
+                                array.set(i, retained);
+                            }
+                            pushContainer(retained, pending);
+                        }
+                    }
+                }
+            }
+            LOG.debug("Discarded {} duplicated streams and {} duplicated fonts", discardedStreams, discardedFonts);
+        } finally {
+            streams.clear();
+            fonts.clear();
+            fingerprints.clear();
+            lengthKeys.clear();
+            groups.clear();
+            discardedStreams = 0;
+            discardedFonts = 0;
+        }
+    }
+
+    /**
+     * Counts the streams reachable from the catalog by their dictionary and filtered length
+     */
+    private void groupStreams(PDDocument document) {
+        Set<COSBase> visited = Collections.newSetFromMap(new IdentityHashMap<>());
+        Deque<COSBase> pending = new ArrayDeque<>();
+        pending.push(document.getDocumentCatalog().getCOSObject());
+        while (!pending.isEmpty()) {
+            COSBase current = pending.pop();
+            if (visited.add(current)) {
+                if (current instanceof COSStream && !(current instanceof ReadOnlyFilteredCOSStream)) {
+                    ofNullable(lengthKey((COSStream) current)).ifPresent(k -> groups.merge(k, 1, Integer::sum));
+                }
+                if (current instanceof COSDictionary) {
+                    COSDictionary dictionary = (COSDictionary) current;
+                    for (COSName key : dictionary.keySet()) {
+                        pushContainer(dictionary.getDictionaryObject(key), pending);
+                    }
+                } else if (current instanceof COSArray) {
+                    COSArray array = (COSArray) current;
+                    for (int i = 0; i < array.size(); i++) {
+                        pushContainer(array.getObject(i), pending);
+                    }
+                }
+            }
+        }
+        LOG.trace("Found {} groups of streams with the same dictionary and length", groups.size());
+    }
+
+    private static void pushContainer(COSBase value, Deque<COSBase> pending) {
+        if (value instanceof COSDictionary || value instanceof COSArray) {
+            pending.push(value);
+        }
+    }
+
+    private COSBase retained(COSBase value) {
+        if (value instanceof COSStream && !(value instanceof ReadOnlyFilteredCOSStream)) {
+            String fingerprint = fingerprint((COSStream) value);
+            if (fingerprint != null) {
+                COSStream existing = streams.putIfAbsent(fingerprint, (COSStream) value);
+                if (existing != null && existing != value) {
+                    discardedStreams++;
+                    return existing;
+                }
+            }
+        }
+        return value;
+    }
+
+    private void discardDuplicatedFonts(COSDictionary fontsDictionary) {
+        for (COSName name : new ArrayList<>(fontsDictionary.keySet())) {
+            COSBase font = fontsDictionary.getDictionaryObject(name);
+            if (font instanceof COSDictionary && !(font instanceof COSStream)) {
+                String description = describe(font, 0, this::fingerprint);
+                if (description != null) {
+                    COSDictionary existing = fonts.putIfAbsent(description, (COSDictionary) font);
+                    if (existing != null && existing != font) {
+                        LOG.trace("Discarding duplicated font {}", name.getName());
+                        fontsDictionary.setItem(name, existing);
+                        discardedFonts++;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * @return a key that is equal for equal streams, or null if the stream cannot be safely identified by its content. Streams that are the only member of their group are
+     * identified by the group key, the others by a digest of their dictionary and bytes.
+     */
+    private String fingerprint(COSStream stream) {
+        if (!fingerprints.containsKey(stream)) {
+            // we put an empty value first so that circular references are not described
+            fingerprints.put(stream, Optional.empty());
+            String lengthKey = lengthKey(stream);
+            if (nonNull(lengthKey)) {
+                // streams not counted while grouping are digested too, we can't tell they are unique
+                if (Integer.valueOf(1).equals(groups.get(lengthKey))) {
+                    fingerprints.put(stream, Optional.of("L" + lengthKey));
+                } else {
+                    fingerprints.put(stream, ofNullable(digest(stream)).map(d -> "H" + d));
+                }
+            }
+        }
+        return fingerprints.get(stream).orElse(null);
+    }
+
+    /**
+     * @return a key made of the stream dictionary and filtered length, without reading the stream, or null if the stream cannot be safely identified by its content
+     */
+    private String lengthKey(COSStream stream) {
+        if (!lengthKeys.containsKey(stream)) {
+            lengthKeys.put(stream, Optional.empty());
+            String description = describe(stream, COSName.LENGTH, 0, this::lengthKey);
+            if (nonNull(description)) {
+                try {
+                    lengthKeys.put(stream, Optional.of(description + ':' + stream.getFilteredLength()));
+                } catch (IOException e) {
+                    LOG.warn("Unable to read stream length, it won't be deduplicated", e);
+                }
+            }
+        }
+        return lengthKeys.get(stream).orElse(null);
+    }
+
+    private String digest(COSStream stream) {
+        String description = describe(stream, COSName.LENGTH, 0, this::fingerprint);
+        if (isNull(description)) {
+            return null;
+        }
+        MessageDigest digest = MessageDigests.md5();
+        digest.update(description.getBytes(StandardCharsets.UTF_8));
+        long length = 0;
+        byte[] buffer = new byte[8192];
+        try (InputStream bytes = stream.getFilteredStream()) {
+            int read;
+            while ((read = bytes.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+                length += read;
+            }
+        } catch (IOException e) {
+            LOG.warn("Unable to read stream, it won't be deduplicated", e);
+            return null;
+        }
+        StringBuilder key = new StringBuilder();
+        for (byte current : digest.digest()) {
+            key.append(String.format("%02x", current));
+        }
+        return key.append(':').append(length).toString();
+    }
+
+    private String describe(COSDictionary dictionary, COSName excluded, int depth,
+            Function<COSStream, String> streamsKey) {
+        if (COSName.PAGE.equals(dictionary.getCOSName(COSName.TYPE))
+                || COSName.PAGES.equals(dictionary.getCOSName(COSName.TYPE))) {
+            return null;
+        }
+        Map<String, String> sorted = new TreeMap<>();
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            if (!entry.getKey().equals(excluded)) {
+                String current = describe(entry.getValue(), depth + 1, streamsKey);
+                if (isNull(current)) {
+                    return null;
+                }
+                sorted.put(entry.getKey().getName(), current);
+            }
+        }
+        return sorted.toString();
+    }
+
+    private String describe(COSBase value, int depth, Function<COSStream, String> streamsKey) {
+        if (depth > MAX_DESCRIPTION_DEPTH) {
+            return null;
+        }
+        COSBase resolved = ofNullable(value).map(COSBase::getCOSObject).orElse(COSNull.NULL);
+        if (resolved instanceof COSStream) {
+            if (resolved instanceof ReadOnlyFilteredCOSStream) {
+                return null;
+            }
+            return ofNullable(streamsKey.apply((COSStream) resolved)).map(f -> "S" + f).orElse(null);
+        }
+        if (resolved instanceof COSDictionary) {
+            return ofNullable(describe((COSDictionary) resolved, null, depth, streamsKey)).map(d -> "D" + d)
+                    .orElse(null);
+        }
+        if (resolved instanceof COSArray) {
+            StringBuilder builder = new StringBuilder("[");
+            for (COSBase item : (COSArray) resolved) {
+                String current = describe(item, depth + 1, streamsKey);
+                if (isNull(current)) {
+                    return null;
+                }
+                builder.append(current).append(' ');
+            }
+            return builder.append(']').toString();
+        }
+        if (resolved instanceof COSName) {
+            return "/" + ((COSName) resolved).getName();
+        }
+        if (resolved instanceof COSString) {
+            return "<" + ((COSString) resolved).toHexString() + ">";
+        }
+        if (resolved instanceof COSInteger) {
+            return Long.toString(((COSInteger) resolved).longValue());
+        }
+        if (resolved instanceof COSNumber) {
+            return Float.toString(((COSNumber) resolved).floatValue());
+        }
+        if (resolved instanceof COSBoolean) {
+            return Boolean.toString(((COSBoolean) resolved).getValue());
+        }
+        if (resolved instanceof COSNull) {
+            return "null";
+        }
+        return null;
+    }
+}
@@ -19,6 +19,8 @@
 package org.sejda.impl.sambox.component.optimizaton;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Objects.requireNonNull;
 import static java.util.Optional.ofNullable;
 import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.getColorSpaceFromAWT;
 import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.readJpegFile;
@@ -26,14 +28,23 @@ import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.readJpegFile;
 import java.awt.image.BufferedImage;
 import java.io.File;
 import java.io.IOException;
-import java.nio.file.Files;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Base64;
+import java.util.Deque;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
 
 import org.sejda.core.support.util.HumanReadableSize;
+import org.sejda.core.writer.model.EncodedImage;
 import org.sejda.core.writer.model.ImageOptimizer;
 import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
 import org.sejda.model.optimization.Optimization;
@@ -65,7 +76,8 @@ import org.slf4j.LoggerFactory;
 
 /**
  * Component that parses the page content stream and its annotations appearance stream and performs some optimization, depending on the input {@link OptimizeParameters}. It tries
- * to identify equal image xobjects and reuse them.
+ * to identify equal image xobjects and reuse them. Compressed images are looked up in an {@link OptimizedImagesCache} before being decoded so that images found again, in the
+ * same or in other documents, are compressed only once.
  * 
  * @author Andrea Vacondio
  *
@@ -76,10 +88,23 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
 
     private Map<String, ReadOnlyFilteredCOSStream> optimizedByHash = new HashMap<>();
     private Map<IndirectCOSObjectIdentifier, ReadOnlyFilteredCOSStream> optimizedById = new HashMap<>();
+    private Map<String, ReadOnlyFilteredCOSStream> optimizedByKey = new HashMap<>();
     private OptimizeParameters parameters;
+    private OptimizedImagesCache cache;
+    private List<PendingImage> pending = new ArrayList<>();
 
     ImagesOptimizer(OptimizeParameters parameters) {
+        this(parameters, new OptimizedImagesCache());
+    }
+
+    /**
+     * @param parameters
+     * @param cache
+     *            cache of the compressed images, possibly shared with the optimizers of other documents
+     */
+    ImagesOptimizer(OptimizeParameters parameters, OptimizedImagesCache cache) {
         this.parameters = parameters;
+        this.cache = requireNonNull(cache);
         addOperator(new Concatenate());
         addOperator(new SetGraphicsStateParameters());
         addOperator(new Save());
@@ -160,63 +185,16 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
 
         private void optimize(COSName objectName, PDImageXObject image, IndirectCOSObjectIdentifier id,
                 int displayWidth, int displayHeight) {
-            try {
-                LOG.debug("Optimizing image {} {} with dimensions {}x{}", objectName.getName(), id.toString(),
-                        image.getWidth(), image.getHeight());
-                ReadOnlyFilteredCOSStream optimizedImage = optimizedById.get(id);
-
-                if (optimizedImage == null) {
-                    long start = System.currentTimeMillis();
-                    File tmpImageFile = ImageOptimizer.optimize(image.getImageWithoutMasks(),
-                            parameters.getImageQuality(), parameters.getImageDpi(), displayWidth, displayHeight);
-
-                    long elapsed = System.currentTimeMillis() - start;
-                    if (elapsed > 500)
-                        LOG.debug("Optimizing image took " + elapsed + "ms");
-
-                    // we wrap the existing so we can identify it later as "in use" and already processed
-                    optimizedImage = ReadOnlyFilteredCOSStream.readOnly(image.getCOSObject());
-
-                    double sizeRate = tmpImageFile.length() * 100.0 / image.getCOSObject().getFilteredLength();
-                    // can be compressed
-                    if (sizeRate < 100) {
-                        String hash = Base64.getEncoder()
-                                .encodeToString(MessageDigests.md5().digest(Files.readAllBytes(tmpImageFile.toPath())));
-                        optimizedImage = optimizedByHash.get(hash);
-                        // is it the same as something we already compressed?
-                        if (isNull(optimizedImage)) {
-                            LOG.debug(String.format("Compressed image to %.2f%% of original size", sizeRate));
-                            optimizedImage = createFromJpegFile(tmpImageFile);
-                            optimizedByHash.put(hash, optimizedImage);
-                            optimizedById.put(id, optimizedImage);
-                        } else {
-                            LOG.debug("Reusing previously optimized image");
-                        }
-                    } else {
-                        LOG.debug(String.format("Skipping already compressed image, result is %.2f%% of original size",
-                                sizeRate));
-                    }
-                } else {
-                    LOG.debug(String.format("Skipping already compressed image with id %s", id));
+            COSDictionary resources = context.getResources().getCOSObject();
+            if (parameters.getParallelism() > 1) {
+                LOG.trace("Image {} will be optimized once the document has been parsed", objectName.getName());
+                pending.add(new PendingImage(objectName, image, id, displayWidth, displayHeight, resources));
+            } else {
+                try {
+                    replace(resources, objectName, image, compress(objectName, image, id, displayWidth, displayHeight));
+                } catch (IOException | RuntimeException ex) {
+                    LOG.warn("Failed to optimize image, skipping and continuing with next.", ex);
                 }
-
-                COSDictionary resources = context.getResources().getCOSObject();
-                COSDictionary xobjects = ofNullable(resources.getDictionaryObject(COSName.XOBJECT))
-                        .filter(b -> b instanceof COSDictionary).map(b -> (COSDictionary) b).orElseGet(() -> {
-                            COSDictionary ret = new COSDictionary();
-                            resources.setItem(COSName.XOBJECT, ret);
-                            return ret;
-                        });
-                xobjects.setItem(objectName, optimizedImage);
-                // free up resources used by the underlying COSStream
-                // which stores both the filtered and unfiltered bytes[] and DecodeResult
-                // potentially creating a large memory footprint
-                image.getCOSObject().unDecode();
-                LOG.debug("Used memory: {} Mb",
-                        (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1000 / 1000);
-
-            } catch (IOException | RuntimeException ex) {
-                LOG.warn("Failed to optimize image, skipping and continuing with next.", ex);
             }
         }
 
@@ -244,6 +222,242 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
         }
     }
 
+    private ReadOnlyFilteredCOSStream compress(COSName objectName, PDImageXObject image,
+            IndirectCOSObjectIdentifier id, int displayWidth, int displayHeight) throws IOException {
+        ImageCompression compression = new ImageCompression(objectName, image, id, displayWidth, displayHeight);
+        if (compression.decode()) {
+            return compression.complete(compression.encode());
+        }
+        return compression.result;
+    }
+
+    /**
+     * Compression of a single image, split in steps. Decoding and completion access the document, whose COS objects are lazily loaded and not thread safe, so they must be
+     * performed on the task thread. Encoding only works on the decoded {@link BufferedImage} and can be performed by any thread.
+     */
+    private class ImageCompression {
+        private final COSName objectName;
+        private final PDImageXObject image;
+        private final IndirectCOSObjectIdentifier id;
+        private final int displayWidth;
+        private final int displayHeight;
+        private String key;
+        private BufferedImage decoded;
+        private ReadOnlyFilteredCOSStream result;
+        private Future<EncodedImage> encoding;
+
+        ImageCompression(COSName objectName, PDImageXObject image, IndirectCOSObjectIdentifier id, int displayWidth,
+                int displayHeight) {
+            this.objectName = objectName;
+            this.image = image;
+            this.id = id;
+            this.displayWidth = displayWidth;
+            this.displayHeight = displayHeight;
+        }
+
+        /**
+         * Looks up a previously optimized version of the image and, if none is found, decodes it
+         * 
+         * @return true if the image has been decoded and it has to be encoded
+         */
+        boolean decode() throws IOException {
+            LOG.debug("Optimizing image {} {} with dimensions {}x{}", objectName.getName(), id.toString(),
+                    image.getWidth(), image.getHeight());
+            result = optimizedById.get(id);
+            if (result == null) {
+                key = OptimizedImagesCache.keyFor(image.getCOSObject(), displayWidth, displayHeight,
+                        parameters.getImageDpi(), parameters.getImageQuality());
+                result = ofNullable(key).map(optimizedByKey::get).orElse(null);
+                if (result == null) {
+                    result = cache.get(key, image.getCOSObject());
+                    // only compressed images are shared, an uncompressible image is replaced by a wrapper of itself
+                    if (nonNull(result) && !cache.isUncompressible(key)) {
+                        LOG.debug("Reusing cached optimized image");
+                        result = putIfAbsent(optimizedByKey, key, result);
+                    }
+                } else {
+                    LOG.debug("Reusing previously optimized image with same content");
+                }
+            }
+            if (nonNull(result)) {
+                LOG.debug(String.format("Skipping already compressed image with id %s", id));
+                return false;
+            }
+            decoded = image.getImageWithoutMasks();
+            return true;
+        }
+
+        /**
+         * Resizes and encodes the decoded image. It doesn't access the document.
+         */
+        EncodedImage encode() throws IOException {
+            try {
+                long start = System.currentTimeMillis();
+                EncodedImage optimizedJpeg = ImageOptimizer.optimize(decoded, parameters.getImageQuality(),
+                        parameters.getImageDpi(), displayWidth, displayHeight,
+                        ImageOptimizer.DEFAULT_IN_MEMORY_THRESHOLD);
+                long elapsed = System.currentTimeMillis() - start;
+                if (elapsed > 500)
+                    LOG.debug("Optimizing image took " + elapsed + "ms");
+                return optimizedJpeg;
+            } finally {
+                decoded = null;
+            }
+        }
+
+        /**
+         * Deletes the encoded image, if the encoding completed successfully
+         */
+        void discard() {
+            if (encoding.isDone() && !encoding.isCancelled()) {
+                try {
+                    encoding.get().delete();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } catch (ExecutionException e) {
+                    // nothing to delete
+                }
+            }
+        }
+
+        /**
+         * Compares the encoded image with the original one and with the previously optimized ones, storing it if it's worth it
+         * 
+         * @return the image to use in place of the original one
+         */
+        ReadOnlyFilteredCOSStream complete(EncodedImage optimizedJpeg) throws IOException {
+            // we wrap the existing so we can identify it later as "in use" and already processed
+            result = ReadOnlyFilteredCOSStream.readOnly(image.getCOSObject());
+
+            double sizeRate = optimizedJpeg.length() * 100.0 / image.getCOSObject().getFilteredLength();
+            // can be compressed
+            if (sizeRate < 100) {
+                String hash;
+                try {
+                    hash = Base64.getEncoder().encodeToString(MessageDigests.md5().digest(optimizedJpeg.getBytes()));
+                } catch (IOException e) {
+                    optimizedJpeg.delete();
+                    throw e;
+                }
+                ReadOnlyFilteredCOSStream existing = optimizedByHash.get(hash);
+                // is it the same as something we already compressed?
+                if (isNull(existing)) {
+                    LOG.debug(String.format("Compressed image to %.2f%% of original size", sizeRate));
+                    result = putIfAbsent(optimizedByHash, hash, cache.put(key, optimizedJpeg));
+                    optimizedById.put(id, result);
+                    if (nonNull(key)) {
+                        result = putIfAbsent(optimizedByKey, key, result);
+                    }
+                } else {
+                    LOG.debug("Reusing previously optimized image");
+                    result = existing;
+                    optimizedJpeg.delete();
+                }
+            } else {
+                LOG.debug(String.format("Skipping already compressed image, result is %.2f%% of original size",
+                        sizeRate));
+                cache.putUncompressible(key);
+                optimizedJpeg.delete();
+            }
+            return result;
+        }
+    }
+
+    private static <K> ReadOnlyFilteredCOSStream putIfAbsent(Map<K, ReadOnlyFilteredCOSStream> map, K key,
+            ReadOnlyFilteredCOSStream value) {
+        return ofNullable(map.putIfAbsent(key, value)).orElse(value);
+    }
+
+    private void replace(COSDictionary resources, COSName objectName, PDImageXObject image,
+            ReadOnlyFilteredCOSStream optimizedImage) {
+        COSDictionary xobjects = ofNullable(resources.getDictionaryObject(COSName.XOBJECT))
+                .filter(b -> b instanceof COSDictionary).map(b -> (COSDictionary) b).orElseGet(() -> {
+                    COSDictionary ret = new COSDictionary();
+                    resources.setItem(COSName.XOBJECT, ret);
+                    return ret;
+                });
+        xobjects.setItem(objectName, optimizedImage);
+        // free up resources used by the underlying COSStream
+        // which stores both the filtered and unfiltered bytes[] and DecodeResult
+        // potentially creating a large memory footprint
+        image.getCOSObject().unDecode();
+        LOG.debug("Used memory: {} Mb",
+                (Runtime.getRuntime().totalMemory() - Runtime.getRuntime().freeMemory()) / 1000 / 1000);
+    }
+
+    /**
+     * Compresses the images collected while parsing the pages, when a parallelism greater than one is requested, and replaces them in the resource dictionaries where they were
+     * found. Every image is decoded, compared and replaced on the calling thread, since the document is not thread safe, while only the resizing and encoding of the decoded
+     * images is performed on a pool of the requested parallelism. At most twice the parallelism decoded images are in flight at any time.
+     */
+    public void complete() {
+        if (pending.isEmpty()) {
+            return;
+        }
+        Map<IndirectCOSObjectIdentifier, List<PendingImage>> byId = new LinkedHashMap<>();
+        pending.forEach(p -> byId.computeIfAbsent(p.id, k -> new ArrayList<>()).add(p));
+        LOG.debug("Compressing {} images using {} threads", byId.size(), parameters.getParallelism());
+        Deque<ImageCompression> inFlight = new ArrayDeque<>();
+        ExecutorService pool = Executors.newFixedThreadPool(parameters.getParallelism());
+        try {
+            for (List<PendingImage> images : byId.values()) {
+                PendingImage current = images.get(0);
+                ImageCompression compression = new ImageCompression(current.objectName, current.image, current.id,
+                        current.displayWidth, current.displayHeight);
+                try {
+                    if (compression.decode()) {
+                        compression.encoding = pool.submit(compression::encode);
+                        inFlight.add(compression);
+                    } else {
+                        replace(images, compression.result);
+                    }
+                } catch (IOException | RuntimeException ex) {
+                    LOG.warn("Failed to optimize image, skipping and continuing with next.", ex);
+                }
+                if (inFlight.size() >= 2 * parameters.getParallelism()) {
+                    completeFirst(inFlight, byId);
+                }
+            }
+            while (!inFlight.isEmpty()) {
+                completeFirst(inFlight, byId);
+            }
+        } catch (InterruptedException e) {
+            LOG.warn("Interrupted while optimizing images");
+            Thread.currentThread().interrupt();
+        } finally {
+            pool.shutdownNow();
+            try {
+                if (!pool.awaitTermination(1, TimeUnit.MINUTES)) {
+                    LOG.warn("Timeout waiting for the images compression to terminate");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            // encodings that were never completed, their temporary files are not going to be used
+            inFlight.forEach(ImageCompression::discard);
+            pending.clear();
+        }
+    }
+
+    /**
+     * Waits for the encoding of the first in flight image and completes its compression, replacing it where it was found
+     */
+    private void completeFirst(Deque<ImageCompression> inFlight,
+            Map<IndirectCOSObjectIdentifier, List<PendingImage>> byId) throws InterruptedException {
+        ImageCompression compression = inFlight.poll();
+        try {
+            replace(byId.get(compression.id), compression.complete(compression.encoding.get()));
+        } catch (ExecutionException e) {
+            LOG.warn("Failed to optimize image, skipping and continuing with next.", e.getCause());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Failed to optimize image, skipping and continuing with next.", e);
+        }
+    }
+
+    private void replace(List<PendingImage> images, ReadOnlyFilteredCOSStream optimizedImage) {
+        images.forEach(p -> replace(p.resources, p.objectName, p.image, optimizedImage));
+    }
+
     @Override
     public void accept(PDPage page) {
         try {
@@ -258,13 +472,46 @@ class ImagesOptimizer extends PDFStreamEngine implements Consumer<PDPage> {
     }
 
     public static ReadOnlyFilteredCOSStream createFromJpegFile(File file) throws IOException {
-        // read image
+        BufferedImage awtImage = readOpaqueJpegFile(file);
+        return ReadOnlyFilteredCOSStream.readOnlyJpegImage(file, awtImage.getWidth(), awtImage.getHeight(),
+                awtImage.getColorModel().getComponentSize(0), getColorSpaceFromAWT(awtImage));
+    }
+
+    /**
+     * @param file
+     * @return the image read from the given JPEG file
+     * @throws UnsupportedOperationException
+     *             if the image has an alpha channel
+     * @throws IOException
+     */
+    static BufferedImage readOpaqueJpegFile(File file) throws IOException {
         BufferedImage awtImage = readJpegFile(file);
         if (awtImage.getColorModel().hasAlpha()) {
             throw new UnsupportedOperationException("alpha channel not implemented");
         }
-        return ReadOnlyFilteredCOSStream.readOnlyJpegImage(file, awtImage.getWidth(), awtImage.getHeight(),
-                awtImage.getColorModel().getComponentSize(0), getColorSpaceFromAWT(awtImage));
+        return awtImage;
+    }
+
+    /**
+     * An image found while parsing the pages and to be compressed once the parsing is completed
+     */
+    private static class PendingImage {
+        private final COSName objectName;
+        private final PDImageXObject image;
+        private final IndirectCOSObjectIdentifier id;
+        private final int displayWidth;
+        private final int displayHeight;
+        private final COSDictionary resources;
+
+        PendingImage(COSName objectName, PDImageXObject image, IndirectCOSObjectIdentifier id, int displayWidth,
+                int displayHeight, COSDictionary resources) {
+            this.objectName = objectName;
+            this.image = image;
+            this.id = id;
+            this.displayWidth = displayWidth;
+            this.displayHeight = displayHeight;
+            this.resources = resources;
+        }
     }
 
     public static boolean canOptimizeFor(Optimization o) {
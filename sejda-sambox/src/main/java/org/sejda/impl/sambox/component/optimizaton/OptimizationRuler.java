@@ -64,7 +64,11 @@ public class OptimizationRuler implements Function<PDDocument, Boolean> {
     }
 
     private boolean willNeedOptimization(PDDocument document) {
-        return hasSharedXObjectDictionaries(document) || hasSharedFontDictionaries(document)
+        // the page tree is walked once and the pages resource dictionaries are shared by the checks
+        List<COSDictionary> pagesResources = document.getPages().stream().map(PDPage::getCOSObject)
+                .filter(Objects::nonNull).map(d -> d.getDictionaryObject(COSName.RESOURCES, COSDictionary.class))
+                .filter(Objects::nonNull).collect(Collectors.toList());
+        return hasSharedXObjectDictionaries(pagesResources) || hasSharedFontDictionaries(pagesResources)
                 || hasInheritedResources(document);
     }
 
@@ -92,11 +96,10 @@ public class OptimizationRuler implements Function<PDDocument, Boolean> {
         return (inheritedImage + inheritedFonts) > 0;
     }
 
-    private boolean hasSharedXObjectDictionaries(PDDocument document) {
+    private boolean hasSharedXObjectDictionaries(List<COSDictionary> pagesResources) {
         // we get from all the pages resource dictionaries, all the xobject name dictionaries containing images
-        List<COSDictionary> xobjectsDictionaries = document.getPages().stream().map(PDPage::getCOSObject)
-                .filter(Objects::nonNull).map(d -> d.getDictionaryObject(COSName.RESOURCES, COSDictionary.class))
-                .filter(Objects::nonNull).map(d -> d.getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
+        List<COSDictionary> xobjectsDictionaries = pagesResources.stream()
+                .map(d -> d.getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
                 .filter(Objects::nonNull).filter(x -> {
                     return x.getValues().stream().map(COSBase::getCOSObject).filter(v -> v instanceof COSDictionary)
                             .map(v -> (COSDictionary) v).map(v -> v.getNameAsString(COSName.SUBTYPE))
@@ -112,11 +115,10 @@ public class OptimizationRuler implements Function<PDDocument, Boolean> {
         return false;
     }
 
-    private boolean hasSharedFontDictionaries(PDDocument document) {
+    private boolean hasSharedFontDictionaries(List<COSDictionary> pagesResources) {
         // we get from all the pages resource dictionaries, all the font name dictionaries
-        List<COSDictionary> fontDictionaries = document.getPages().stream().map(PDPage::getCOSObject)
-                .filter(Objects::nonNull).map(d -> d.getDictionaryObject(COSName.RESOURCES, COSDictionary.class))
-                .filter(Objects::nonNull).map(d -> d.getDictionaryObject(COSName.FONT, COSDictionary.class))
+        List<COSDictionary> fontDictionaries = pagesResources.stream()
+                .map(d -> d.getDictionaryObject(COSName.FONT, COSDictionary.class))
                 .filter(Objects::nonNull).filter(x -> {
                     return x.getValues().stream().map(COSBase::getCOSObject).filter(v -> v instanceof COSDictionary)
                             .count() > 0;
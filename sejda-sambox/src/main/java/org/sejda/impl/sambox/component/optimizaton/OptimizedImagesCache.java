@@ -0,0 +1,603 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static org.sejda.sambox.pdmodel.graphics.image.JPEGFactory.getColorSpaceFromAWT;
+
+import java.awt.image.BufferedImage;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+import org.apache.commons.io.IOUtils;
+import org.sejda.core.support.util.HumanReadableSize;
+import org.sejda.core.writer.model.EncodedImage;
+import org.sejda.core.writer.model.ImageOptimizer;
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSBoolean;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNull;
+import org.sejda.sambox.cos.COSNumber;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.encryption.MessageDigests;
+import org.sejda.sambox.pdmodel.graphics.color.PDColorSpace;
+import org.sejda.sambox.pdmodel.graphics.color.PDDeviceRGB;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the results of images compression. Images are identified by the hash of their filtered stream, of the entries of their dictionary needed to decode and draw them
+ * (masks included) and of the compression settings (target dimensions, DPI and quality) so that an image found again, on the same or on a different document, is not decoded and
+ * compressed a second time.
+ * <p>
+ * By default the cache lives in memory and it's meant to be shared by all the inputs of an optimization. If a directory is given, compressed images are persisted there and
+ * reused by following optimizations. The directory can be configured using the {@value #IMAGES_CACHE_DIRECTORY} and {@value #IMAGES_CACHE_SIZE} system properties.
+ * </p>
+ * <p>
+ * Caches using a directory hold a shared file lock on it, so the directory can be used by multiple caches, in the same or in different processes. When the last of them is
+ * closed the directory is locked exclusively and the least recently used images, according to the files access and modification times, are evicted until the directory is within
+ * the given size. Images are never evicted while a cache that might still read them is open.
+ * </p>
+ * <p>
+ * Compressed images held in memory are referenced by the cache or by the documents until the task completes, so their total size is bounded by a budget, configurable using the
+ * {@value #IMAGES_MEMORY_BUDGET} system property. Once the budget is exceeded, compressed images are written to temporary files.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class OptimizedImagesCache implements Closeable {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OptimizedImagesCache.class);
+
+    public static final String IMAGES_CACHE_DIRECTORY = "sejda.optimize.images.cache.dir";
+    public static final String IMAGES_CACHE_SIZE = "sejda.optimize.images.cache.size";
+    public static final String IMAGES_MEMORY_BUDGET = "sejda.optimize.images.memory.budget";
+    private static final long DEFAULT_CACHE_SIZE = 256 * 1024 * 1024;
+    private static final long DEFAULT_MEMORY_BUDGET = 64 * 1024 * 1024;
+    private static final String EXTENSION = ".jpeg";
+    private static final String TMP_EXTENSION = ".tmp";
+    private static final String LOCK_FILE = ".lock";
+
+    private final Map<String, CachedImage> images = new HashMap<>();
+    // compressed images written to temporary files, cached or not, deleted on close
+    private final List<File> temporaryFiles = new ArrayList<>();
+    private final File directory;
+    private final long maxSize;
+    private final DirectoryLock lock;
+    private final long memoryBudget;
+    private long inMemorySize;
+
+    /**
+     * An in memory cache
+     */
+    public OptimizedImagesCache() {
+        this(Long.getLong(IMAGES_MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET));
+    }
+
+    /**
+     * An in memory cache
+     * 
+     * @param memoryBudget
+     *            max size in bytes of the compressed images held in memory, further images are written to temporary files
+     */
+    public OptimizedImagesCache(long memoryBudget) {
+        this.directory = null;
+        this.maxSize = Long.MAX_VALUE;
+        this.lock = null;
+        this.memoryBudget = memoryBudget;
+    }
+
+    /**
+     * A cache persisting the compressed images in the given directory
+     *
+     * @param directory
+     * @param maxSize
+     *            max size in bytes of the directory after the least recently used images are evicted
+     */
+    public OptimizedImagesCache(File directory, long maxSize) {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IllegalArgumentException("Unable to use " + directory + " as images cache");
+        }
+        try {
+            this.directory = directory.getCanonicalFile();
+            this.lock = DirectoryLock.acquire(this.directory.toPath());
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Unable to use " + directory + " as images cache", e);
+        }
+        this.maxSize = maxSize;
+        this.memoryBudget = Long.getLong(IMAGES_MEMORY_BUDGET, DEFAULT_MEMORY_BUDGET);
+        File[] existing = cachedFiles(this.directory);
+        for (File file : existing) {
+            String name = file.getName();
+            images.put(name.substring(0, name.length() - EXTENSION.length()), new CachedImage(file));
+        }
+        LOG.debug("Loaded {} images from cache directory {}", existing.length, directory);
+    }
+
+    /**
+     * @return a cache configured using the system properties. It's persisted in the directory set with {@value #IMAGES_CACHE_DIRECTORY}, if any, otherwise it's an in memory
+     *         cache.
+     */
+    public static OptimizedImagesCache fromSystemProperties() {
+        String directory = System.getProperty(IMAGES_CACHE_DIRECTORY);
+        if (nonNull(directory)) {
+            return new OptimizedImagesCache(new File(directory), Long.getLong(IMAGES_CACHE_SIZE, DEFAULT_CACHE_SIZE));
+        }
+        return new OptimizedImagesCache();
+    }
+
+    /**
+     * @param image
+     * @param displayWidth
+     * @param displayHeight
+     * @param dpi
+     * @param quality
+     * @return the key identifying the result of the compression of the given image with the given settings or null if the image cannot be safely identified by its content (Ex.
+     *         its color space depends on a stream). Images with different soft masks or masks have different keys.
+     * @throws IOException
+     */
+    public static String keyFor(COSStream image, int displayWidth, int displayHeight, int dpi, float quality)
+            throws IOException {
+        StringBuilder descriptor = new StringBuilder();
+        for (COSName name : Arrays.asList(COSName.WIDTH, COSName.HEIGHT, COSName.BITS_PER_COMPONENT, COSName.FILTER,
+                COSName.DECODE_PARMS, COSName.COLORSPACE, COSName.DECODE, COSName.IMAGE_MASK, COSName.INTERPOLATE,
+                COSName.INTENT)) {
+            String value = describe(image.getDictionaryObject(name));
+            if (isNull(value)) {
+                return null;
+            }
+            descriptor.append(name.getName()).append('=').append(value).append(';');
+        }
+        for (COSName name : Arrays.asList(COSName.SMASK, COSName.MASK)) {
+            String value = describeMask(image.getDictionaryObject(name));
+            if (isNull(value)) {
+                return null;
+            }
+            descriptor.append(name.getName()).append('=').append(value).append(';');
+        }
+        descriptor.append(displayWidth).append('x').append(displayHeight).append(';').append(dpi).append(';')
+                .append(quality);
+
+        MessageDigest digest = MessageDigests.md5();
+        update(digest, image);
+        digest.update(descriptor.toString().getBytes(StandardCharsets.UTF_8));
+        return hex(digest.digest());
+    }
+
+    /**
+     * @return a description of the given /SMask or /Mask value where mask streams are described by the digest of their dictionary and filtered bytes, or null if the mask
+     *         cannot be safely identified by its content
+     */
+    private static String describeMask(COSBase value) throws IOException {
+        COSBase resolved = Optional.ofNullable(value).map(COSBase::getCOSObject).orElse(COSNull.NULL);
+        if (resolved instanceof COSStream) {
+            COSStream mask = (COSStream) resolved;
+            Map<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<COSName, COSBase> entry : mask.entrySet()) {
+                if (!COSName.LENGTH.equals(entry.getKey())) {
+                    String current = describe(entry.getValue());
+                    if (isNull(current)) {
+                        return null;
+                    }
+                    sorted.put(entry.getKey().getName(), current);
+                }
+            }
+            MessageDigest digest = MessageDigests.md5();
+            digest.update(sorted.toString().getBytes(StandardCharsets.UTF_8));
+            update(digest, mask);
+            return "S" + hex(digest.digest());
+        }
+        return describe(resolved);
+    }
+
+    private static void update(MessageDigest digest, COSStream stream) throws IOException {
+        byte[] buffer = new byte[8192];
+        try (InputStream bytes = stream.getFilteredStream()) {
+            int read;
+            while ((read = bytes.read(buffer)) != -1) {
+                digest.update(buffer, 0, read);
+            }
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte current : bytes) {
+            hex.append(String.format("%02x", current));
+        }
+        return hex.toString();
+    }
+
+    private static String describe(COSBase value) {
+        COSBase resolved = Optional.ofNullable(value).map(COSBase::getCOSObject).orElse(COSNull.NULL);
+        if (resolved instanceof COSStream) {
+            return null;
+        }
+        if (resolved instanceof COSName) {
+            return "/" + ((COSName) resolved).getName();
+        }
+        if (resolved instanceof COSNumber) {
+            return Float.toString(((COSNumber) resolved).floatValue());
+        }
+        if (resolved instanceof COSBoolean) {
+            return Boolean.toString(((COSBoolean) resolved).getValue());
+        }
+        if (resolved instanceof COSArray) {
+            StringBuilder builder = new StringBuilder("[");
+            for (COSBase item : (COSArray) resolved) {
+                String current = describe(item);
+                if (isNull(current)) {
+                    return null;
+                }
+                builder.append(current).append(' ');
+            }
+            return builder.append(']').toString();
+        }
+        if (resolved instanceof COSDictionary) {
+            Map<String, String> sorted = new TreeMap<>();
+            for (Map.Entry<COSName, COSBase> entry : ((COSDictionary) resolved).entrySet()) {
+                String current = describe(entry.getValue());
+                if (isNull(current)) {
+                    return null;
+                }
+                sorted.put(entry.getKey().getName(), current);
+            }
+            return sorted.toString();
+        }
+        if (resolved instanceof COSNull) {
+            return "null";
+        }
+        return null;
+    }
+
+    /**
+     * @param key
+     * @param original
+     *            the original image
+     * @return a new stream for the compressed image identified by the given key, a read only wrapper of the original image if compressing the image didn't give any benefit or
+     *         null if the image is not in the cache
+     * @throws IOException
+     */
+    public ReadOnlyFilteredCOSStream get(String key, COSStream original) throws IOException {
+        CachedImage cached;
+        synchronized (this) {
+            cached = isNull(key) ? null : images.get(key);
+        }
+        if (isNull(cached)) {
+            return null;
+        }
+        if (cached.isEmpty()) {
+            return ReadOnlyFilteredCOSStream.readOnly(original);
+        }
+        if (nonNull(directory) && !cached.file.setLastModified(System.currentTimeMillis())) {
+            LOG.trace("Unable to touch cached image {}", cached.file);
+        }
+        return cached.toStream();
+    }
+
+    /**
+     * Caches the given compressed JPEG image
+     *
+     * @param key
+     *            key of the original image, if null the image is not cached
+     * @param jpeg
+     *            the compressed image as created by the {@link ImageOptimizer}, owned by the cache from now on and deleted if it can't be cached
+     * @return a new stream for the given compressed image
+     * @throws IOException
+     */
+    public ReadOnlyFilteredCOSStream put(String key, EncodedImage jpeg) throws IOException {
+        CachedImage cached;
+        try {
+            if (nonNull(key) && nonNull(directory)) {
+                File destination = new File(directory, key + EXTENSION);
+                store(jpeg, destination.toPath());
+                cached = new CachedImage(destination);
+                cached.describe(jpeg);
+            } else {
+                cached = new CachedImage(withinMemoryBudget(jpeg));
+                if (nonNull(cached.file)) {
+                    synchronized (this) {
+                        temporaryFiles.add(cached.file);
+                    }
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            jpeg.delete();
+            throw e;
+        }
+        if (nonNull(key)) {
+            synchronized (this) {
+                images.put(key, cached);
+            }
+        }
+        return cached.toStream();
+    }
+
+    /**
+     * @return the given image if it fits the memory budget, otherwise the image written to a temporary file
+     */
+    private synchronized EncodedImage withinMemoryBudget(EncodedImage jpeg) throws IOException {
+        if (jpeg.isInMemory()) {
+            if (inMemorySize + jpeg.length() <= memoryBudget) {
+                inMemorySize += jpeg.length();
+                return jpeg;
+            }
+            LOG.debug("Compressed images in memory exceed the budget of {}, writing to a temporary file",
+                    HumanReadableSize.toString(memoryBudget));
+            return jpeg.spill();
+        }
+        return jpeg;
+    }
+
+    /**
+     * @return the size in bytes of the compressed images held in memory
+     */
+    synchronized long inMemorySize() {
+        return inMemorySize;
+    }
+
+    /**
+     * Moves the given image to the destination in a single atomic step, so that other caches sharing the directory never see a partially written image
+     */
+    private static void store(EncodedImage jpeg, Path destination) throws IOException {
+        if (!jpeg.isInMemory()) {
+            try {
+                Files.move(jpeg.getFile().toPath(), destination, StandardCopyOption.ATOMIC_MOVE);
+                return;
+            } catch (AtomicMoveNotSupportedException e) {
+                LOG.trace("Unable to atomically move {} to {}", jpeg.getFile(), destination);
+            }
+        }
+        // written next to the destination, so it can be atomically renamed
+        Path tmp = Files.createTempFile(destination.getParent(), "sejda", TMP_EXTENSION);
+        try {
+            if (jpeg.isInMemory()) {
+                Files.write(tmp, jpeg.getBytes());
+            } else {
+                Files.move(jpeg.getFile().toPath(), tmp, StandardCopyOption.REPLACE_EXISTING);
+            }
+            Files.move(tmp, destination, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    /**
+     * @param key
+     * @return true if the image identified by the given key is known to not benefit from compression. The cache returns the image itself for such keys.
+     */
+    public synchronized boolean isUncompressible(String key) {
+        return nonNull(key) && Optional.ofNullable(images.get(key)).map(CachedImage::isEmpty).orElse(false);
+    }
+
+    /**
+     * Caches the information that compressing the image identified by the given key doesn't give any benefit
+     *
+     * @param key
+     */
+    public synchronized void putUncompressible(String key) {
+        if (nonNull(key)) {
+            images.put(key, new CachedImage((File) null));
+        }
+    }
+
+    /**
+     * Releases the cache. In memory cached images and temporary files are deleted. If this is the last open cache using the directory, in this and in other processes, persisted images are evicted,
+     * least recently used first, until the directory is within the configured size. Must be called once the documents using the cached images have been saved.
+     */
+    @Override
+    public synchronized void close() {
+        temporaryFiles.forEach(File::delete);
+        temporaryFiles.clear();
+        if (isNull(directory)) {
+            images.clear();
+            inMemorySize = 0;
+            return;
+        }
+        images.clear();
+        lock.release(() -> evict(directory, maxSize));
+    }
+
+    /**
+     * Evicts the least recently used images until the directory is within the given size. Must be called holding the exclusive lock on the directory.
+     */
+    private static void evict(File directory, long maxSize) {
+        // leftovers of writes that didn't complete
+        Arrays.stream(Optional.ofNullable(directory.listFiles(f -> f.getName().endsWith(TMP_EXTENSION)))
+                .orElseGet(() -> new File[0])).forEach(File::delete);
+        Map<File, Long> lastUsed = Arrays.stream(cachedFiles(directory))
+                .collect(Collectors.toMap(f -> f, OptimizedImagesCache::lastUsed));
+        List<File> leastRecentlyUsedFirst = lastUsed.keySet().stream()
+                .sorted(Comparator.comparingLong(lastUsed::get)).collect(Collectors.toList());
+        long size = leastRecentlyUsedFirst.stream().mapToLong(File::length).sum();
+        for (File current : leastRecentlyUsedFirst) {
+            if (size <= maxSize) {
+                break;
+            }
+            long length = current.length();
+            if (current.delete()) {
+                size -= length;
+            } else {
+                LOG.warn("Unable to evict cached image {}", current);
+            }
+        }
+        LOG.debug("Images cache size is {}", HumanReadableSize.toString(size));
+    }
+
+    private static File[] cachedFiles(File directory) {
+        return Optional.ofNullable(directory.listFiles(f -> f.getName().endsWith(EXTENSION)))
+                .orElseGet(() -> new File[0]);
+    }
+
+    /**
+     * @return the most recent between the access and the modification time of the file. Many file systems don't update the access time on every read so cached images are also
+     *         touched when used.
+     */
+    private static long lastUsed(File file) {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+            return Math.max(attributes.lastAccessTime().toMillis(), attributes.lastModifiedTime().toMillis());
+        } catch (IOException e) {
+            return file.lastModified();
+        }
+    }
+
+    /**
+     * Lock on a cache directory, shared by all the caches of this process using it. The first cache acquiring it locks the directory in shared mode, across processes, and the
+     * last one releasing it tries to lock it exclusively to evict images.
+     */
+    private static class DirectoryLock {
+        private static final Map<Path, DirectoryLock> LOCKS = new HashMap<>();
+
+        private final Path directory;
+        private FileChannel channel;
+        private FileLock shared;
+        private int users;
+
+        private DirectoryLock(Path directory) {
+            this.directory = directory;
+        }
+
+        static DirectoryLock acquire(Path directory) throws IOException {
+            synchronized (LOCKS) {
+                DirectoryLock current = LOCKS.get(directory);
+                if (isNull(current)) {
+                    current = new DirectoryLock(directory);
+                    current.channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE,
+                            StandardOpenOption.READ, StandardOpenOption.WRITE);
+                    try {
+                        // waits for any other process evicting images
+                        current.shared = current.channel.lock(0, Long.MAX_VALUE, true);
+                    } catch (IOException | RuntimeException e) {
+                        IOUtils.closeQuietly(current.channel);
+                        throw e;
+                    }
+                    LOCKS.put(directory, current);
+                }
+                current.users++;
+                return current;
+            }
+        }
+
+        /**
+         * Releases the lock and, if no other cache in this or in other processes is using the directory, performs the given eviction holding an exclusive lock
+         */
+        void release(Runnable eviction) {
+            synchronized (LOCKS) {
+                if (--users > 0) {
+                    return;
+                }
+                LOCKS.remove(directory);
+                try {
+                    shared.release();
+                    FileLock exclusive = channel.tryLock();
+                    if (nonNull(exclusive)) {
+                        try {
+                            eviction.run();
+                        } finally {
+                            exclusive.release();
+                        }
+                    } else {
+                        LOG.debug("Images cache directory {} in use by another process, skipping eviction", directory);
+                    }
+                } catch (IOException e) {
+                    LOG.warn("Unable to lock images cache directory " + directory + ", skipping eviction", e);
+                } finally {
+                    IOUtils.closeQuietly(channel);
+                }
+            }
+        }
+    }
+
+    /**
+     * A compressed image, held in memory or in a file. A null image means the compression didn't give any benefit
+     */
+    private static class CachedImage {
+        private final File file;
+        private final byte[] bytes;
+        private int width;
+        private int height;
+        private int bitsPerComponent;
+        private PDColorSpace colorSpace;
+
+        CachedImage(File file) {
+            this.file = file;
+            this.bytes = null;
+        }
+
+        CachedImage(EncodedImage image) throws IOException {
+            this.file = image.getFile();
+            this.bytes = image.isInMemory() ? image.getBytes() : null;
+            describe(image);
+        }
+
+        boolean isEmpty() {
+            return isNull(file) && isNull(bytes);
+        }
+
+        void describe(EncodedImage image) {
+            // images compressed by the ImageOptimizer are always 8 bits RGB
+            this.width = image.getWidth();
+            this.height = image.getHeight();
+            this.bitsPerComponent = 8;
+            this.colorSpace = PDDeviceRGB.INSTANCE;
+        }
+
+        synchronized ReadOnlyFilteredCOSStream toStream() throws IOException {
+            if (nonNull(bytes)) {
+                return ReadOnlyFilteredCOSStream.readOnlyInMemoryJpegImage(bytes, width, height, bitsPerComponent,
+                        colorSpace);
+            }
+            if (isNull(colorSpace)) {
+                BufferedImage awtImage = ImagesOptimizer.readOpaqueJpegFile(file);
+                width = awtImage.getWidth();
+                height = awtImage.getHeight();
+                bitsPerComponent = awtImage.getColorModel().getComponentSize(0);
+                colorSpace = getColorSpaceFromAWT(awtImage);
+            }
+            return ReadOnlyFilteredCOSStream.readOnlyJpegImage(file, width, height, bitsPerComponent, colorSpace);
+        }
+    }
+}
@@ -59,6 +59,8 @@ final class Optimizers {
         case DISCARD_UNUSED_IMAGES:
         case DISCARD_UNUSED_RESOURCES:
             return new ResourceDictionaryCleaner();
+        case DISCARD_DUPLICATED_STREAMS:
+            return new DuplicatedStreamsDiscarder();
         default:
             return null;
         }
@@ -44,15 +44,26 @@ public class PagesOptimizer implements Consumer<PDPage> {
     private static final Logger LOG = LoggerFactory.getLogger(DocumentOptimizer.class);
 
     private Consumer<PDPage> optimizer = (p) -> LOG.trace("Optimizing page");
+    private ImagesOptimizer imagesOptimizer;
 
     public PagesOptimizer(OptimizeParameters parameters) {
+        this(parameters, new OptimizedImagesCache());
+    }
+
+    /**
+     * @param parameters
+     * @param imagesCache
+     *            cache of the compressed images, it can be shared by optimizers of different documents
+     */
+    public PagesOptimizer(OptimizeParameters parameters, OptimizedImagesCache imagesCache) {
         Set<Optimization> optimizations = ofNullable(parameters).map(OptimizeParameters::getOptimizations)
                 .orElse(emptySet());
         optimizations.forEach(o -> {
             ofNullable(pageOptimizer(o)).ifPresent(toAdd -> optimizer = optimizer.andThen(toAdd));
         });
         if (optimizations.stream().anyMatch(ImagesOptimizer::canOptimizeFor)) {
-            optimizer = optimizer.andThen(new ImagesOptimizer(parameters));
+            imagesOptimizer = new ImagesOptimizer(parameters, imagesCache);
+            optimizer = optimizer.andThen(imagesOptimizer);
         }
         // we want to be sure this is not performed before images optimization
         if (optimizations.contains(DISCARD_UNUSED_RESOURCES) || optimizations.contains(DISCARD_UNUSED_IMAGES)) {
@@ -65,4 +76,11 @@ public class PagesOptimizer implements Consumer<PDPage> {
         optimizer.accept(d);
     }
 
+    /**
+     * Completes the optimizations that are deferred until all the pages have been given to this consumer (Ex. images compressed in parallel)
+     */
+    public void complete() {
+        ofNullable(imagesOptimizer).ifPresent(ImagesOptimizer::complete);
+    }
+
 }
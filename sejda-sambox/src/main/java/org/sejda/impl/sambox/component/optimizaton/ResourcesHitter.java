@@ -19,13 +19,16 @@
 package org.sejda.impl.sambox.component.optimizaton;
 
 import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
 import static java.util.Optional.of;
 import static java.util.Optional.ofNullable;
 
 import java.io.IOException;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.function.Consumer;
@@ -55,6 +58,10 @@ import org.slf4j.LoggerFactory;
  * Component that parses the page content steam and the page annotations appearance stream, wraps any image xobject (type xobject, subtype image) found in an instance of
  * {@link ReadOnlyFilteredCOSStream}, every font in an instance of {@link InUseFontDictionary} and puts them back into the resource dictionary. It's later easy to identify xobjects
  * and fonts in use by the page/s and what can be discarded.
+ * <p>
+ * Images are wrapped once per instance of the hitter, pages sharing an image get the same wrapper even when they don't share the xobjects dictionary. Form xobjects with their own
+ * resource dictionary are parsed only the first time they are found.
+ * </p>
  * 
  * @author Andrea Vacondio
  *
@@ -63,6 +70,9 @@ public class ResourcesHitter extends PDFStreamEngine implements Consumer<PDPage>
 
     private static final Logger LOG = LoggerFactory.getLogger(ResourcesHitter.class);
 
+    private final Map<COSStream, ReadOnlyFilteredCOSStream> hitImages = new IdentityHashMap<>();
+    private final Map<COSStream, Boolean> hitForms = new IdentityHashMap<>();
+
     public ResourcesHitter() {
         addOperator(new XObjectOperator());
         addOperator(new FontHitterOperator());
@@ -93,14 +103,20 @@ public class ResourcesHitter extends PDFStreamEngine implements Consumer<PDPage>
                         if (COSName.IMAGE.getName().equals(subtype)) {
                             LOG.trace("Hit image with name {}", objectName.getName());
                             // we wrap the existing so we can identify it later as "in use" and already processed
-                            xobjects.get().setItem(objectName, ReadOnlyFilteredCOSStream.readOnly(imageStream));
+                            xobjects.get().setItem(objectName, wrap(imageStream));
                         } else if (COSName.FORM.getName().equals(subtype)) {
                             PDXObject xobject = PDXObject.createXObject(imageStream, context.getResources());
-                            if (xobject instanceof PDTransparencyGroup) {
+                            if (hitForms.containsKey(imageStream)) {
+                                LOG.trace("Form xobject with name {} already processed", objectName.getName());
+                            } else if (xobject instanceof PDTransparencyGroup) {
                                 context.showTransparencyGroup((PDTransparencyGroup) xobject);
                             } else if (xobject instanceof PDFormXObject) {
                                 context.showForm((PDFormXObject) xobject);
                             }
+                            // a form with its own resources is hit in place, the result is the same for every page using it
+                            if (xobject instanceof PDFormXObject && nonNull(((PDFormXObject) xobject).getResources())) {
+                                hitForms.put(imageStream, Boolean.TRUE);
+                            }
                         }
                     }
                 } else {
@@ -113,6 +129,18 @@ public class ResourcesHitter extends PDFStreamEngine implements Consumer<PDPage>
         public String getName() {
             return "Do";
         }
+
+        private ReadOnlyFilteredCOSStream wrap(COSStream imageStream) throws IOException {
+            ReadOnlyFilteredCOSStream wrapper = hitImages.get(imageStream);
+            if (wrapper == null) {
+                // let's make sure we get the unencrypted and filtered
+                imageStream.setEncryptor(null);
+                wrapper = new ReadOnlyFilteredCOSStream(imageStream, imageStream::getFilteredStream,
+                        imageStream.getFilteredLength());
+                hitImages.put(imageStream, wrapper);
+            }
+            return wrapper;
+        }
     }
 
     private class FontHitterOperator extends OperatorProcessor {
@@ -0,0 +1,272 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static java.util.Objects.isNull;
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.sambox.contentstream.PDFStreamEngine;
+import org.sejda.sambox.contentstream.operator.MissingOperandException;
+import org.sejda.sambox.contentstream.operator.Operator;
+import org.sejda.sambox.contentstream.operator.OperatorProcessor;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.font.PDType3CharProc;
+import org.sejda.sambox.pdmodel.font.PDType3Font;
+import org.sejda.sambox.pdmodel.graphics.PDXObject;
+import org.sejda.sambox.pdmodel.graphics.form.PDFormXObject;
+import org.sejda.sambox.pdmodel.graphics.form.PDTransparencyGroup;
+import org.sejda.sambox.pdmodel.interactive.annotation.PDAnnotation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Index of the resources used by the pages of a document. For every page it records the names of the fonts and xobjects of the page resource dictionary that are referenced by
+ * the page content stream, by the annotations appearance streams and by form xobjects and type 3 fonts without a resource dictionary of their own. A page content is parsed only
+ * the first time its usage is requested, components working on copies of the same pages can share an instance of the index to prune the copies resources without parsing the
+ * content again.
+ * <p>
+ * Contrary to the {@link ResourcesHitter}, the index doesn't modify the resource dictionaries of the document it analyzes.
+ * </p>
+ *
+ * @author agent
+ *
+ */
+public class ResourcesUsageIndex {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ResourcesUsageIndex.class);
+
+    private final Map<COSDictionary, Optional<PageResourcesUsage>> pages = new IdentityHashMap<>();
+    private final Map<COSStream, COSStream> usedImages = new IdentityHashMap<>();
+    private final UsageCollector collector = new UsageCollector();
+
+    /**
+     * @param page
+     * @return the resources used by the given page or an empty optional if the page content couldn't be parsed
+     */
+    public Optional<PageResourcesUsage> usageOf(PDPage page) {
+        return pages.computeIfAbsent(page.getCOSObject(), k -> collector.collect(page));
+    }
+
+    /**
+     * Replaces the resource dictionary of the given copy with a copy where fonts and image xobjects unused by the original page are removed. Each copy gets its own resource
+     * dictionary and its own xobjects and fonts name dictionaries, so shared dictionaries are never modified. Used images are wrapped in a {@link ReadOnlyFilteredCOSStream}, the
+     * same wrapper is used for every copy using the image. When the page content couldn't be parsed, resources are left untouched.
+     *
+     * @param page
+     *            the original page, analyzed to find the used resources
+     * @param copy
+     *            a copy of the original page, sharing its resource dictionary
+     */
+    public void prune(PDPage page, PDPage copy) {
+        COSDictionary resources = ofNullable(copy.getResources().getCOSObject()).map(COSDictionary::duplicate)
+                .orElseGet(COSDictionary::new);
+        // resources are cached in the PDPage so make sure they are replaced
+        copy.setResources(new PDResources(resources));
+        Optional<PageResourcesUsage> usage = usageOf(page);
+        ofNullable(resources.getDictionaryObject(COSName.XOBJECT, COSDictionary.class)).map(COSDictionary::duplicate)
+                .ifPresent(d -> {
+                    resources.setItem(COSName.XOBJECT, d);
+                    usage.ifPresent(u -> pruneImages(d, u));
+                });
+        ofNullable(resources.getDictionaryObject(COSName.FONT, COSDictionary.class)).map(COSDictionary::duplicate)
+                .ifPresent(d -> {
+                    resources.setItem(COSName.FONT, d);
+                    usage.ifPresent(u -> pruneFonts(d, u));
+                });
+    }
+
+    private void pruneImages(COSDictionary xobjects, PageResourcesUsage usage) {
+        Set<COSName> names = new HashSet<>(xobjects.keySet());
+        for (COSName name : names) {
+            COSBase xobject = xobjects.getDictionaryObject(name);
+            if (xobject instanceof COSStream && !(xobject instanceof ReadOnlyFilteredCOSStream)
+                    && COSName.IMAGE.equals(((COSStream) xobject).getCOSName(COSName.SUBTYPE))) {
+                if (usage.usesXObject(name)) {
+                    xobjects.setItem(name, wrap((COSStream) xobject));
+                } else {
+                    LOG.trace("Removing unused image {}", name.getName());
+                    xobjects.removeItem(name);
+                }
+            }
+        }
+    }
+
+    private COSStream wrap(COSStream imageStream) {
+        return usedImages.computeIfAbsent(imageStream, s -> {
+            try {
+                // let's make sure we get the unencrypted and filtered
+                s.setEncryptor(null);
+                return new ReadOnlyFilteredCOSStream(s, s::getFilteredStream, s.getFilteredLength());
+            } catch (IOException e) {
+                LOG.warn("Unable to wrap used image, keeping the original stream", e);
+                return s;
+            }
+        });
+    }
+
+    private static void pruneFonts(COSDictionary fonts, PageResourcesUsage usage) {
+        Set<COSName> toRemove = fonts.keySet().stream().filter(n -> !usage.usesFont(n)).collect(Collectors.toSet());
+        LOG.trace("Removing {} unused fonts", toRemove.size());
+        toRemove.forEach(fonts::removeItem);
+    }
+
+    /**
+     * Names of the fonts and xobjects of a page resource dictionary used by the page
+     */
+    public static class PageResourcesUsage {
+        private final Set<COSName> fonts = new HashSet<>();
+        private final Set<COSName> xobjects = new HashSet<>();
+
+        public boolean usesFont(COSName name) {
+            return fonts.contains(name);
+        }
+
+        public boolean usesXObject(COSName name) {
+            return xobjects.contains(name);
+        }
+    }
+
+    private static class UsageCollector extends PDFStreamEngine {
+
+        private COSDictionary pageResources;
+        private PageResourcesUsage usage;
+
+        UsageCollector() {
+            addOperator(new XObjectOperator());
+            addOperator(new FontOperator());
+        }
+
+        Optional<PageResourcesUsage> collect(PDPage page) {
+            try {
+                this.usage = new PageResourcesUsage();
+                this.pageResources = ofNullable(page.getResources()).map(PDResources::getCOSObject).orElse(null);
+                this.processPage(page);
+                for (PDAnnotation annotation : page.getAnnotations()) {
+                    this.showAnnotation(annotation);
+                }
+                LOG.trace("Page uses {} fonts and {} xobjects", usage.fonts.size(), usage.xobjects.size());
+                return Optional.of(usage);
+            } catch (IOException e) {
+                LOG.warn("Failed parse page, resources won't be pruned.", e);
+                return Optional.empty();
+            } finally {
+                this.usage = null;
+                this.pageResources = null;
+            }
+        }
+
+        /**
+         * @return true if the content currently processed uses the page resource dictionary
+         */
+        private boolean isUsingPageResources() {
+            return nonNull(pageResources) && nonNull(getResources()) && getResources().getCOSObject() == pageResources;
+        }
+
+        private class XObjectOperator extends OperatorProcessor {
+            @Override
+            public void process(Operator operator, List<COSBase> operands) throws IOException {
+                if (operands.isEmpty()) {
+                    throw new MissingOperandException(operator, operands);
+                }
+                COSBase operand = operands.get(0);
+                if (operand instanceof COSName && isUsingPageResources()) {
+                    COSName objectName = (COSName) operand;
+                    usage.xobjects.add(objectName);
+                    COSBase existing = ofNullable(
+                            pageResources.getDictionaryObject(COSName.XOBJECT, COSDictionary.class))
+                                    .map(d -> d.getDictionaryObject(objectName)).orElse(null);
+                    // forms with their own resources can't use the page resources
+                    if (existing instanceof COSStream
+                            && COSName.FORM.equals(((COSStream) existing).getCOSName(COSName.SUBTYPE))
+                            && isNull(((COSStream) existing).getItem(COSName.RESOURCES))) {
+                        PDXObject xobject = PDXObject.createXObject(existing, getResources());
+                        if (xobject instanceof PDTransparencyGroup) {
+                            showTransparencyGroup((PDTransparencyGroup) xobject);
+                        } else if (xobject instanceof PDFormXObject) {
+                            showForm((PDFormXObject) xobject);
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String getName() {
+                return "Do";
+            }
+        }
+
+        private class FontOperator extends OperatorProcessor {
+            @Override
+            public void process(Operator operator, List<COSBase> operands) throws IOException {
+                if (operands.size() < 2) {
+                    throw new MissingOperandException(operator, operands);
+                }
+                COSBase operand = operands.get(0);
+                if (operand instanceof COSName && isUsingPageResources()) {
+                    COSName fontName = (COSName) operand;
+                    if (usage.fonts.add(fontName)) {
+                        COSBase existing = ofNullable(
+                                pageResources.getDictionaryObject(COSName.FONT, COSDictionary.class))
+                                        .map(d -> d.getDictionaryObject(fontName)).orElse(null);
+                        // type 3 fonts glyphs without a resource dictionary use the page resources
+                        if (existing instanceof COSDictionary
+                                && COSName.TYPE3.equals(((COSDictionary) existing).getCOSName(COSName.SUBTYPE))
+                                && isNull(((COSDictionary) existing).getItem(COSName.RESOURCES))) {
+                            COSDictionary fontDictionary = (COSDictionary) existing;
+                            PDType3Font font = new PDType3Font(fontDictionary);
+                            Collection<COSBase> glyphStreams = ofNullable(
+                                    fontDictionary.getDictionaryObject(COSName.CHAR_PROCS, COSDictionary.class))
+                                            .map(chars -> chars.getValues()).filter(v -> !v.isEmpty())
+                                            .orElseGet(Collections::emptyList);
+                            List<PDType3CharProc> pdStreams = glyphStreams.stream().map(COSBase::getCOSObject)
+                                    .filter(s -> s instanceof COSStream).map(s -> (COSStream) s)
+                                    .map(s -> new PDType3CharProc(font, s)).collect(Collectors.toList());
+                            for (PDType3CharProc glyph : pdStreams) {
+                                processStream(glyph);
+                            }
+                        }
+                    }
+                }
+            }
+
+            @Override
+            public String getName() {
+                return "Tf";
+            }
+        }
+    }
+}
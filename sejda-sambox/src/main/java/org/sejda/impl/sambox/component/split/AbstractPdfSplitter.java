@@ -25,16 +25,27 @@ import static org.sejda.core.support.prefix.NameGenerator.nameGenerator;
 import static org.sejda.core.support.prefix.model.NameGenerationRequest.nameRequest;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
 
 import org.apache.xmlgraphics.ps.dsc.tools.PageExtractor;
+import org.sejda.common.ComponentsUtility;
+import org.sejda.core.support.io.IOUtils;
 import org.sejda.core.support.io.MultipleOutputWriter;
 import org.sejda.core.support.io.OutputWriters;
+import org.sejda.core.support.prefix.NameGenerator;
 import org.sejda.core.support.prefix.model.NameGenerationRequest;
 import org.sejda.core.support.util.HumanReadableSize;
+import org.sejda.core.support.util.PerWorkerDocumentExecutor;
+import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PagesExtractor;
 import org.sejda.model.exception.TaskException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfSource;
 import org.sejda.model.parameter.base.AbstractPdfOutputParameters;
+import org.sejda.model.parameter.base.ParallelizableTaskParameters;
 import org.sejda.model.split.NextOutputStrategy;
 import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.pdmodel.PDDocument;
@@ -58,6 +69,7 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
     private MultipleOutputWriter outputWriter;
     private boolean optimize = false;
     private boolean discardOutline = false;
+    private List<File> buffers = new ArrayList<>();
 
     public AbstractPdfSplitter(PDDocument document, T parameters, boolean optimize, boolean discardOutline) {
         this.document = document;
@@ -72,6 +84,26 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
 
         this.outputWriter = OutputWriters.newMultipleOutputWriter(parameters.getExistingOutputPolicy(),
                 executionContext);
+        int parallelism = parallelism();
+        // the prefix is parsed once and used for all the outputs
+        NameGenerator nameGenerator = nameGenerator(outputPrefix);
+        try {
+            if (parallelism > 1 && supportsConcurrentOutputs() && source instanceof PdfFileSource) {
+                LOG.debug("Writing outputs concurrently using {} threads", parallelism);
+                concurrentSplit(executionContext, nameGenerator, (PdfFileSource) source, parallelism);
+            } else {
+                sequentialSplit(executionContext, nameGenerator, source);
+            }
+            parameters.getOutput().accept(outputWriter);
+        } finally {
+            // buffers moved to their destination are gone, these are the ones of a failed or cancelled split
+            buffers.forEach(IOUtils::deleteBuffer);
+            buffers.clear();
+        }
+    }
+
+    private void sequentialSplit(TaskExecutionContext executionContext, NameGenerator nameGenerator, PdfSource<?> source)
+            throws TaskException {
         try (PagesExtractor extractor = supplyPagesExtractor(document)) {
             File tmpFile = null;
             for (int page = 1; page <= totalPages; page++) {
@@ -79,12 +111,9 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
                 if (nextOutputStrategy().isOpening(page)) {
                     LOG.debug("Starting split at page {} of the original document", page);
                     onOpen(page);
-                    tmpFile = createTemporaryPdfBuffer();
-                    LOG.debug("Created output temporary buffer {}", tmpFile);
-                    String outName = nameGenerator(outputPrefix).generate(enrichNameGenerationRequest(
-                            nameRequest().page(page).originalName(source.getName())
-                                    .fileNumber(executionContext.incrementAndGetOutputDocumentsCounter())));
-                    outputWriter.addOutput(file(tmpFile).name(outName));
+                    tmpFile = newBuffer();
+                    outputWriter.addOutput(
+                            file(tmpFile).name(outputName(executionContext, nameGenerator, source, page)));
                 }
                 LOG.trace("Retaining page {} of the original document", page);
                 onRetain(page);
@@ -92,19 +121,106 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
                 notifyEvent(executionContext.notifiableTaskMetadata()).stepsCompleted(page).outOf(totalPages);
                 if (nextOutputStrategy().isClosing(page) || page == totalPages) {
                     onClose(page);
-                    extractor.setVersion(parameters.getVersion());
-                    extractor.setCompress(parameters.isCompress());
-                    if (optimize) {
-                        extractor.optimize();
-                    }
-                    extractor.save(tmpFile, discardOutline);
+                    save(extractor, tmpFile);
                     extractor.reset();
                     LOG.debug("Ending split at page {} of the original document, generated document size is {}", page,
                             HumanReadableSize.toString(tmpFile.length()));
                 }
             }
         }
-        parameters.getOutput().accept(outputWriter);
+    }
+
+    /**
+     * Boundaries of every output are decided upfront by the calling thread, together with the outputs names, so that naming and outputs order are the same as the sequential
+     * split. Outputs are then extracted, optimized and saved by a pool of workers, each one working on its own instance of the source document and creating the buffer of the
+     * output when it starts it, so that only the outputs in flight have a buffer on disk. Outputs are added to the writer in order by the calling thread.
+     */
+    private void concurrentSplit(TaskExecutionContext executionContext, NameGenerator nameGenerator, PdfFileSource source,
+            int parallelism) throws TaskException {
+        List<OutputChunk> chunks = new ArrayList<>();
+        OutputChunk current = null;
+        for (int page = 1; page <= totalPages; page++) {
+            executionContext.assertTaskNotCancelled();
+            if (nextOutputStrategy().isOpening(page)) {
+                current = new OutputChunk(page, outputName(executionContext, nameGenerator, source, page));
+                chunks.add(current);
+            }
+            if (current != null) {
+                current.lastPage = page;
+                if (nextOutputStrategy().isClosing(page)) {
+                    current = null;
+                }
+            }
+        }
+
+        try (PerWorkerDocumentExecutor<PDDocumentHandler> executor = new PerWorkerDocumentExecutor<>(executionContext,
+                Math.min(parallelism, chunks.size()), () -> source.open(new DefaultPdfSourceOpener()),
+                ComponentsUtility::nullSafeCloseQuietly)) {
+            executor.execute(chunks, (handler, chunk) -> {
+                chunk.file = createTemporaryPdfBuffer(parameters.getOutput());
+                LOG.debug("Created output temporary buffer {}", chunk.file);
+                write(chunk, handler.getUnderlyingPDDocument(), executionContext);
+                return chunk;
+            }, (chunk, written) -> {
+                outputWriter.addOutput(file(chunk.file).name(chunk.name));
+                notifyEvent(executionContext.notifiableTaskMetadata()).stepsCompleted(chunk.lastPage).outOf(totalPages);
+            });
+        } finally {
+            // workers are terminated here
+            chunks.stream().map(c -> c.file).filter(Objects::nonNull).forEach(buffers::add);
+        }
+    }
+
+    private void write(OutputChunk chunk, PDDocument document, TaskExecutionContext executionContext)
+            throws TaskException {
+        LOG.debug("Starting split at page {} of the original document", chunk.firstPage);
+        try (PagesExtractor extractor = supplyPagesExtractor(document)) {
+            for (int page = chunk.firstPage; page <= chunk.lastPage; page++) {
+                executionContext.assertTaskNotCancelled();
+                LOG.trace("Retaining page {} of the original document", page);
+                extractor.retain(page, executionContext);
+            }
+            save(extractor, chunk.file);
+        }
+        LOG.debug("Ending split at page {} of the original document, generated document size is {}", chunk.lastPage,
+                HumanReadableSize.toString(chunk.file.length()));
+    }
+
+    private File newBuffer() throws TaskException {
+        File tmpFile = createTemporaryPdfBuffer(parameters.getOutput());
+        buffers.add(tmpFile);
+        LOG.debug("Created output temporary buffer {}", tmpFile);
+        return tmpFile;
+    }
+
+    private String outputName(TaskExecutionContext executionContext, NameGenerator nameGenerator, PdfSource<?> source,
+            int page) {
+        return nameGenerator.generate(enrichNameGenerationRequest(nameRequest().page(page)
+                .originalName(source.getName()).fileNumber(executionContext.incrementAndGetOutputDocumentsCounter())));
+    }
+
+    private void save(PagesExtractor extractor, File tmpFile) throws TaskException {
+        extractor.setVersion(parameters.getVersion());
+        extractor.setCompress(parameters.isCompress());
+        if (optimize) {
+            extractor.optimize();
+        }
+        extractor.save(tmpFile, discardOutline);
+    }
+
+    private int parallelism() {
+        if (parameters instanceof ParallelizableTaskParameters) {
+            return ((ParallelizableTaskParameters) parameters).getParallelism();
+        }
+        return 1;
+    }
+
+    /**
+     * @return true if the boundaries of the outputs don't depend on the content of the previous outputs and the {@link #onOpen(int)}, {@link #onRetain(int)},
+     *         {@link #onClose(int)} hooks are not used, so that the outputs can be generated concurrently.
+     */
+    protected boolean supportsConcurrentOutputs() {
+        return false;
     }
 
     abstract NameGenerationRequest enrichNameGenerationRequest(NameGenerationRequest request);
@@ -145,9 +261,26 @@ public abstract class AbstractPdfSplitter<T extends AbstractPdfOutputParameters>
     }
 
     /**
-     * Creates the {@link PageExtractor} to be used by this {@link AbstractPdfSplitter}
+     * Creates the {@link PageExtractor} to be used by this {@link AbstractPdfSplitter}. When outputs are generated concurrently this is called by the workers, each one with
+     * its own instance of the document.
      */
     protected PagesExtractor supplyPagesExtractor(PDDocument document) {
         return new PagesExtractor(document);
     }
+
+    /**
+     * Pages range of an output, its name and the file it's written to, created by the worker writing it
+     */
+    private static class OutputChunk {
+        private final int firstPage;
+        private final String name;
+        private int lastPage;
+        private volatile File file;
+
+        OutputChunk(int firstPage, String name) {
+            this.firstPage = firstPage;
+            this.lastPage = firstPage;
+            this.name = name;
+        }
+    }
 }
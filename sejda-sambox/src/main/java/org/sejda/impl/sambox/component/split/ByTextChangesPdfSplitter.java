@@ -19,9 +19,13 @@
 package org.sejda.impl.sambox.component.split;
 
 import org.sejda.core.support.prefix.model.NameGenerationRequest;
+import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.input.PdfFileSource;
+import org.sejda.model.input.PdfSource;
 import org.sejda.model.parameter.SplitByTextContentParameters;
 import org.sejda.model.split.NextOutputStrategy;
+import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.pdmodel.PDDocument;
 
 /**
@@ -40,6 +44,32 @@ public class ByTextChangesPdfSplitter extends AbstractPdfSplitter<SplitByTextCon
                 parameters.getStartsWith(), parameters.getEndsWith());
     }
 
+    /**
+     * Splitter where, if the parameters parallelism is greater than one and the source is a file, the text in the area is extracted from the pages concurrently
+     * 
+     * @param document
+     * @param source
+     *            the source of the given document
+     * @param parameters
+     * @param optimize
+     * @param executionContext
+     *            context of the task, used to check for cancellation while extracting text concurrently
+     * @throws TaskException
+     */
+    public ByTextChangesPdfSplitter(PDDocument document, PdfSource<?> source,
+            SplitByTextContentParameters parameters, boolean optimize, TaskExecutionContext executionContext)
+            throws TaskException {
+        super(document, parameters, optimize, parameters.discardOutline());
+        if (parameters.getParallelism() > 1 && source instanceof PdfFileSource) {
+            this.outputStrategy = new SplitByTextChangesOutputStrategy(document, (PdfFileSource) source,
+                    parameters.getParallelism(), executionContext, parameters.getTextArea(),
+                    parameters.getStartsWith(), parameters.getEndsWith());
+        } else {
+            this.outputStrategy = new SplitByTextChangesOutputStrategy(document, parameters.getTextArea(),
+                    parameters.getStartsWith(), parameters.getEndsWith());
+        }
+    }
+
     @Override
     NameGenerationRequest enrichNameGenerationRequest(NameGenerationRequest request) {
         return request.text(outputStrategy.getTextByPage(request.getPage()));
@@ -49,4 +79,9 @@ public class ByTextChangesPdfSplitter extends AbstractPdfSplitter<SplitByTextCon
     NextOutputStrategy nextOutputStrategy() {
         return outputStrategy;
     }
+
+    @Override
+    protected boolean supportsConcurrentOutputs() {
+        return true;
+    }
 }
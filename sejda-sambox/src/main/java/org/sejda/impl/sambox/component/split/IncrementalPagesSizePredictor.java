@@ -0,0 +1,268 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.split;
+
+import static java.util.Objects.nonNull;
+import static java.util.Optional.ofNullable;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSBase;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSNull;
+import org.sejda.sambox.cos.COSObjectable;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.output.ExistingPagesSizePredictor;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * Incremental predictor of the size of a document made of existing pages. Pages are measured without the indirect objects they refer to (content streams, resources, fonts,
+ * images, annotations...), which are measured only once, the first time they are found, and whose size is cached for the lifetime of the predictor, across the predicted
+ * outputs. When a page is added, the predicted size is updated with the size of the page and of the indirect objects it refers to, directly or not, that are not already part of
+ * the current output.
+ * <p>
+ * Measurements are performed by the SAMBox {@link ExistingPagesSizePredictor} on shallow copies where the referred indirect objects are replaced with placeholders. Indirect
+ * objects shared by other indirect objects are counted once, objects only shared as direct objects are counted for every page, so the prediction can be slightly above the
+ * actual size.
+ * </p>
+ * 
+ * @author agent
+ */
+class IncrementalPagesSizePredictor {
+
+    // euristic size of a reference to an indirect object, replaced by a placeholder in the measurements
+    private static final int REFERENCE_SIZE = 10;
+    private static final COSName UNIT = COSName.getPDFName("Unit");
+
+    private final Supplier<ExistingPagesSizePredictor> predictorSupplier;
+    private final Map<COSBase, Measured> measured = new IdentityHashMap<>();
+    private final Deque<Measured> pending = new ArrayDeque<>();
+    private final long emptySize;
+    private final long baseSize;
+
+    private Set<Measured> included = Collections.newSetFromMap(new IdentityHashMap<>());
+    private long size;
+    private int pages;
+    private COSDictionary lastPage;
+    private Measured lastPageMeasure;
+
+    /**
+     * @param predictorSupplier
+     *            supplier of the SAMBox predictors performing the measurements, configured with the write options of the outputs
+     * @param documentObjects
+     *            objects written in every output, regardless of the pages (Ex. the document information)
+     * @throws IOException
+     */
+    IncrementalPagesSizePredictor(Supplier<ExistingPagesSizePredictor> predictorSupplier,
+            COSObjectable... documentObjects) throws IOException {
+        this.predictorSupplier = predictorSupplier;
+        this.emptySize = sizeOf(p -> p.addPage(emptyPage()));
+        this.baseSize = sizeOf(p -> {
+            for (COSObjectable current : documentObjects) {
+                p.addIndirectReferenceFor(current);
+            }
+            p.addPage(emptyPage());
+        });
+        newOutput();
+    }
+
+    /**
+     * Starts the prediction of a new output, measured indirect objects are retained
+     */
+    public void newOutput() {
+        included = Collections.newSetFromMap(new IdentityHashMap<>());
+        size = baseSize;
+        pages = 0;
+    }
+
+    /**
+     * Adds the given page to the current output. The page is measured only if it's not the one added last.
+     * 
+     * @param page
+     * @throws IOException
+     */
+    public void addPage(PDPage page) throws IOException {
+        if (page.getCOSObject() != lastPage) {
+            List<COSBase> referred = new ArrayList<>();
+            COSDictionary skeleton = dictionarySkeleton(page.getCOSObject(), referred);
+            skeleton.removeItem(COSName.PARENT);
+            Measured current = new Measured();
+            current.size = sizeOf(p -> p.addPage(new PDPage(skeleton))) - emptySize
+                    + (referred.size() * REFERENCE_SIZE);
+            referred.forEach(r -> current.referred.add(measuredFor(r)));
+            measurePending();
+            lastPage = page.getCOSObject();
+            lastPageMeasure = current;
+        }
+        size += lastPageMeasure.size;
+        pages++;
+        Deque<Measured> referred = new ArrayDeque<>(lastPageMeasure.referred);
+        while (!referred.isEmpty()) {
+            Measured current = referred.pop();
+            if (included.add(current)) {
+                size += current.size;
+                referred.addAll(current.referred);
+            }
+        }
+    }
+
+    /**
+     * @return the predicted size of the current output, xref included
+     */
+    public long predictedSize() {
+        return size;
+    }
+
+    /**
+     * @return the number of pages of the current output
+     */
+    public int pages() {
+        return pages;
+    }
+
+    public boolean hasPages() {
+        return pages > 0;
+    }
+
+    private Measured measuredFor(COSBase indirect) {
+        return measured.computeIfAbsent(indirect, k -> {
+            Measured created = new Measured();
+            created.object = k;
+            pending.add(created);
+            return created;
+        });
+    }
+
+    private void measurePending() throws IOException {
+        while (!pending.isEmpty()) {
+            Measured current = pending.poll();
+            List<COSBase> referred = new ArrayList<>();
+            COSBase skeleton = skeleton(current.object, referred);
+            COSDictionary holder = emptyPage();
+            holder.setItem(UNIT, skeleton);
+            current.size = sizeOf(p -> {
+                p.addIndirectReferenceFor(skeleton);
+                p.addPage(new PDPage(holder));
+            }) - emptySize + (referred.size() * REFERENCE_SIZE);
+            referred.forEach(r -> current.referred.add(measuredFor(r)));
+            current.object = null;
+        }
+    }
+
+    private long sizeOf(Measurement measurement) throws IOException {
+        try (ExistingPagesSizePredictor predictor = predictorSupplier.get()) {
+            measurement.accept(predictor);
+            return predictor.predictedPagesSize() + predictor.predictedXrefTableSize();
+        }
+    }
+
+    private static COSDictionary emptyPage() {
+        COSDictionary page = new COSDictionary();
+        page.setItem(COSName.TYPE, COSName.PAGE);
+        return page;
+    }
+
+    /**
+     * @return a copy of the given indirect object where the indirect objects it refers to are replaced by a placeholder and added to the given list
+     */
+    private static COSBase skeleton(COSBase indirect, List<COSBase> referred) throws IOException {
+        if (indirect instanceof COSStream) {
+            COSStream stream = (COSStream) indirect;
+            return new ReadOnlyFilteredCOSStream(dictionarySkeleton(stream, referred), stream::getFilteredStream,
+                    stream.getFilteredLength());
+        }
+        if (indirect instanceof COSDictionary) {
+            return dictionarySkeleton((COSDictionary) indirect, referred);
+        }
+        if (indirect instanceof COSArray) {
+            return arraySkeleton((COSArray) indirect, referred);
+        }
+        return indirect;
+    }
+
+    private static COSDictionary dictionarySkeleton(COSDictionary dictionary, List<COSBase> referred) {
+        COSDictionary skeleton = new COSDictionary();
+        for (Map.Entry<COSName, COSBase> entry : dictionary.entrySet()) {
+            skeleton.setItem(entry.getKey(), member(entry.getValue(), referred));
+        }
+        return skeleton;
+    }
+
+    private static COSArray arraySkeleton(COSArray array, List<COSBase> referred) {
+        COSArray skeleton = new COSArray();
+        for (COSBase item : array) {
+            skeleton.add(member(item, referred));
+        }
+        return skeleton;
+    }
+
+    private static COSBase member(COSBase value, List<COSBase> referred) {
+        COSBase resolved = ofNullable(value).map(COSBase::getCOSObject).orElse(COSNull.NULL);
+        if (resolved instanceof COSDictionary && isPageTreeNode((COSDictionary) resolved)) {
+            // pages are not part of the output through references
+            return COSNull.NULL;
+        }
+        if (resolved instanceof COSStream || (isContainer(resolved) && (nonNull(value.id()) || nonNull(resolved.id())))) {
+            referred.add(resolved);
+            return COSNull.NULL;
+        }
+        if (resolved instanceof COSDictionary) {
+            return dictionarySkeleton((COSDictionary) resolved, referred);
+        }
+        if (resolved instanceof COSArray) {
+            return arraySkeleton((COSArray) resolved, referred);
+        }
+        return resolved;
+    }
+
+    private static boolean isContainer(COSBase value) {
+        return value instanceof COSDictionary || value instanceof COSArray;
+    }
+
+    private static boolean isPageTreeNode(COSDictionary dictionary) {
+        return COSName.PAGE.equals(dictionary.getCOSName(COSName.TYPE))
+                || COSName.PAGES.equals(dictionary.getCOSName(COSName.TYPE));
+    }
+
+    /**
+     * Size of an indirect object, or of a page, without the indirect objects it refers to
+     */
+    private static class Measured {
+        private COSBase object;
+        private long size;
+        private final List<Measured> referred = new ArrayList<>();
+    }
+
+    @FunctionalInterface
+    private interface Measurement {
+        void accept(ExistingPagesSizePredictor predictor) throws IOException;
+    }
+}
@@ -21,16 +21,12 @@ package org.sejda.impl.sambox.component.split;
 import static java.util.Objects.nonNull;
 import static java.util.Optional.ofNullable;
 
-import java.util.Objects;
-
-import org.sejda.impl.sambox.component.optimizaton.ResourceDictionaryCleaner;
-import org.sejda.impl.sambox.component.optimizaton.ResourcesHitter;
+import org.sejda.impl.sambox.component.optimizaton.ResourcesUsageIndex;
 import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSBase;
 import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDPage;
-import org.sejda.sambox.pdmodel.PDResources;
 
 /**
  * Component providing copies of pages that can be fed to the ExistingPagesSizePredictor
@@ -39,11 +35,20 @@ import org.sejda.sambox.pdmodel.PDResources;
  */
 class PageCopier {
     private boolean optimize;
-    private ResourcesHitter hitter = new ResourcesHitter();
-    private ResourceDictionaryCleaner cleaner = new ResourceDictionaryCleaner();
+    private ResourcesUsageIndex resourcesUsage;
 
     public PageCopier(boolean optimize) {
+        this(optimize, new ResourcesUsageIndex());
+    }
+
+    /**
+     * @param optimize
+     * @param resourcesUsage
+     *            index of the resources used by the copied pages, used to optimize the copies
+     */
+    public PageCopier(boolean optimize, ResourcesUsageIndex resourcesUsage) {
         this.optimize = optimize;
+        this.resourcesUsage = resourcesUsage;
     }
 
     public PDPage copyOf(PDPage page) {
@@ -75,18 +80,7 @@ class PageCopier {
             copy.getCOSObject().setItem(COSName.ANNOTS, cleanedAnnotationsCopy);
         }
         if (optimize) {
-            // each page must have it's own resource dic and it's own xobject and font name dic
-            // so we don't optimize shared resource dic or xobjects/fonts name dictionaries
-            COSDictionary resources = ofNullable(copy.getResources().getCOSObject()).map(COSDictionary::duplicate)
-                    .orElseGet(COSDictionary::new);
-            // resources are cached in the PDPage so make sure they are replaced
-            copy.setResources(new PDResources(resources));
-            ofNullable(resources.getDictionaryObject(COSName.XOBJECT, COSDictionary.class)).filter(Objects::nonNull)
-                    .map(COSDictionary::duplicate).ifPresent(d -> resources.setItem(COSName.XOBJECT, d));
-            ofNullable(resources.getDictionaryObject(COSName.FONT, COSDictionary.class)).filter(Objects::nonNull)
-                    .map(COSDictionary::duplicate).ifPresent(d -> resources.setItem(COSName.FONT, d));
-            hitter.accept(copy);
-            cleaner.clean(copy);
+            resourcesUsage.prune(page, copy);
         }
         return copy;
     }
@@ -59,4 +59,9 @@ public class PageDestinationsLevelPdfSplitter extends AbstractPdfSplitter<SplitB
     NextOutputStrategy nextOutputStrategy() {
         return splitPages;
     }
+
+    @Override
+    protected boolean supportsConcurrentOutputs() {
+        return true;
+    }
 }
@@ -51,4 +51,8 @@ public class PagesPdfSplitter<T extends AbstractSplitByPageParameters> extends A
         return request;
     }
 
+    @Override
+    protected boolean supportsConcurrentOutputs() {
+        return true;
+    }
 }
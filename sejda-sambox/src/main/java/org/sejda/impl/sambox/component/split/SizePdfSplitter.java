@@ -23,6 +23,7 @@ import java.util.function.Supplier;
 
 import org.sejda.core.support.prefix.model.NameGenerationRequest;
 import org.sejda.impl.sambox.component.PagesExtractor;
+import org.sejda.impl.sambox.component.optimizaton.ResourcesUsageIndex;
 import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.parameter.SplitBySizeParameters;
@@ -30,7 +31,7 @@ import org.sejda.model.split.NextOutputStrategy;
 import org.sejda.sambox.output.ExistingPagesSizePredictor;
 import org.sejda.sambox.output.WriteOption;
 import org.sejda.sambox.pdmodel.PDDocument;
-import org.sejda.util.IOUtils;
+import org.sejda.sambox.pdmodel.PDPage;
 
 /**
  * Splitter implementation that tries to split a document at roughly a given size
@@ -49,10 +50,12 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
     private static final int PAGE_OVERHEAD = 10;
 
     private OutputSizeStrategy nextOutputStrategy;
+    // pages are parsed once, both to predict the size and to optimize the output
+    private ResourcesUsageIndex resourcesUsage = new ResourcesUsageIndex();
 
     public SizePdfSplitter(PDDocument document, SplitBySizeParameters parameters, boolean optimize) {
         super(document, parameters, optimize, parameters.discardOutline());
-        this.nextOutputStrategy = new OutputSizeStrategy(document, parameters, optimize);
+        this.nextOutputStrategy = new OutputSizeStrategy(document, parameters, optimize, resourcesUsage);
     }
 
     @Override
@@ -84,7 +87,7 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
 
     @Override
     protected PagesExtractor supplyPagesExtractor(PDDocument document) {
-        return new PagesExtractor(document) {
+        return new PagesExtractor(document, resourcesUsage) {
             @Override
             public void setCompress(boolean compress) {
                 if (compress) {
@@ -96,19 +99,28 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
         };
     }
 
+    /**
+     * Strategy closing an output when the predicted size exceeds the limit. The size of the indirect objects shared by the pages (resources, fonts, images...) is measured once
+     * for the whole split and the prediction is updated incrementally as pages are added.
+     */
     static class OutputSizeStrategy implements NextOutputStrategy {
         private long sizeLimit;
         private PDDocument document;
-        private ExistingPagesSizePredictor predictor;
+        private IncrementalPagesSizePredictor predictor;
         private Supplier<ExistingPagesSizePredictor> predictorSupplier = () -> {
             return new ExistingPagesSizePredictor();
         };
         private PageCopier copier;
+        // the page simulated last, it's the first page of the following output when the current one is closing
+        private int lastSimulatedPage;
+        private PDPage lastSimulatedCopy;
+        private boolean closed = true;
 
-        OutputSizeStrategy(PDDocument document, SplitBySizeParameters parameters, boolean optimize) {
+        OutputSizeStrategy(PDDocument document, SplitBySizeParameters parameters, boolean optimize,
+                ResourcesUsageIndex resourcesUsage) {
             this.sizeLimit = parameters.getSizeToSplitAt();
             this.document = document;
-            this.copier = new PageCopier(optimize);
+            this.copier = new PageCopier(optimize, resourcesUsage);
             if (parameters.isCompress()) {
                 predictorSupplier = () -> {
                     return new ExistingPagesSizePredictor(WriteOption.COMPRESS_STREAMS, WriteOption.XREF_STREAM);
@@ -119,9 +131,12 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
 
         public void newPredictor() throws TaskIOException {
             try {
-                predictor = predictorSupplier.get();
-                predictor.addIndirectReferenceFor(document.getDocumentInformation());
-                predictor.addIndirectReferenceFor(document.getDocumentCatalog().getViewerPreferences());
+                if (predictor == null) {
+                    predictor = new IncrementalPagesSizePredictor(predictorSupplier,
+                            document.getDocumentInformation(), document.getDocumentCatalog().getViewerPreferences());
+                }
+                predictor.newOutput();
+                closed = false;
             } catch (IOException e) {
                 throw new TaskIOException("Unable to initialize the pages size predictor", e);
             }
@@ -130,7 +145,11 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
         public void addPage(int page) throws TaskIOException {
             try {
                 if (page <= document.getNumberOfPages()) {
-                    predictor.addPage(copier.copyOf(document.getPage(page - 1)));
+                    if (page != lastSimulatedPage) {
+                        lastSimulatedCopy = copier.copyOf(document.getPage(page - 1));
+                        lastSimulatedPage = page;
+                    }
+                    predictor.addPage(lastSimulatedCopy);
                 }
             } catch (IOException e) {
                 throw new TaskIOException("Unable to simulate page " + page + " addition", e);
@@ -138,8 +157,8 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
         }
 
         public void closePredictor() {
-            IOUtils.closeQuietly(predictor);
-            this.predictor = null;
+            // measured objects are retained for the following outputs
+            closed = true;
         }
 
         @Override
@@ -152,18 +171,14 @@ public class SizePdfSplitter extends AbstractPdfSplitter<SplitBySizeParameters>
 
         @Override
         public boolean isOpening(Integer page) {
-            return predictor == null || !predictor.hasPages();
+            return closed || !predictor.hasPages();
         }
 
         @Override
-        public boolean isClosing(Integer page) throws TaskIOException {
-            try {
-                long currentPageSize = predictor.predictedPagesSize();
-                return (PDF_HEADER_SIZE + ID_VALUE_SIZE + currentPageSize + predictor.predictedXrefTableSize()
-                        + documentFooterSize(currentPageSize) + (predictor.pages() * PAGE_OVERHEAD)) > sizeLimit;
-            } catch (IOException e) {
-                throw new TaskIOException("Unable to simulate page " + page + " addition", e);
-            }
+        public boolean isClosing(Integer page) {
+            long currentSize = predictor.predictedSize();
+            return (PDF_HEADER_SIZE + ID_VALUE_SIZE + currentSize + documentFooterSize(currentSize)
+                    + (predictor.pages() * PAGE_OVERHEAD)) > sizeLimit;
         }
 
         private int documentFooterSize(long documentSize) {
@@ -22,18 +22,30 @@ import static org.apache.commons.lang3.StringUtils.defaultIfBlank;
 import static org.apache.commons.lang3.StringUtils.isBlank;
 import static org.apache.commons.lang3.StringUtils.isNotBlank;
 
+import java.io.Closeable;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.apache.commons.lang3.StringUtils;
+import org.sejda.common.ComponentsUtility;
+import org.sejda.core.support.util.PerWorkerDocumentExecutor;
+import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
 import org.sejda.impl.sambox.component.PdfTextExtractorByArea;
 import org.sejda.model.TopLeftRectangularBox;
+import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskExecutionException;
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.split.NextOutputStrategy;
 import org.sejda.model.split.SplitPages;
+import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDPage;
 import org.slf4j.LoggerFactory;
@@ -51,14 +63,45 @@ public class SplitByTextChangesOutputStrategy implements NextOutputStrategy {
         this.delegate = new SplitPages(pages);
     }
 
+    /**
+     * Text in the given area is extracted concurrently by the given number of threads, each one working on its own instance of the given source.
+     * 
+     * @param document
+     * @param source
+     *            the source of the document
+     * @param parallelism
+     *            number of threads extracting text concurrently
+     * @param executionContext
+     *            context of the task, used to check for cancellation
+     * @param area
+     * @param startsWith
+     * @param endsWith
+     * @throws TaskException
+     */
+    public SplitByTextChangesOutputStrategy(PDDocument document, PdfFileSource source, int parallelism,
+            TaskExecutionContext executionContext, TopLeftRectangularBox area, String startsWith, String endsWith)
+            throws TaskException {
+        this.pages = findPageToSplitAt(concurrentlyExtractTextFromPagesArea(source, parallelism, executionContext,
+                document.getNumberOfPages(), area), area, startsWith, endsWith);
+        this.delegate = new SplitPages(pages);
+    }
+
     Collection<Integer> findPageToSplitAt(PDDocument document, TopLeftRectangularBox area, String startsWith, String endsWith) throws TaskIOException {
+        List<String> texts = new ArrayList<>(document.getNumberOfPages());
+        PdfTextExtractorByArea extractor = new PdfTextExtractorByArea();
+        for (PDPage page : document.getPages()) {
+            texts.add(extractTextFromPageArea(extractor, page, area));
+        }
+        return findPageToSplitAt(texts, area, startsWith, endsWith);
+    }
+
+    private Collection<Integer> findPageToSplitAt(List<String> texts, TopLeftRectangularBox area, String startsWith,
+            String endsWith) {
         Collection<Integer> pagesToSplitAt = new HashSet<Integer>();
         String prevPageText = null;
 
-        for (int pageNumber = 1; pageNumber <= document.getNumberOfPages(); pageNumber++) {
-            PDPage page = document.getDocumentCatalog().getPages().get(pageNumber - 1);
-
-            String pageText = org.sejda.core.support.util.StringUtils.normalizeWhitespace(extractTextFromPageArea(page, area)).trim();
+        for (int pageNumber = 1; pageNumber <= texts.size(); pageNumber++) {
+            String pageText = org.sejda.core.support.util.StringUtils.normalizeWhitespace(texts.get(pageNumber - 1)).trim();
 
             // checks if the page text matches any (optional) prefixes/suffixes specified
             if(isNotBlank(startsWith)){
@@ -100,13 +143,51 @@ public class SplitByTextChangesOutputStrategy implements NextOutputStrategy {
         return pagesToSplitAt;
     }
 
-    String extractTextFromPageArea(PDPage page, TopLeftRectangularBox area) throws TaskIOException {
-        String text = new PdfTextExtractorByArea().extractTextFromArea(page, area.asRectangle());
+    private static String extractTextFromPageArea(PdfTextExtractorByArea extractor, PDPage page,
+            TopLeftRectangularBox area) throws TaskIOException {
+        String text = extractor.extractTextFromArea(page, area.asRectangle());
         String result = defaultIfBlank(text, "");
         result = StringUtils.strip(result);
         return result;
     }
 
+    /**
+     * Text is extracted by a pool of workers, each one with its own instance of the source document and its own extractor, reused for all the pages the worker extracts from.
+     */
+    private List<String> concurrentlyExtractTextFromPagesArea(PdfFileSource source, int parallelism,
+            TaskExecutionContext executionContext, int numberOfPages, TopLeftRectangularBox area)
+            throws TaskException {
+        LOG.debug("Extracting text from {} pages area using {} threads", numberOfPages, parallelism);
+        List<String> texts = new ArrayList<>(numberOfPages);
+        try (PerWorkerDocumentExecutor<PageAreaTextExtraction> executor = new PerWorkerDocumentExecutor<>(
+                executionContext, Math.min(parallelism, numberOfPages),
+                () -> new PageAreaTextExtraction(source.open(new DefaultPdfSourceOpener())),
+                ComponentsUtility::nullSafeCloseQuietly)) {
+            executor.execute(IntStream.rangeClosed(1, numberOfPages).boxed().collect(Collectors.toList()),
+                    (extraction, pageNumber) -> extractTextFromPageArea(extraction.extractor,
+                            extraction.document.getPage(pageNumber), area),
+                    (pageNumber, text) -> texts.add(text));
+        }
+        return texts;
+    }
+
+    /**
+     * Document and text extractor of a worker
+     */
+    private static class PageAreaTextExtraction implements Closeable {
+        private final PDDocumentHandler document;
+        private final PdfTextExtractorByArea extractor = new PdfTextExtractorByArea();
+
+        PageAreaTextExtraction(PDDocumentHandler document) {
+            this.document = document;
+        }
+
+        @Override
+        public void close() {
+            ComponentsUtility.nullSafeCloseQuietly(document);
+        }
+    }
+
     Collection<Integer> getPages() {
         return pages;
     }
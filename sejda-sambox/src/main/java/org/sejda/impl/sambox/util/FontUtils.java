@@ -26,12 +26,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.Collections;
 import java.util.EnumMap;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Supplier;
 
 import org.apache.commons.io.IOUtils;
 import org.apache.commons.lang3.StringUtils;
+import org.apache.fontbox.ttf.CmapSubtable;
+import org.apache.fontbox.ttf.TTFParser;
 import org.apache.fontbox.ttf.TrueTypeFont;
 import org.sejda.fonts.OptionalUnicodeType0Font;
 import org.sejda.fonts.UnicodeType0Font;
@@ -111,43 +116,76 @@ public final class FontUtils {
         return font;
     }
 
-    // caches fonts, PER DOCUMENT
-    // has no auto-magical way to clear the cache when doc processing is done
-    // if you use this in a long lived process, call the cache clear method to avoid leaking memory
-    private static Map<PDDocument, Map<String, PDFont>> loadedFontCache = new HashMap<>();
-
+    /**
+     * System property to set the max number of font files whose bytes are kept in memory and shared among the documents loading them
+     */
+    public static final String FONTS_CACHE_SIZE_PROPERTY = "sejda.fonts.cache.size";
+
+    // fonts loaded PER DOCUMENT, released when the document is closed by the PDDocumentHandler. Weak keys so that the map doesn't retain documents never closed through a
+    // handler, the loaded fonts can still reference their document though, so closing is what releases them
+    private static final Map<PDDocument, Map<String, PDFont>> LOADED_FONTS = Collections
+            .synchronizedMap(new WeakHashMap<>());
+    // font files bytes shared among documents, each document still creates its own font
+    private static final Map<String, byte[]> FONTS_DATA = Collections
+            .synchronizedMap(new LinkedHashMap<String, byte[]>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<String, byte[]> eldest) {
+                    return size() > Integer.getInteger(FONTS_CACHE_SIZE_PROPERTY, 16);
+                }
+            });
     public static void clearLoadedFontCache() {
-        loadedFontCache.clear();
+        LOADED_FONTS.clear();
+        FONTS_DATA.clear();
     }
 
     public static void clearLoadedFontCache(PDDocument document) {
-        loadedFontCache.remove(document);
+        if (nonNull(document)) {
+            Optional.ofNullable(LOADED_FONTS.remove(document))
+                    .ifPresent(f -> LOG.debug("Released {} fonts loaded for document", f.size()));
+        }
     }
 
-    public static PDFont loadFont(PDDocument document, FontResource font) {
-        if (!loadedFontCache.containsKey(document)) {
-            loadedFontCache.put(document, new HashMap<>());
-        }
+    /**
+     * @return the number of fonts loaded for the given document
+     */
+    static int loadedFontsCount(PDDocument document) {
+        return Optional.ofNullable(LOADED_FONTS.get(document)).map(Map::size).orElse(0);
+    }
 
-        Map<String, PDFont> docCache = loadedFontCache.get(document);
-        if (docCache.containsKey(font.getResource())) {
-            return docCache.get(font.getResource());
+    public static PDFont loadFont(PDDocument document, FontResource font) {
+        Map<String, PDFont> docCache = LOADED_FONTS.computeIfAbsent(document, k -> new ConcurrentHashMap<>());
+        PDFont cached = docCache.get(font.getResource());
+        if (nonNull(cached)) {
+            return cached;
         }
-
-        InputStream in = font.getFontStream();
         try {
-            PDType0Font loaded = PDType0Font.load(document, in);
+            PDType0Font loaded = PDType0Font.load(document, new ByteArrayInputStream(fontData(font)));
             LOG.trace("Loaded font {}", loaded.getName());
             docCache.put(font.getResource(), loaded);
             return loaded;
         } catch (IOException e) {
             LOG.warn("Failed to load font " + font, e);
             return null;
-        } finally {
-            IOUtils.closeQuietly(in);
         }
     }
 
+    private static byte[] fontData(FontResource font) throws IOException {
+        byte[] data = FONTS_DATA.get(font.getResource());
+        if (data == null) {
+            InputStream in = font.getFontStream();
+            try {
+                if (in == null) {
+                    throw new IOException("Unable to find font " + font.getResource());
+                }
+                data = IOUtils.toByteArray(in);
+                FONTS_DATA.put(font.getResource(), data);
+            } finally {
+                IOUtils.closeQuietly(in);
+            }
+        }
+        return data;
+    }
+
     /**
      * 
      * @param document
@@ -173,15 +211,41 @@ public final class FontUtils {
 
     private static PDFont findFontAmong(PDDocument document, String text, FontResource... fonts) {
         for (FontResource font : fonts) {
-            PDFont loaded = loadFont(document, font);
-            if (canDisplay(text, loaded)) {
-                LOG.debug("Found suitable font {} to display '{}'", loaded, text);
-                return loaded;
+            if (isCovered(text, font)) {
+                PDFont loaded = loadFont(document, font);
+                if (canDisplay(text, loaded)) {
+                    LOG.debug("Found suitable font {} to display '{}'", loaded, text);
+                    return loaded;
+                }
             }
         }
         return null;
     }
 
+    // unicode cmap of the fallback fonts, lazily parsed once per font resource and queried only for the code points of the text
+    private static final Map<String, Optional<CmapSubtable>> FONTS_CMAP = new ConcurrentHashMap<>();
+
+    /**
+     * @param text
+     * @param font
+     * @return false if the cmap of the given font doesn't map some of the non whitespace characters of the text, so that the font doesn't need to be loaded in the document to
+     *         know it can't display it. True if every character is mapped or if the cmap of the font is unknown.
+     */
+    static boolean isCovered(String text, FontResource font) {
+        CmapSubtable cmap = FONTS_CMAP.computeIfAbsent(font.getResource(), k -> unicodeCmapOf(font)).orElse(null);
+        return cmap == null || removeWhitespace(text).codePoints().allMatch(c -> cmap.getGlyphId(c) > 0);
+    }
+
+    private static Optional<CmapSubtable> unicodeCmapOf(FontResource font) {
+        try (TrueTypeFont ttf = new TTFParser().parse(new ByteArrayInputStream(fontData(font)))) {
+            // the cmap subtable is fully read when parsed, it can be queried once the font is closed
+            return Optional.ofNullable(ttf.getUnicodeCmap());
+        } catch (IOException | RuntimeException e) {
+            LOG.warn("Unable to read the unicode cmap of font " + font, e);
+        }
+        return Optional.empty();
+    }
+
     /**
      * Check is given text contains only unicode whitespace characters
      *
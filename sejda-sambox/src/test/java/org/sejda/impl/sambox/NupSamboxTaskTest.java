@@ -16,17 +16,27 @@
  */
 package org.sejda.impl.sambox;
 
+import org.junit.Test;
 import org.sejda.core.service.NupTaskTest;
 import org.sejda.impl.sambox.component.PdfTextExtractorByArea;
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.nup.PageOrder;
 import org.sejda.model.parameter.NupParameters;
 import org.sejda.model.task.Task;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
 
 import java.awt.*;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 
 public class NupSamboxTaskTest extends NupTaskTest {
@@ -36,6 +46,49 @@ public class NupSamboxTaskTest extends NupTaskTest {
         return new NupTask();
     }
 
+    @Test
+    public void formXObjectKeyForPagesSharingContent() {
+        PDPage page = new PDPage();
+        page.getCOSObject().setItem(COSName.CONTENTS, new COSStream());
+        page.setResources(new PDResources());
+        PDPage sharing = new PDPage(page.getCOSObject().duplicate());
+        assertEquals(new NupTask.FormXObjectKey(page), new NupTask.FormXObjectKey(sharing));
+        assertEquals(new NupTask.FormXObjectKey(page).hashCode(), new NupTask.FormXObjectKey(sharing).hashCode());
+
+        PDPage different = new PDPage(page.getCOSObject().duplicate());
+        different.setMediaBox(PDRectangle.A3);
+        assertNotEquals(new NupTask.FormXObjectKey(page), new NupTask.FormXObjectKey(different));
+        PDPage rotated = new PDPage(page.getCOSObject().duplicate());
+        rotated.setRotation(90);
+        assertNotEquals(new NupTask.FormXObjectKey(page), new NupTask.FormXObjectKey(rotated));
+        PDPage otherContent = new PDPage(page.getCOSObject().duplicate());
+        otherContent.getCOSObject().setItem(COSName.CONTENTS, new COSStream());
+        assertNotEquals(new NupTask.FormXObjectKey(page), new NupTask.FormXObjectKey(otherContent));
+    }
+
+    @Test
+    public void sheetLayout() {
+        PDRectangle page = new PDRectangle(100, 200);
+        NupTask.SheetLayout horizontal = new NupTask.SheetLayout(page, new PDRectangle(200, 400), 2, 2, false,
+                PageOrder.HORIZONTAL);
+        assertOffsets(horizontal.offsets(1), 0, 200);
+        assertOffsets(horizontal.offsets(2), 100, 200);
+        assertOffsets(horizontal.offsets(3), 0, 0);
+        assertOffsets(horizontal.offsets(5), 0, 200);
+        assertTrue(horizontal.isLastOnSheet(4));
+        assertFalse(horizontal.isLastOnSheet(5));
+        NupTask.SheetLayout vertical = new NupTask.SheetLayout(page, new PDRectangle(200, 400), 2, 2, false,
+                PageOrder.VERTICAL);
+        assertOffsets(vertical.offsets(2), 0, 0);
+        assertOffsets(vertical.offsets(3), 100, 200);
+    }
+
+    private static void assertOffsets(NupTask.Offsets offsets, float xOffset, float yOffset) {
+        assertEquals(xOffset, offsets.xOffset, 0.01);
+        assertEquals(yOffset, offsets.yOffset, 0.01);
+        assertEquals(1, offsets.xScale, 0.01);
+    }
+
     @Override
     protected void assertPageHasText(PDPage page, String expectedText) {
         try {
@@ -25,6 +25,8 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.After;
 import org.junit.Before;
@@ -266,6 +268,47 @@ public class AcroFormsMergerTest {
         assertNull(destination.getDocumentCatalog().getAcroForm());
     }
 
+    @Test
+    public void mergeManyCopies() throws IOException {
+        AcroFormsMerger victim = new AcroFormsMerger(AcroFormPolicy.MERGE, new PDDocument());
+        for (int i = 0; i < 20; i++) {
+            mergeCopyOfSimpleForm(victim);
+        }
+        assertEquals(4, victim.getForm().getFields().size());
+        for (PDField field : victim.getForm().getFieldTree()) {
+            if (field instanceof PDRadioButton) {
+                assertEquals(40, ((PDTerminalField) field).getWidgets().size());
+            } else {
+                assertEquals(20, ((PDTerminalField) field).getWidgets().size());
+            }
+        }
+    }
+
+    @Test
+    public void mergeRenamingManyCopies() throws IOException {
+        AcroFormsMerger victim = new AcroFormsMerger(AcroFormPolicy.MERGE_RENAMING_EXISTING_FIELDS, new PDDocument());
+        for (int i = 0; i < 20; i++) {
+            mergeCopyOfSimpleForm(victim);
+        }
+        assertEquals(80, victim.getForm().getFields().size());
+        Set<String> names = new HashSet<>();
+        for (PDField field : victim.getForm().getFieldTree()) {
+            assertTrue(names.add(field.getFullyQualifiedName()));
+        }
+        assertEquals(80, names.size());
+    }
+
+    private void mergeCopyOfSimpleForm(AcroFormsMerger victim) throws IOException {
+        PDDocument copy = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/forms/simple_form.pdf")));
+        LookupTable<PDPage> pages = new LookupTable<>();
+        for (PDPage current : copy.getPages()) {
+            pages.addLookupEntry(current, new PDPage());
+        }
+        victim.mergeForm(copy.getDocumentCatalog().getAcroForm(),
+                new AnnotationsDistiller(copy).retainRelevantAnnotations(pages));
+    }
+
     @Test
     public void mergeWithSignatureRemovesSignatureValue() throws IOException {
         PDDocument destination = new PDDocument();
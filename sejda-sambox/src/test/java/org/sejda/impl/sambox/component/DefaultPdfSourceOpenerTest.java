@@ -19,10 +19,20 @@
 package org.sejda.impl.sambox.component;
 
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+
+import org.junit.After;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.exception.TaskWrongPasswordException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfStreamSource;
 
 /**
@@ -31,6 +41,15 @@ import org.sejda.model.input.PdfStreamSource;
  */
 public class DefaultPdfSourceOpenerTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        System.clearProperty(DefaultPdfSourceOpener.SAMBOX_MEMORY_MAPPED_THRESHOLD);
+        System.clearProperty(DefaultPdfSourceOpener.SAMBOX_IN_MEMORY_THRESHOLD);
+    }
+
     @Test
     public void openDocument() throws TaskIOException {
         assertNotNull(new DefaultPdfSourceOpener().open(PdfStreamSource.newInstanceNoPassword(
@@ -63,4 +82,34 @@ public class DefaultPdfSourceOpenerTest {
                 getClass().getClassLoader().getResourceAsStream("pdf/not_a_pdf.pdf"), "my source"));
 
     }
+
+    @Test
+    public void openDocumentInMemory() throws TaskIOException, IOException {
+        System.setProperty(DefaultPdfSourceOpener.SAMBOX_IN_MEMORY_THRESHOLD, Integer.toString(10 * 1024 * 1024));
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener().open(PdfStreamSource.newInstanceNoPassword(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"), "my source"))) {
+            assertTrue(handler.getNumberOfPages() > 0);
+        }
+    }
+
+    @Test
+    public void openDocumentExceedingInMemoryThreshold() throws TaskIOException, IOException {
+        System.setProperty(DefaultPdfSourceOpener.SAMBOX_IN_MEMORY_THRESHOLD, "1024");
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener().open(PdfStreamSource.newInstanceNoPassword(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"), "my source"))) {
+            assertTrue(handler.getNumberOfPages() > 0);
+        }
+    }
+
+    @Test
+    public void openDocumentMemoryMapped() throws TaskIOException, IOException {
+        System.setProperty(DefaultPdfSourceOpener.SAMBOX_MEMORY_MAPPED_THRESHOLD, "0");
+        File file = folder.newFile("test_file.pdf");
+        Files.copy(getClass().getClassLoader().getResourceAsStream("pdf/test_file.pdf"), file.toPath(),
+                StandardCopyOption.REPLACE_EXISTING);
+        try (PDDocumentHandler handler = new DefaultPdfSourceOpener()
+                .open(PdfFileSource.newInstanceNoPassword(file))) {
+            assertTrue(handler.getNumberOfPages() > 0);
+        }
+    }
 }
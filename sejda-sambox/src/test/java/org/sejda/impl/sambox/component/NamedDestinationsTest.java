@@ -0,0 +1,127 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.pdmodel.PDDestinationNameTreeNode;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDDocumentNameDictionary;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDNamedDestination;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDPageDestination;
+import org.sejda.sambox.pdmodel.interactive.documentnavigation.destination.PDPageFitDestination;
+
+/**
+ * @author agent
+ *
+ */
+public class NamedDestinationsTest {
+
+    private PDDocument document;
+
+    @Before
+    public void setUp() {
+        document = new PDDocument();
+        Map<String, PDPageDestination> first = new TreeMap<>();
+        Map<String, PDPageDestination> second = new TreeMap<>();
+        for (int i = 0; i < 10; i++) {
+            PDPage page = new PDPage();
+            document.addPage(page);
+            PDPageFitDestination destination = new PDPageFitDestination();
+            destination.setPage(page);
+            if (i < 5) {
+                first.put("dest" + i, destination);
+            } else {
+                second.put("dest" + i, destination);
+            }
+        }
+        PDDestinationNameTreeNode firstKid = new PDDestinationNameTreeNode();
+        firstKid.setNames(first);
+        PDDestinationNameTreeNode secondKid = new PDDestinationNameTreeNode();
+        secondKid.setNames(second);
+        PDDestinationNameTreeNode root = new PDDestinationNameTreeNode();
+        root.setKids(Arrays.asList(firstKid, secondKid));
+        PDDocumentNameDictionary names = new PDDocumentNameDictionary(document.getDocumentCatalog());
+        names.setDests(root);
+        document.getDocumentCatalog().setNames(names);
+    }
+
+    @Test
+    public void namesTree() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(document.getPage(i), NamedDestinations
+                    .findPageDestination(document, new PDNamedDestination("dest" + i)).getPage());
+        }
+    }
+
+    @Test
+    public void missing() throws IOException {
+        assertNull(NamedDestinations.findPageDestination(document, new PDNamedDestination("chuck")));
+        assertNull(NamedDestinations.findPageDestination(document, new PDNamedDestination()));
+    }
+
+    @Test
+    public void destsDictionary() throws IOException {
+        PDPageFitDestination destination = new PDPageFitDestination();
+        destination.setPage(document.getPage(3));
+        PDPageFitDestination duplicate = new PDPageFitDestination();
+        duplicate.setPage(document.getPage(9));
+        COSDictionary dests = new COSDictionary();
+        dests.setItem(COSName.getPDFName("old"), destination.getCOSObject());
+        dests.setItem(COSName.getPDFName("dest0"), duplicate.getCOSObject());
+        document.getDocumentCatalog().getCOSObject().setItem(COSName.DESTS, dests);
+        NamedDestinations.release(document);
+        assertEquals(document.getPage(3),
+                NamedDestinations.findPageDestination(document, new PDNamedDestination(COSName.getPDFName("old")))
+                        .getPage());
+        assertEquals("Names tree takes precedence", document.getPage(0),
+                NamedDestinations.findPageDestination(document, new PDNamedDestination("dest0")).getPage());
+    }
+
+    @Test
+    public void notIndexedLookedUpInCatalog() throws IOException {
+        assertEquals(document.getPage(0),
+                NamedDestinations.findPageDestination(document, new PDNamedDestination("dest0")).getPage());
+        PDPageFitDestination destination = new PDPageFitDestination();
+        destination.setPage(document.getPage(5));
+        COSDictionary dests = new COSDictionary();
+        dests.setItem(COSName.getPDFName("late"), destination.getCOSObject());
+        document.getDocumentCatalog().getCOSObject().setItem(COSName.DESTS, dests);
+        assertEquals(document.getPage(5),
+                NamedDestinations.findPageDestination(document.getDocumentCatalog(), new PDNamedDestination("late"))
+                        .getPage());
+    }
+
+    @Test
+    public void noNames() throws IOException {
+        PDDocument empty = new PDDocument();
+        assertNull(NamedDestinations.findPageDestination(empty, new PDNamedDestination("dest0")));
+    }
+}
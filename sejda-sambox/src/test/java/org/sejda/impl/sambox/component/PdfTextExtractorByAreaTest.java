@@ -0,0 +1,79 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component;
+
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.Rectangle;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.exception.TaskIOException;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author agent
+ *
+ */
+public class PdfTextExtractorByAreaTest {
+
+    @Test
+    public void extractTextFromAreasSameAsSingleArea() throws IOException, TaskIOException {
+        try (PDDocument doc = PDFParser.parse(SeekableSources
+                .inMemorySeekableSourceFrom(getClass().getClassLoader().getResourceAsStream("pdf/tabular-data.pdf")))) {
+            PDPage page = doc.getPage(0);
+            List<Rectangle> cells = new ArrayList<>();
+            int width = (int) page.getCropBox().getWidth();
+            int height = (int) page.getCropBox().getHeight();
+            for (int y = 0; y < height; y += 20) {
+                for (int x = 0; x < width; x += 60) {
+                    cells.add(new Rectangle(x, y, 60, 20));
+                }
+            }
+            PdfTextExtractorByArea victim = new PdfTextExtractorByArea();
+            List<String> results = victim.extractTextFromAreas(page, cells);
+            assertEquals(cells.size(), results.size());
+            assertTrue(results.stream().anyMatch(s -> !s.isEmpty()));
+            for (int i = 0; i < cells.size(); i++) {
+                assertEquals(victim.extractTextFromArea(page, cells.get(i)), results.get(i));
+            }
+        }
+    }
+
+    @Test
+    public void extractTextFromAreasWholePage() throws IOException, TaskIOException {
+        try (PDDocument doc = PDFParser.parse(SeekableSources
+                .inMemorySeekableSourceFrom(getClass().getClassLoader().getResourceAsStream("pdf/tabular-data.pdf")))) {
+            PDPage page = doc.getPage(0);
+            Rectangle whole = new Rectangle(0, 0, (int) page.getCropBox().getWidth(),
+                    (int) page.getCropBox().getHeight());
+            PdfTextExtractorByArea victim = new PdfTextExtractorByArea();
+            List<String> results = victim.extractTextFromAreas(page, asList(whole, new Rectangle()));
+            assertEquals(victim.extractTextFromArea(page, whole), results.get(0));
+            assertEquals("", results.get(1));
+        }
+    }
+}
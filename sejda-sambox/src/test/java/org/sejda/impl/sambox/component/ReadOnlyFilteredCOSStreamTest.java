@@ -25,6 +25,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -35,6 +36,7 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.zip.DeflaterInputStream;
 
+import org.apache.commons.io.IOUtils;
 import org.junit.Before;
 import org.junit.Rule;
 import org.junit.Test;
@@ -134,6 +136,23 @@ public class ReadOnlyFilteredCOSStreamTest {
         verify(stream).close();
     }
 
+    @Test
+    public void closeDoesntOpenLazyStream() throws Exception {
+        InputStreamSupplier<InputStream> supplier = mock(InputStreamSupplier.class);
+        victim = new ReadOnlyFilteredCOSStream(dictionary, supplier, 10);
+        victim.close();
+        verify(supplier, never()).get();
+    }
+
+    @Test
+    public void closeLazyStream() throws Exception {
+        InputStream stream = mock(InputStream.class);
+        victim = new ReadOnlyFilteredCOSStream(dictionary, () -> stream, 10);
+        victim.getFilteredStream();
+        victim.close();
+        verify(stream).close();
+    }
+
     @Test
     public void testId() {
         IndirectCOSObjectIdentifier id = new IndirectCOSObjectIdentifier(new COSObjectKey(10, 0), "source");
@@ -220,4 +239,16 @@ public class ReadOnlyFilteredCOSStreamTest {
         assertEquals(10, victim.getInt(COSName.WIDTH));
         assertEquals(COSInteger.TWO, victim.getItem(COSName.COLORSPACE));
     }
+
+    @Test
+    public void readOnlyInMemoryJpegImage() throws IOException {
+        PDColorSpace colorSpace = mock(PDColorSpace.class);
+        when(colorSpace.getCOSObject()).thenReturn(COSInteger.TWO);
+        victim = ReadOnlyFilteredCOSStream.readOnlyInMemoryJpegImage(new byte[] { 1, 2, 3 }, 10, 20, 8, colorSpace);
+        assertEquals(COSName.DCT_DECODE, victim.getItem(COSName.FILTER));
+        assertEquals(20, victim.getInt(COSName.HEIGHT));
+        assertEquals(10, victim.getInt(COSName.WIDTH));
+        assertEquals(3, victim.getFilteredLength());
+        assertEquals(3, IOUtils.toByteArray(victim.getFilteredStream()).length);
+    }
 }
@@ -20,6 +20,11 @@ package org.sejda.impl.sambox.component.optimizaton;
 
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 
 import java.util.Arrays;
 import java.util.Collections;
@@ -27,8 +32,10 @@ import java.util.Collections;
 import org.junit.Before;
 import org.junit.Test;
 import org.sejda.model.optimization.Optimization;
+import org.sejda.sambox.cos.COSArray;
 import org.sejda.sambox.cos.COSInteger;
 import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.common.PDMetadata;
 import org.sejda.sambox.pdmodel.documentinterchange.logicalstructure.PDStructureTreeRoot;
@@ -101,4 +108,21 @@ public class DocumentOptimizerTest {
         assertNull(document.getDocumentCatalog().getCOSObject().getItem(COSName.STRUCT_TREE_ROOT));
     }
 
+    @Test
+    public void discardDuplicatedStreams() throws IOException {
+        COSStream first = stream("identical");
+        COSStream second = stream("identical");
+        COSArray array = new COSArray(first, second);
+        document.getDocumentCatalog().getCOSObject().setItem(COSName.getPDFName("Streams"), array);
+        new DocumentOptimizer(Collections.singleton(Optimization.DISCARD_DUPLICATED_STREAMS)).accept(document);
+        assertSame(array.getObject(0), array.getObject(1));
+    }
+
+    private static COSStream stream(String content) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createFilteredStream()) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return stream;
+    }
 }
@@ -0,0 +1,144 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.apache.commons.lang3.StringUtils;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.sambox.cos.COSArray;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * @author agent
+ *
+ */
+public class DuplicatedStreamsDiscarderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+    private PDDocument document;
+    private COSArray array = new COSArray();
+
+    @Before
+    public void setUp() {
+        document = new PDDocument();
+        document.getDocumentCatalog().getCOSObject().setItem(COSName.getPDFName("Streams"), array);
+    }
+
+    @Test
+    public void identicalStreams() throws IOException {
+        array.add(stream("identical"));
+        array.add(stream("identical"));
+        new DuplicatedStreamsDiscarder().accept(document);
+        assertSame(array.getObject(0), array.getObject(1));
+    }
+
+    @Test
+    public void identicalStreamsWrittenOnce() throws IOException {
+        array.add(stream("identical content"));
+        array.add(stream("identical content"));
+        array.add(stream("identical content"));
+        array.add(stream("different content"));
+        new DuplicatedStreamsDiscarder().accept(document);
+        File output = folder.newFile();
+        document.writeTo(output);
+        String written = new String(Files.readAllBytes(output.toPath()), StandardCharsets.ISO_8859_1);
+        assertEquals(1, StringUtils.countMatches(written, "identical content"));
+        assertEquals(1, StringUtils.countMatches(written, "different content"));
+    }
+
+    @Test
+    public void sameLengthDifferentContent() throws IOException {
+        array.add(stream("content A"));
+        array.add(stream("content B"));
+        array.add(stream("content A"));
+        new DuplicatedStreamsDiscarder().accept(document);
+        assertNotSame(array.getObject(0), array.getObject(1));
+        assertSame(array.getObject(0), array.getObject(2));
+    }
+
+    @Test
+    public void differentContent() throws IOException {
+        array.add(stream("identical"));
+        array.add(stream("different"));
+        new DuplicatedStreamsDiscarder().accept(document);
+        assertNotSame(array.getObject(0), array.getObject(1));
+    }
+
+    @Test
+    public void differentDictionary() throws IOException {
+        COSStream first = stream("identical");
+        COSStream second = stream("identical");
+        second.setItem(COSName.SUBTYPE, COSName.IMAGE);
+        array.add(first);
+        array.add(second);
+        new DuplicatedStreamsDiscarder().accept(document);
+        assertNotSame(array.getObject(0), array.getObject(1));
+    }
+
+    @Test
+    public void identicalFonts() throws IOException {
+        COSDictionary fonts = new COSDictionary();
+        fonts.setItem(COSName.getPDFName("F1"), font(stream("font file")));
+        fonts.setItem(COSName.getPDFName("F2"), font(stream("font file")));
+        fonts.setItem(COSName.getPDFName("F3"), font(stream("another font file")));
+        COSDictionary resources = new COSDictionary();
+        resources.setItem(COSName.FONT, fonts);
+        array.add(resources);
+        new DuplicatedStreamsDiscarder().accept(document);
+        assertSame(fonts.getDictionaryObject(COSName.getPDFName("F1")),
+                fonts.getDictionaryObject(COSName.getPDFName("F2")));
+        assertNotSame(fonts.getDictionaryObject(COSName.getPDFName("F1")),
+                fonts.getDictionaryObject(COSName.getPDFName("F3")));
+    }
+
+    private static COSDictionary font(COSStream fontFile) {
+        COSDictionary descriptor = new COSDictionary();
+        descriptor.setItem(COSName.TYPE, COSName.FONT_DESC);
+        descriptor.setItem(COSName.FONT_FILE2, fontFile);
+        COSDictionary font = new COSDictionary();
+        font.setItem(COSName.TYPE, COSName.FONT);
+        font.setItem(COSName.SUBTYPE, COSName.TRUE_TYPE);
+        font.setItem(COSName.FONT_DESC, descriptor);
+        return font;
+    }
+
+    private static COSStream stream(String content) throws IOException {
+        COSStream stream = new COSStream();
+        try (OutputStream out = stream.createFilteredStream()) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return stream;
+    }
+}
@@ -121,6 +121,26 @@ public class ImagesOptimizerTest {
 
     }
 
+    @Test
+    public void optimizeReuseImagesInParallel() throws Exception {
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        params.setImageQuality(0.8f);
+        params.setImageDpi(72);
+        params.setParallelism(2);
+        document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/test_optimize_repeated_images.pdf")));
+        ImagesOptimizer optimizer = new ImagesOptimizer(params);
+        COSBase image = getImage(document.getPage(0), "X0");
+        document.getPages().forEach(optimizer::accept);
+        assertEquals(image, getImage(document.getPage(0), "X0"));
+        optimizer.complete();
+        COSBase compressed = getImage(document.getPage(0), "X0");
+        assertNotEquals(image, compressed);
+        assertEquals(compressed, getImage(document.getPage(1), "X0"));
+        assertEquals(compressed, getImage(document.getPage(2), "X0"));
+        assertEquals(compressed, getImage(document.getPage(3), "X0"));
+    }
+
     @Test
     public void handlesReflection() throws Exception {
         params.addOptimization(Optimization.COMPRESS_IMAGES);
@@ -0,0 +1,235 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.attribute.FileTime;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.sejda.core.writer.model.EncodedImage;
+import org.sejda.core.writer.model.ImageOptimizer;
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.io.SeekableSources;
+import org.sejda.model.optimization.Optimization;
+import org.sejda.model.parameter.OptimizeParameters;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.cos.COSStream;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+
+/**
+ * @author agent
+ *
+ */
+public class OptimizedImagesCacheTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void sameContentSameKey() throws IOException {
+        try (PDDocument document = repeatedImages()) {
+            COSStream first = getImage(document.getPage(0));
+            COSStream second = getImage(document.getPage(1));
+            assertNotEquals(first, second);
+            assertEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.5f));
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(first, 100, 100, 144, 0.8f));
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(first, 50, 50, 72, 0.8f));
+        }
+    }
+
+    @Test
+    public void masksInKey() throws IOException {
+        try (PDDocument document = repeatedImages()) {
+            COSStream first = getImage(document.getPage(0));
+            COSStream second = getImage(document.getPage(1));
+            first.setItem(COSName.SMASK, mask("mask"));
+            second.setItem(COSName.SMASK, mask("mask"));
+            assertEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+            second.setItem(COSName.SMASK, mask("another mask"));
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+            second.removeItem(COSName.SMASK);
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+            first.removeItem(COSName.SMASK);
+            first.setItem(COSName.MASK, mask("mask"));
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+            first.removeItem(COSName.MASK);
+            first.setBoolean(COSName.INTERPOLATE, true);
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+            first.removeItem(COSName.INTERPOLATE);
+            first.setItem(COSName.INTENT, COSName.getPDFName("Saturation"));
+            assertNotEquals(OptimizedImagesCache.keyFor(first, 100, 100, 72, 0.8f),
+                    OptimizedImagesCache.keyFor(second, 100, 100, 72, 0.8f));
+        }
+    }
+
+    @Test
+    public void streamDependentColorSpace() throws IOException {
+        try (PDDocument document = repeatedImages()) {
+            COSStream image = getImage(document.getPage(0));
+            image.setItem(COSName.COLORSPACE, new COSStream());
+            assertNull(OptimizedImagesCache.keyFor(image, 100, 100, 72, 0.8f));
+        }
+    }
+
+    @Test
+    public void missingKey() throws IOException {
+        try (PDDocument document = repeatedImages()) {
+            OptimizedImagesCache victim = new OptimizedImagesCache();
+            assertNull(victim.get(null, getImage(document.getPage(0))));
+            assertNull(victim.get("chuck", getImage(document.getPage(0))));
+        }
+    }
+
+    @Test
+    public void uncompressible() throws IOException {
+        try (PDDocument document = repeatedImages()) {
+            OptimizedImagesCache victim = new OptimizedImagesCache();
+            assertFalse(victim.isUncompressible("chuck"));
+            victim.putUncompressible("chuck");
+            assertTrue(victim.isUncompressible("chuck"));
+            assertNotNull(victim.get("chuck", getImage(document.getPage(0))));
+        }
+    }
+
+    @Test
+    public void sharedAcrossDocuments() throws IOException {
+        OptimizeParameters params = new OptimizeParameters();
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        params.setImageQuality(0.8f);
+        File directory = folder.newFolder();
+        try (OptimizedImagesCache cache = new OptimizedImagesCache(directory, Long.MAX_VALUE)) {
+            try (PDDocument document = repeatedImages()) {
+                document.getPages().forEach(new ImagesOptimizer(params, cache)::accept);
+            }
+            int cached = cachedImages(directory);
+            assertTrue(cached > 0);
+            try (PDDocument document = repeatedImages()) {
+                document.getPages().forEach(new ImagesOptimizer(params, cache)::accept);
+                assertTrue(getImage(document.getPage(0)) instanceof ReadOnlyFilteredCOSStream);
+            }
+            assertEquals(cached, cachedImages(directory));
+        }
+    }
+
+    @Test
+    public void evictedOnClose() throws IOException {
+        OptimizeParameters params = new OptimizeParameters();
+        params.addOptimization(Optimization.COMPRESS_IMAGES);
+        params.setImageQuality(0.8f);
+        File directory = folder.newFolder();
+        try (OptimizedImagesCache cache = new OptimizedImagesCache(directory, 1)) {
+            try (PDDocument document = repeatedImages()) {
+                document.getPages().forEach(new ImagesOptimizer(params, cache)::accept);
+            }
+            assertTrue(cachedImages(directory) > 0);
+        }
+        assertEquals(0, cachedImages(directory));
+    }
+
+    @Test
+    public void memoryBudget() throws IOException {
+        BufferedImage image = new BufferedImage(100, 100, BufferedImage.TYPE_INT_RGB);
+        EncodedImage first = ImageOptimizer.optimize(image, 0.8f, 72, 100, 100, 1024 * 1024);
+        EncodedImage second = ImageOptimizer.optimize(image, 0.8f, 72, 100, 100, 1024 * 1024);
+        try (OptimizedImagesCache victim = new OptimizedImagesCache(first.length())) {
+            assertNotNull(victim.put("chuck", first));
+            assertEquals(first.length(), victim.inMemorySize());
+            assertNotNull(victim.put("norris", second));
+            assertEquals(first.length(), victim.inMemorySize());
+        }
+    }
+
+    @Test
+    public void notEvictedWhileInUse() throws IOException {
+        File directory = folder.newFolder();
+        File image = new File(directory, "chuck.jpeg");
+        Files.write(image.toPath(), new byte[] { 1, 2, 3 });
+        OptimizedImagesCache other = new OptimizedImagesCache(directory, 1);
+        new OptimizedImagesCache(directory, 1).close();
+        assertTrue(image.exists());
+        other.close();
+        assertFalse(image.exists());
+    }
+
+    @Test
+    public void leastRecentlyUsedEvicted() throws IOException {
+        File directory = folder.newFolder();
+        File old = new File(directory, "old.jpeg");
+        File recent = new File(directory, "recent.jpeg");
+        Files.write(old.toPath(), new byte[] { 1, 2, 3 });
+        Files.write(recent.toPath(), new byte[] { 1, 2, 3 });
+        long now = System.currentTimeMillis();
+        assertTrue(old.setLastModified(now - 100000));
+        assertTrue(recent.setLastModified(now));
+        Files.setAttribute(old.toPath(), "lastAccessTime", FileTime.fromMillis(now - 100000));
+        new OptimizedImagesCache(directory, 3).close();
+        assertFalse(old.exists());
+        assertTrue(recent.exists());
+    }
+
+    private static int cachedImages(File directory) {
+        return directory.listFiles(f -> f.getName().endsWith(".jpeg")).length;
+    }
+
+    private static PDDocument repeatedImages() throws IOException {
+        return PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(OptimizedImagesCacheTest.class
+                .getClassLoader().getResourceAsStream("pdf/test_optimize_repeated_images.pdf")));
+    }
+
+    private static COSStream mask(String content) throws IOException {
+        COSStream mask = new COSStream();
+        mask.setItem(COSName.SUBTYPE, COSName.IMAGE);
+        try (OutputStream out = mask.createFilteredStream()) {
+            out.write(content.getBytes(StandardCharsets.UTF_8));
+        }
+        return mask;
+    }
+
+    private static COSStream getImage(PDPage page) {
+        return (COSStream) ((COSDictionary) page.getResources().getCOSObject().getDictionaryObject(COSName.XOBJECT))
+                .getDictionaryObject(COSName.getPDFName("X0")).getCOSObject();
+    }
+}
@@ -0,0 +1,112 @@
+/*
+ * Created on 18 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.optimizaton;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+
+import org.junit.Test;
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSDictionary;
+import org.sejda.sambox.cos.COSName;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.pdmodel.PDDocument;
+import org.sejda.sambox.pdmodel.PDPage;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
+
+/**
+ * @author agent
+ *
+ */
+public class ResourcesUsageIndexTest {
+
+    private ResourcesUsageIndex victim = new ResourcesUsageIndex();
+
+    @Test
+    public void usageOf() throws IOException {
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/draw_w_transparency.pdf")))) {
+            PDPage page = document.getPage(0);
+            assertTrue(victim.usageOf(page).get().usesXObject(COSName.getPDFName("x5")));
+            assertTrue(victim.usageOf(page).get().usesXObject(COSName.getPDFName("x7")));
+            assertFalse("Names in the form resources are not page resources",
+                    victim.usageOf(page).get().usesXObject(COSName.getPDFName("x17")));
+            assertSame(victim.usageOf(page).get(), victim.usageOf(page).get());
+            COSDictionary pageRes = page.getResources().getCOSObject();
+            assertFalse("Index doesn't modify the document", ((COSDictionary) pageRes.getDictionaryObject(COSName.XOBJECT))
+                    .getDictionaryObject(COSName.getPDFName("x5")).getCOSObject() instanceof ReadOnlyFilteredCOSStream);
+        }
+    }
+
+    @Test
+    public void type3() throws IOException {
+        try (PDDocument document = PDFParser.parse(SeekableSources
+                .inMemorySeekableSourceFrom(getClass().getClassLoader().getResourceAsStream("pdf/type3.pdf")))) {
+            assertTrue(victim.usageOf(document.getPage(0)).get().usesFont(COSName.getPDFName("A")));
+        }
+    }
+
+    @Test
+    public void prune() throws IOException {
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/shared_resource_dic_w_images.pdf")))) {
+            PDPage page = document.getPage(0);
+            COSDictionary original = page.getResources().getCOSObject()
+                    .getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+            int originalSize = original.size();
+            PDPage first = new PDPage(page.getCOSObject().duplicate());
+            first.setResources(page.getResources());
+            PDPage second = new PDPage(page.getCOSObject().duplicate());
+            second.setResources(page.getResources());
+            victim.prune(page, first);
+            victim.prune(page, second);
+            COSDictionary firstXObjects = first.getResources().getCOSObject()
+                    .getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+            COSDictionary secondXObjects = second.getResources().getCOSObject()
+                    .getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+            assertNotSame(original, firstXObjects);
+            assertNotSame(firstXObjects, secondXObjects);
+            assertEquals(originalSize, original.size());
+            assertTrue(firstXObjects.size() < originalSize);
+            for (COSName name : firstXObjects.keySet()) {
+                assertTrue(victim.usageOf(page).get().usesXObject(name));
+                assertTrue(firstXObjects.getDictionaryObject(name) instanceof ReadOnlyFilteredCOSStream);
+                assertSame(firstXObjects.getDictionaryObject(name), secondXObjects.getDictionaryObject(name));
+            }
+        }
+    }
+
+    @Test
+    public void exceptionDoesntBubble() {
+        PDPage page = mock(PDPage.class);
+        when(page.getCropBox()).thenReturn(new PDRectangle(2f, 2f));
+        when(page.getCOSObject()).thenReturn(new COSDictionary());
+        doThrow(IOException.class).when(page).getResources();
+        assertFalse(victim.usageOf(page).isPresent());
+    }
+}
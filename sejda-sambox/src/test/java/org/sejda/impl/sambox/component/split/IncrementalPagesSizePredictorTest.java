@@ -0,0 +1,71 @@
+/*
+ * Created on 19 ott 2026
+ * Copyright 2026 by agent (agent@local).
+ * This file is part of Sejda.
+ *
+ * Sejda is free software: you can redistribute it and/or modify
+ * it under the terms of the GNU Affero General Public License as published by
+ * the Free Software Foundation, either version 3 of the License, or
+ * (at your option) any later version.
+ *
+ * Sejda is distributed in the hope that it will be useful,
+ * but WITHOUT ANY WARRANTY; without even the implied warranty of
+ * MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.  See the
+ * GNU Affero General Public License for more details.
+ *
+ * You should have received a copy of the GNU Affero General Public License
+ * along with Sejda.  If not, see <http://www.gnu.org/licenses/>.
+ */
+package org.sejda.impl.sambox.component.split;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.sejda.io.SeekableSources;
+import org.sejda.sambox.input.PDFParser;
+import org.sejda.sambox.output.ExistingPagesSizePredictor;
+import org.sejda.sambox.pdmodel.PDDocument;
+
+/**
+ * @author agent
+ *
+ */
+public class IncrementalPagesSizePredictorTest {
+
+    @Test
+    public void sharedResourcesMeasuredOnce() throws IOException {
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/shared_resource_dic_with_2_imgs.pdf")))) {
+            AtomicInteger measurements = new AtomicInteger();
+            IncrementalPagesSizePredictor victim = new IncrementalPagesSizePredictor(() -> {
+                measurements.incrementAndGet();
+                return new ExistingPagesSizePredictor();
+            }, document.getDocumentInformation());
+            assertFalse(victim.hasPages());
+            long empty = victim.predictedSize();
+            victim.addPage(document.getPage(0));
+            long firstPage = victim.predictedSize() - empty;
+            victim.addPage(document.getPage(1));
+            long secondPage = victim.predictedSize() - empty - firstPage;
+            assertEquals(2, victim.pages());
+            // the shared images are counted with the first page only
+            assertTrue(secondPage < firstPage);
+
+            victim.newOutput();
+            assertFalse(victim.hasPages());
+            assertEquals(empty, victim.predictedSize());
+            int measured = measurements.get();
+            victim.addPage(document.getPage(0));
+            // only the page is measured again
+            assertEquals(measured + 1, measurements.get());
+            assertEquals(empty + firstPage, victim.predictedSize());
+            victim.addPage(document.getPage(0));
+            assertEquals(measured + 1, measurements.get());
+        }
+    }
+}
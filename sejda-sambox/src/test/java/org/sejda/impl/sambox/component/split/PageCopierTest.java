@@ -21,13 +21,17 @@ package org.sejda.impl.sambox.component.split;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import java.io.IOException;
 import java.util.Arrays;
 
 import org.junit.Test;
+import org.sejda.impl.sambox.component.ReadOnlyFilteredCOSStream;
 import org.sejda.io.SeekableSources;
+import org.sejda.sambox.cos.COSDictionary;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.input.PDFParser;
 import org.sejda.sambox.pdmodel.PDDocument;
@@ -59,6 +63,24 @@ public class PageCopierTest {
         }
     }
 
+    @Test
+    public void optimizedCopiesShareImages() throws IOException {
+        try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
+                getClass().getClassLoader().getResourceAsStream("pdf/shared_resource_dic_w_images.pdf")))) {
+            PageCopier victim = new PageCopier(true);
+            COSDictionary first = victim.copyOf(document.getPage(0)).getResources().getCOSObject()
+                    .getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+            COSDictionary second = victim.copyOf(document.getPage(0)).getResources().getCOSObject()
+                    .getDictionaryObject(COSName.XOBJECT, COSDictionary.class);
+            assertNotSame(first, second);
+            assertTrue(first.keySet().stream()
+                    .anyMatch(n -> first.getDictionaryObject(n) instanceof ReadOnlyFilteredCOSStream));
+            for (COSName name : first.keySet()) {
+                assertSame(first.getDictionaryObject(name), second.getDictionaryObject(name));
+            }
+        }
+    }
+
     @Test
     public void discardBeads() throws IOException {
         try (PDDocument document = PDFParser.parse(SeekableSources.inMemorySeekableSourceFrom(
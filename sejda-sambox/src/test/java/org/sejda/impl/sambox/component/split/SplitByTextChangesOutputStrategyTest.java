@@ -19,8 +19,11 @@
 package org.sejda.impl.sambox.component.split;
 
 import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
 
+import java.io.File;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.util.Collection;
 
 import org.junit.Test;
@@ -28,8 +31,13 @@ import org.mockito.internal.util.collections.Sets;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
 import org.sejda.impl.sambox.component.split.SplitByTextChangesOutputStrategy;
 import org.sejda.model.TopLeftRectangularBox;
+import org.sejda.model.exception.TaskCancelledException;
+import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskIOException;
+import org.sejda.model.input.PdfFileSource;
 import org.sejda.model.input.PdfStreamSource;
+import org.sejda.model.task.Task;
+import org.sejda.model.task.TaskExecutionContext;
 import org.sejda.sambox.pdmodel.PDDocument;
 
 public class SplitByTextChangesOutputStrategyTest {
@@ -46,4 +54,32 @@ public class SplitByTextChangesOutputStrategyTest {
         Collection<Integer> pagesToSplitAt = new SplitByTextChangesOutputStrategy(document, area, "", "").getPages();
         assertEquals(Sets.newSet(3, 4), pagesToSplitAt);
     }
+
+    @Test
+    public void testDeterminingPagesToSplitAtConcurrently() throws TaskException, URISyntaxException {
+        PdfFileSource source = PdfFileSource.newInstanceNoPassword(new File(
+                getClass().getClassLoader().getResource("pdf/split_by_text_contents_sample.pdf").toURI()));
+        PDDocument document = new DefaultPdfSourceOpener().open(source).getUnderlyingPDDocument();
+
+        TopLeftRectangularBox area = new TopLeftRectangularBox(114, 70, 41, 15);
+
+        SplitByTextChangesOutputStrategy victim = new SplitByTextChangesOutputStrategy(document, source, 2,
+                new TaskExecutionContext(mock(Task.class), true), area, "", "");
+        assertEquals(Sets.newSet(3, 4), victim.getPages());
+        SplitByTextChangesOutputStrategy sequential = new SplitByTextChangesOutputStrategy(document, area, "", "");
+        for (int i = 1; i <= document.getNumberOfPages(); i++) {
+            assertEquals(sequential.getTextByPage(i), victim.getTextByPage(i));
+        }
+    }
+
+    @Test(expected = TaskCancelledException.class)
+    public void concurrentExtractionIsCancellable() throws TaskException, URISyntaxException {
+        PdfFileSource source = PdfFileSource.newInstanceNoPassword(new File(
+                getClass().getClassLoader().getResource("pdf/split_by_text_contents_sample.pdf").toURI()));
+        PDDocument document = new DefaultPdfSourceOpener().open(source).getUnderlyingPDDocument();
+        TaskExecutionContext executionContext = new TaskExecutionContext(mock(Task.class), true);
+        executionContext.cancelTask();
+        new SplitByTextChangesOutputStrategy(document, source, 2, executionContext,
+                new TopLeftRectangularBox(114, 70, 41, 15), "", "");
+    }
 }
@@ -20,15 +20,20 @@
 package org.sejda.impl.sambox.util;
 
 import org.apache.fontbox.ttf.TrueTypeFont;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.sejda.fonts.UnicodeType0Font;
 import org.sejda.impl.sambox.component.DefaultPdfSourceOpener;
+import org.sejda.impl.sambox.component.PDDocumentHandler;
+import org.sejda.model.exception.TaskException;
 import org.sejda.model.exception.TaskIOException;
 import org.sejda.model.input.PdfStreamSource;
 import org.sejda.model.pdf.StandardType1Font;
 import org.sejda.sambox.cos.COSName;
 import org.sejda.sambox.pdmodel.PDDocument;
 import org.sejda.sambox.pdmodel.PDResources;
+import org.sejda.sambox.pdmodel.common.PDRectangle;
 import org.sejda.sambox.pdmodel.font.FontMappers;
 import org.sejda.sambox.pdmodel.font.FontMapping;
 import org.sejda.sambox.pdmodel.font.PDFont;
@@ -48,6 +53,9 @@ import static org.sejda.impl.sambox.util.FontUtils.*;
  */
 public class FontUtilsTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Test
     public void testGetStandardType1Fontg() {
         assertEquals(PDType1Font.COURIER, getStandardType1Font(StandardType1Font.CURIER));
@@ -81,6 +89,24 @@ public class FontUtilsTest {
         assertNull(findFontFor(new PDDocument(), "വീട്"));
     }
 
+    @Test
+    public void testIsCovered() {
+        assertTrue(isCovered("ทดสอบ", UnicodeType0Font.NOTO_SANS_THAI_REGULAR));
+        assertFalse(isCovered("ทดสอบ", UnicodeType0Font.NOTO_SANS_HEBREW_REGULAR));
+        assertTrue(isCovered("αυτό είναι ένα τεστ", UnicodeType0Font.NOTO_SANS_REGULAR));
+        assertFalse(isCovered("വീട്", UnicodeType0Font.NOTO_SANS_REGULAR));
+    }
+
+    @Test
+    public void testFindFontForLoadsOnlyTheChosenFont() {
+        PDDocument doc = new PDDocument();
+        PDFont found = findFontFor(doc, "ทดสอบ");
+        assertEquals("NotoSansThai", found.getName());
+        // fonts not covering the text are skipped without being loaded in the document
+        assertEquals(1, loadedFontsCount(doc));
+        assertTrue(found == loadFont(doc, UnicodeType0Font.NOTO_SANS_THAI_REGULAR));
+    }
+
     @Test
     public void testFontOrFallbackPositive() {
         PDType1Font expected = getStandardType1Font(StandardType1Font.HELVETICA_BOLD_OBLIQUE);
@@ -109,6 +135,32 @@ public class FontUtilsTest {
         assertTrue("Font is cached, same instance is returned", expected == actual);
     }
 
+    @Test
+    public void testCachingIsPerDocument() {
+        PDFont first = loadFont(new PDDocument(), UnicodeType0Font.NOTO_SANS_THAI_REGULAR);
+        PDFont second = loadFont(new PDDocument(), UnicodeType0Font.NOTO_SANS_THAI_REGULAR);
+        assertFalse(first == second);
+    }
+
+    @Test
+    public void testCacheReleased() {
+        PDDocument document = new PDDocument();
+        PDFont loaded = loadFont(document, UnicodeType0Font.NOTO_SANS_THAI_REGULAR);
+        assertTrue(loaded == loadFont(document, UnicodeType0Font.NOTO_SANS_THAI_REGULAR));
+        clearLoadedFontCache(document);
+        assertFalse(loaded == loadFont(document, UnicodeType0Font.NOTO_SANS_THAI_REGULAR));
+    }
+
+    @Test
+    public void testCacheRetainedOnSave() throws TaskException, IOException {
+        try (PDDocumentHandler handler = new PDDocumentHandler()) {
+            handler.addBlankPage(PDRectangle.A4);
+            PDFont loaded = loadFont(handler.getUnderlyingPDDocument(), UnicodeType0Font.NOTO_SANS_THAI_REGULAR);
+            handler.savePDDocument(folder.newFile());
+            assertTrue(loaded == loadFont(handler.getUnderlyingPDDocument(), UnicodeType0Font.NOTO_SANS_THAI_REGULAR));
+        }
+    }
+
     @Test
     public void testCanDisplayThai() {
         PDFont noto = FontUtils.loadFont(new PDDocument(), UnicodeType0Font.NOTO_SANS_THAI_REGULAR);